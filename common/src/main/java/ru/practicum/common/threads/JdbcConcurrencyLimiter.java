@@ -0,0 +1,104 @@
+package ru.practicum.common.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничение одновременного доступа к JDBC в режиме виртуальных потоков.
+ * <p>
+ * Виртуальных потоков, обрабатывающих запросы, может быть сколько угодно, а соединений в пуле Hikari —
+ * {@code maximumPoolSize}. Источник данных оборачивается семафором того же размера: лишние потоки ждут
+ * разрешения, а не толпятся в очереди пула, и получают отказ по тому же {@code connectionTimeout}.
+ * Разрешение возвращается при закрытии соединения.
+ */
+@Slf4j
+public class JdbcConcurrencyLimiter implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            log.info("Доступ к JDBC ограничен {} одновременными соединениями", hikari.getMaximumPoolSize());
+            return new LimitedDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        }
+        return bean;
+    }
+
+    static class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long timeoutMillis;
+
+        LimitedDataSource(DataSource target, int permits, long timeoutMillis) {
+            super(target);
+            this.permits = new Semaphore(permits, true);
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection(username, password));
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "Нет свободного соединения с базой данных за " + timeoutMillis + " мс");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Ожидание соединения с базой данных прервано", e);
+            }
+        }
+
+        /**
+         * Оборачивает соединение так, чтобы его закрытие вернуло разрешение ровно один раз.
+         */
+        private Connection limited(ConnectionSupplier supplier) throws SQLException {
+            Connection connection;
+            try {
+                connection = supplier.get();
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    });
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
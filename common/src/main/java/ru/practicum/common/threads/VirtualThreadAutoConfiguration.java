@@ -0,0 +1,41 @@
+package ru.practicum.common.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Автоконфигурация режима виртуальных потоков, общая для сервисов.
+ * <p>
+ * При {@code spring.threads.virtual.enabled=true} доступ к пулу Hikari ограничивается семафором
+ * ({@link JdbcConcurrencyLimiter}) и включается отслеживание закрепления виртуальных потоков
+ * ({@link VirtualThreadPinningMonitor}).
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.zaxxer.hikari.HikariDataSource")
+    @ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+    static class JdbcLimitConfiguration {
+
+        @Bean
+        static JdbcConcurrencyLimiter jdbcConcurrencyLimiter() {
+            return new JdbcConcurrencyLimiter();
+        }
+    }
+}
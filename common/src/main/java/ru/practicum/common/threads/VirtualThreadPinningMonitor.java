@@ -0,0 +1,75 @@
+package ru.practicum.common.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.stream.Collectors;
+
+/**
+ * Обнаружение закрепления виртуальных потоков за несущими по событию JFR {@code jdk.VirtualThreadPinned}.
+ * <p>
+ * Виртуальный поток, заблокировавшийся внутри {@code synchronized} (или в ожидании входа в монитор),
+ * не освобождает несущий поток; при их нехватке обработка запросов останавливается. Каждое закрепление
+ * дольше {@code virtual-threads.pinning-threshold} записывается в журнал со стеком и учитывается в метрике
+ * {@code jvm.threads.virtual.pinned}, что позволяет найти такие участки под реальной нагрузкой.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final VirtualThreadProperties properties;
+    private final Counter pinned;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Количество закреплений виртуальных потоков за несущими")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.getPinningThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Отслеживание закрепления виртуальных потоков включено, порог {}", properties.getPinningThreshold());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        log.warn("Виртуальный поток {} закреплён за несущим на {} мс:\n{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(),
+                format(event.getStackTrace()));
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\tстек недоступен";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(properties.getPinningStackDepth())
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                              + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
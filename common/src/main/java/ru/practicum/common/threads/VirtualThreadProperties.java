@@ -0,0 +1,26 @@
+package ru.practicum.common.threads;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки режима виртуальных потоков ({@code spring.threads.virtual.enabled}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Минимальная длительность закрепления виртуального потока за несущим, о которой сообщается.
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    /**
+     * Количество кадров стека закреплённого потока в журнале.
+     */
+    private int pinningStackDepth = 12;
+}
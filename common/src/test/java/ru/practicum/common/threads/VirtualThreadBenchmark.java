@@ -0,0 +1,175 @@
+package ru.practicum.common.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочное сравнение пула платформенных потоков и виртуальных потоков на блокирующей нагрузке.
+ * <p>
+ * Не входит в обычную сборку; запускается явно и пишет результаты в лог:
+ * <pre>
+ * mvn test -pl common -Dtest=VirtualThreadBenchmark -Dbenchmark=true [-Dbenchmark.requests=20000]
+ *     [-Dbenchmark.concurrency=1000] [-Dbenchmark.platform-threads=200] [-Dbenchmark.io-latency-ms=20]
+ *     [-Dbenchmark.jdbc-url=jdbc:h2:mem:virtual-thread-benchmark] [-Dbenchmark.pool-size=10] [-Dbenchmark.rounds=3]
+ * </pre>
+ * Каждый запрос ждёт {@code io-latency-ms}, имитируя обращение к другому сервису, и выполняет {@code SELECT 1}
+ * через пул Hikari (пустой {@code jdbc-url} отключает обращение к базе); {@code concurrency} клиентов держат
+ * запросы в работе непрерывно. В режиме виртуальных потоков пул ограничивается {@link JdbcConcurrencyLimiter},
+ * как в сервисах. Задержка запроса считается от постановки в очередь исполнителя, поэтому ожидание свободного
+ * платформенного потока входит в неё. Для каждого режима выводятся пропускная способность и квантили задержки.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadBenchmark {
+
+    /**
+     * Количество запросов в одном проходе.
+     */
+    private final int requests = Integer.getInteger("benchmark.requests", 20_000);
+
+    /**
+     * Количество одновременно выполняемых запросов (клиентов).
+     */
+    private final int concurrency = Integer.getInteger("benchmark.concurrency", 1_000);
+
+    /**
+     * Размер пула платформенных потоков (как у Tomcat по умолчанию).
+     */
+    private final int platformThreads = Integer.getInteger("benchmark.platform-threads", 200);
+
+    /**
+     * Ожидание в запросе, имитирующее обращение к другому сервису, мс.
+     */
+    private final long ioLatencyMillis = Long.getLong("benchmark.io-latency-ms", 20);
+
+    /**
+     * Адрес базы данных для {@code SELECT 1}; пустая строка отключает обращение к базе.
+     */
+    private final String jdbcUrl = System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:virtual-thread-benchmark");
+
+    /**
+     * Размер пула соединений.
+     */
+    private final int poolSize = Integer.getInteger("benchmark.pool-size", 10);
+
+    /**
+     * Количество проходов каждого режима (первый считается прогревом и не учитывается).
+     */
+    private final int rounds = Integer.getInteger("benchmark.rounds", 3);
+
+    @Test
+    void compareThreads() throws InterruptedException {
+        log.info("Сравнение потоков: {} запросов, клиентов {}, ожидание {} мс, база {}, пул {}, платформенных потоков {}, замеров {}",
+                requests, concurrency, ioLatencyMillis, jdbcUrl.isEmpty() ? "нет" : jdbcUrl, poolSize,
+                platformThreads, rounds);
+
+        try (HikariDataSource pool = jdbcUrl.isEmpty() ? null : pool()) {
+            measure("platform", pool, () -> Executors.newFixedThreadPool(platformThreads));
+            DataSource limited = pool == null
+                    ? null
+                    : (DataSource) new JdbcConcurrencyLimiter().postProcessAfterInitialization(pool, "dataSource");
+            measure("virtual", limited, Executors::newVirtualThreadPerTaskExecutor);
+        }
+    }
+
+    private HikariDataSource pool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(jdbcUrl);
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(poolSize);
+        return pool;
+    }
+
+    private void measure(String mode, DataSource dataSource, Supplier<ExecutorService> executors)
+            throws InterruptedException {
+        double totalRate = 0;
+        for (int round = 0; round < rounds; round++) {
+            Result result;
+            try (ExecutorService executor = executors.get()) {
+                result = round(executor, dataSource);
+            }
+            // первый замер — прогрев
+            if (round > 0) {
+                totalRate += result.rate();
+            }
+            log.info("Сравнение {}: проход {} — {} запросов/с, p50 {} мс, p99 {} мс, p99.9 {} мс, максимум {} мс, ошибок {}",
+                    mode, round, Math.round(result.rate()), millis(result.percentile(0.5)),
+                    millis(result.percentile(0.99)), millis(result.percentile(0.999)),
+                    millis(result.percentile(1.0)), result.errors());
+        }
+        if (rounds > 1) {
+            log.info("Сравнение {}: в среднем {} запросов/с", mode, Math.round(totalRate / (rounds - 1)));
+        }
+    }
+
+    private Result round(ExecutorService executor, DataSource dataSource) throws InterruptedException {
+        long[] latencies = new long[requests];
+        Semaphore clients = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            clients.acquire();
+            int request = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    handle(dataSource);
+                } catch (SQLException | RuntimeException e) {
+                    errors.incrementAndGet();
+                } catch (InterruptedException e) {
+                    errors.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[request] = System.nanoTime() - submitted;
+                    clients.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed, latencies, errors.get());
+    }
+
+    /**
+     * Один запрос: ожидание ответа другого сервиса и короткий запрос к базе.
+     */
+    private void handle(DataSource dataSource) throws InterruptedException, SQLException {
+        Thread.sleep(ioLatencyMillis);
+        if (dataSource != null) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+        }
+    }
+
+    private static long millis(long nanos) {
+        return Math.round(nanos / 1e6);
+    }
+
+    private record Result(double rate, long[] sortedLatencies, int errors) {
+
+        long percentile(double quantile) {
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+        }
+    }
+}
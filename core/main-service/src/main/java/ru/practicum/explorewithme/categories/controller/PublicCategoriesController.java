@@ -12,8 +12,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.categories.dto.CategoryDto;
 import ru.practicum.explorewithme.categories.service.CategoryService;
+import ru.practicum.explorewithme.util.CursorPage;
 
-import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.explorewithme.util.PaginationConstants.DEFAULT_FROM;
 import static ru.practicum.explorewithme.util.PaginationConstants.DEFAULT_SIZE;
@@ -38,15 +39,19 @@ public class PublicCategoriesController {
      *
      * @param from смещение (номер первой записи на странице)
      * @param size количество записей на странице
+     * @param cursor курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
      * @return список DTO-объектов категорий (200 OK)
      */
     @GetMapping
-    public ResponseEntity<Collection<CategoryDto>> getCategories(
+    public ResponseEntity<List<CategoryDto>> getCategories(
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int size) {
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor) {
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").ascending());
-        log.info("GET /categories - Получен запрос на получение списка категорий. from: {}, size: {}", from, size);
-        return ResponseEntity.ok(categoryService.getCategories(pageable));
+        log.info("GET /categories - Получен запрос на получение списка категорий. from: {}, size: {}, cursor: {}",
+                from, size, cursor);
+        CursorPage<CategoryDto> categories = categoryService.getCategories(pageable, cursor);
+        return categories.toResponse();
     }
 
     /**
@@ -1,5 +1,7 @@
 package ru.practicum.explorewithme.categories.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.explorewithme.categories.model.Category;
@@ -11,4 +13,13 @@ import ru.practicum.explorewithme.categories.model.Category;
  */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /**
+     * Возвращает срез категорий с идентификатором больше указанного.
+     *
+     * @param id       идентификатор, после которого начинается выборка (0 — с начала)
+     * @param pageable параметры пагинации
+     * @return срез категорий
+     */
+    Slice<Category> findAllByIdGreaterThan(long id, Pageable pageable);
 }
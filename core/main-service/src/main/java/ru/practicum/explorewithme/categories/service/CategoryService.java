@@ -4,8 +4,7 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.explorewithme.categories.dto.CategoryDto;
 import ru.practicum.explorewithme.categories.dto.NewCategoryDto;
 import ru.practicum.explorewithme.categories.model.Category;
-
-import java.util.Collection;
+import ru.practicum.explorewithme.util.CursorPage;
 
 public interface CategoryService {
     CategoryDto createCategory(NewCategoryDto newCategoryDto);
@@ -16,7 +15,7 @@ public interface CategoryService {
 
     CategoryDto getCategory(Long categoryId);
 
-    Collection<CategoryDto> getCategories(Pageable pageable);
+    CursorPage<CategoryDto> getCategories(Pageable pageable, String cursor);
 
     Category getCategoryById(Long categoryId);
 }
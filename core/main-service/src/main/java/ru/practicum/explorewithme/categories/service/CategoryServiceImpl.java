@@ -3,8 +3,11 @@ package ru.practicum.explorewithme.categories.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ru.practicum.explorewithme.categories.dto.CategoryDto;
 import ru.practicum.explorewithme.categories.dto.NewCategoryDto;
@@ -14,8 +17,8 @@ import ru.practicum.explorewithme.categories.repository.CategoryRepository;
 import ru.practicum.explorewithme.exception.DataAlreadyExistException;
 import ru.practicum.explorewithme.exception.NotFoundException;
 import ru.practicum.explorewithme.exception.RelatedDataDeleteException;
-
-import java.util.Collection;
+import ru.practicum.explorewithme.util.CursorPage;
+import ru.practicum.explorewithme.util.PageCursor;
 
 @Slf4j
 @Service
@@ -24,6 +27,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CategoryDto createCategory(NewCategoryDto newCategoryDto) {
@@ -45,6 +49,7 @@ public class CategoryServiceImpl implements CategoryService {
         currentCategory.setName(categoryDto.getName());
         try {
             Category updatedCategory = categoryRepository.save(currentCategory);
+            eventPublisher.publishEvent(new CategoryUpdated(categoryId));
             return categoryMapper.toDto(updatedCategory);
         } catch (DataIntegrityViolationException e) {
             final String error = String.format("The category with name=%s already exists in the database.",
@@ -72,10 +77,16 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    public Collection<CategoryDto> getCategories(Pageable pageable) {
-        return categoryRepository.findAll(pageable).stream()
-                .map(categoryMapper::toDto)
-                .toList();
+    public CursorPage<CategoryDto> getCategories(Pageable pageable, String cursor) {
+        Slice<Category> categories = cursor != null
+                ? categoryRepository.findAllByIdGreaterThan(PageCursor.decode(cursor).id(),
+                PageRequest.of(0, pageable.getPageSize(), pageable.getSort()))
+                : categoryRepository.findAllByIdGreaterThan(0L, pageable);
+        return new CursorPage<>(
+                categories.stream()
+                        .map(categoryMapper::toDto)
+                        .toList(),
+                PageCursor.next(categories, category -> PageCursor.encode(null, category.getId())));
     }
 
     public Category getCategoryById(Long categoryId) {
@@ -0,0 +1,9 @@
+package ru.practicum.explorewithme.categories.service;
+
+/**
+ * Событие приложения: категория изменена.
+ *
+ * @param categoryId идентификатор изменённой категории
+ */
+public record CategoryUpdated(long categoryId) {
+}
@@ -16,6 +16,7 @@ import ru.practicum.explorewithme.comments.dto.AdminCommentParams;
 import ru.practicum.explorewithme.comments.dto.CommentDto;
 import ru.practicum.explorewithme.comments.dto.CommentPatchDto;
 import ru.practicum.explorewithme.comments.model.CommentStatus;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -35,14 +36,14 @@ public class AdminCommentsController {
     /**
      * Получает список комментариев с фильтрацией по параметрам.
      *
-     * @param params параметры фильтрации
+     * @param params параметры фильтрации (курсор следующей страницы возвращается в заголовке X-Next-Cursor)
      * @return список DTO-объектов комментариев (200 OK)
      */
     @GetMapping
     public ResponseEntity<List<CommentDto>> findAllComments(AdminCommentParams params) {
         log.info("GET /admin/comments - Получен запрос на получение списка комментариев с параметрами: {}", params);
-        List<CommentDto> comments = commentService.findAllByAdminParams(params);
-        return ResponseEntity.ok(comments);
+        CursorPage<CommentDto> comments = commentService.findAllByAdminParams(params);
+        return comments.toResponse();
     }
 
     /**
@@ -88,4 +88,10 @@ public class AdminCommentParams {
      * Размер страницы. По умолчанию 10.
      */
     private Integer size;
-}
\ No newline at end of file
+
+    /**
+     * Курсор страницы из заголовка X-Next-Cursor предыдущего ответа.
+     * Если указан, страница начинается после курсора, а смещение не учитывается.
+     */
+    private String cursor;
+}
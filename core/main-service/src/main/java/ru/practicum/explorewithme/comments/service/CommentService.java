@@ -4,6 +4,7 @@ import ru.practicum.explorewithme.comments.dto.AdminCommentParams;
 import ru.practicum.explorewithme.comments.dto.CommentDto;
 import ru.practicum.explorewithme.comments.dto.NewCommentDto;
 import ru.practicum.explorewithme.comments.model.CommentStatus;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -77,7 +78,7 @@ public interface CommentService {
      * Получает список комментариев по параметрам фильтрации (для администратора).
      *
      * @param params    параметры фильтрации
-     * @return список DTO-объектов комментариев
+     * @return страница DTO-объектов комментариев
      */
-    List<CommentDto> findAllByAdminParams(AdminCommentParams params);
+    CursorPage<CommentDto> findAllByAdminParams(AdminCommentParams params);
 }
\ No newline at end of file
@@ -3,9 +3,10 @@ package ru.practicum.explorewithme.comments.service;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import ru.practicum.explorewithme.comments.dto.AdminCommentParams;
 import ru.practicum.explorewithme.comments.dto.CommentDto;
@@ -21,6 +22,8 @@ import ru.practicum.explorewithme.exception.NotFoundException;
 import ru.practicum.explorewithme.users.model.User;
 import ru.practicum.explorewithme.users.repository.RequestRepository;
 import ru.practicum.explorewithme.users.service.UserService;
+import ru.practicum.explorewithme.util.CursorPage;
+import ru.practicum.explorewithme.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -168,21 +171,30 @@ public class CommentServiceImpl implements CommentService {
      * Получает список комментариев по параметрам фильтрации для администратора.
      *
      * @param params параметры фильтрации
-     * @return список DTO-объектов комментариев
+     * @return страница DTO-объектов комментариев
      */
     @Override
-    public List<CommentDto> findAllByAdminParams(AdminCommentParams params) {
+    public CursorPage<CommentDto> findAllByAdminParams(AdminCommentParams params) {
         validateDateRanges(params.getCreatedDateStart(), params.getCreatedDateEnd(), "createdDate");
         validateDateRanges(params.getPublishedDateStart(), params.getPublishedDateEnd(), "publishedDate");
 
+        Specification<Comment> spec = withAdminCommentParams(params);
+        int page = params.getFrom() / params.getSize();
+        if (params.getCursor() != null) {
+            PageCursor cursor = PageCursor.decode(params.getCursor());
+            spec = spec.and(cursor.after("createdDate", cursor.dateTimeKey(), Sort.Direction.DESC, Sort.Direction.DESC));
+            page = 0;
+        }
+
         PageRequest pageRequest = PageRequest.of(
-                params.getFrom() / params.getSize(),
+                page,
                 params.getSize(),
-                Sort.by("createdDate").descending()
+                Sort.by("createdDate").descending().and(Sort.by("id").descending())
         );
 
-        Page<Comment> commentsPage = commentRepository.findAll(withAdminCommentParams(params), pageRequest);
-        return commentMapper.toDto(commentsPage.stream().toList());
+        Slice<Comment> comments = commentRepository.findBy(spec, query -> query.slice(pageRequest));
+        return new CursorPage<>(commentMapper.toDto(comments.getContent()),
+                PageCursor.next(comments, comment -> PageCursor.encode(comment.getCreatedDate(), comment.getId())));
     }
 
     /**
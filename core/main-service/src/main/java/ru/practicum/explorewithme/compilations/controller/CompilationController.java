@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +19,7 @@ import ru.practicum.explorewithme.compilations.dto.CompilationDto;
 import ru.practicum.explorewithme.compilations.dto.NewCompilationDto;
 import ru.practicum.explorewithme.compilations.dto.UpdateCompilationRequest;
 import ru.practicum.explorewithme.compilations.service.CompilationService;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -79,17 +81,20 @@ public class CompilationController {
      * @param pinned Флаг закрепления (true/false)
      * @param from   Смещение для пагинации
      * @param size   Размер страницы
+     * @param cursor Курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
      * @return Список подборок (200 OK)
      */
     @GetMapping("/compilations")
     public ResponseEntity<List<CompilationDto>> getAll(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int size) {
-        log.info("Получен GET-запрос на получение подборок: pinned={}, from={}, size={}", pinned, from, size);
-        PageRequest page = PageRequest.of(from / size, size);
-        List<CompilationDto> compilations = compilationService.getAll(pinned, page);
-        return ResponseEntity.ok(compilations);
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Получен GET-запрос на получение подборок: pinned={}, from={}, size={}, cursor={}",
+                pinned, from, size, cursor);
+        PageRequest page = PageRequest.of(from / size, size, Sort.by("id").ascending());
+        CursorPage<CompilationDto> compilations = compilationService.getAll(pinned, page, cursor);
+        return compilations.toResponse();
     }
 
     /**
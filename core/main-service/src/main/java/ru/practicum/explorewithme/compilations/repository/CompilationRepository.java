@@ -1,7 +1,7 @@
 package ru.practicum.explorewithme.compilations.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.explorewithme.compilations.model.Compilation;
 
@@ -13,11 +13,21 @@ import ru.practicum.explorewithme.compilations.model.Compilation;
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
     /**
-     * Возвращает страницу подборок событий, отфильтрованных по флагу pinned.
+     * Возвращает срез подборок событий с идентификатором больше указанного, отфильтрованных по флагу pinned.
      *
      * @param pinned   флаг, указывающий, должны ли быть возвращены закреплённые (true) или незакреплённые (false) подборки
+     * @param id       идентификатор, после которого начинается выборка (0 — с начала)
      * @param pageable параметры пагинации (номер страницы, размер страницы и сортировка)
-     * @return страница объектов {@link Compilation}
+     * @return срез объектов {@link Compilation}
      */
-    Page<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+    Slice<Compilation> findAllByPinnedAndIdGreaterThan(Boolean pinned, long id, Pageable pageable);
+
+    /**
+     * Возвращает срез подборок событий с идентификатором больше указанного.
+     *
+     * @param id       идентификатор, после которого начинается выборка (0 — с начала)
+     * @param pageable параметры пагинации (номер страницы, размер страницы и сортировка)
+     * @return срез объектов {@link Compilation}
+     */
+    Slice<Compilation> findAllByIdGreaterThan(long id, Pageable pageable);
 }
\ No newline at end of file
@@ -5,8 +5,8 @@ import ru.practicum.explorewithme.compilations.dto.CompilationDto;
 import ru.practicum.explorewithme.compilations.dto.NewCompilationDto;
 import ru.practicum.explorewithme.compilations.dto.UpdateCompilationRequest;
 import ru.practicum.explorewithme.exception.NotFoundException;
+import ru.practicum.explorewithme.util.CursorPage;
 
-import java.util.List;
 
 /**
  * Сервис для управления подборками событий.
@@ -43,9 +43,10 @@ public interface CompilationService {
      *
      * @param pinned флаг закрепления (true — только закреплённые)
      * @param pageable параметры пагинации (номер страницы, размер страницы, сортировка)
-     * @return список DTO подборок
+     * @param cursor   курсор страницы (опционально, вместо номера страницы)
+     * @return страница DTO подборок
      */
-    List<CompilationDto> getAll(Boolean pinned, Pageable pageable);
+    CursorPage<CompilationDto> getAll(Boolean pinned, Pageable pageable, String cursor);
 
     /**
      * Получает подборку по её идентификатору.
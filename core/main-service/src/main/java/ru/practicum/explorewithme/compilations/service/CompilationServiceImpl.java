@@ -3,7 +3,9 @@ package ru.practicum.explorewithme.compilations.service;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.compilations.dto.CompilationDto;
@@ -15,6 +17,8 @@ import ru.practicum.explorewithme.compilations.repository.CompilationRepository;
 import ru.practicum.explorewithme.events.model.Event;
 import ru.practicum.explorewithme.events.repository.EventRepository;
 import ru.practicum.explorewithme.exception.NotFoundException;
+import ru.practicum.explorewithme.util.CursorPage;
+import ru.practicum.explorewithme.util.PageCursor;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -99,17 +103,24 @@ public class CompilationServiceImpl implements CompilationService {
      *
      * @param pinned   флаг закрепления (true — только закреплённые)
      * @param pageable параметры пагинации (номер страницы, размер страницы, сортировка)
-     * @return список DTO подборок
+     * @param cursor   курсор страницы (опционально); при его наличии номер страницы не учитывается
+     * @return страница DTO подборок
      */
     @Override
-    public List<CompilationDto> getAll(Boolean pinned, Pageable pageable) {
-        return (pinned != null)
-                ? compilationRepository.findAllByPinned(pinned, pageable).stream()
-                .map(compilationMapper::toDto)
-                .collect(Collectors.toList())
-                : compilationRepository.findAll(pageable).stream()
-                .map(compilationMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPage<CompilationDto> getAll(Boolean pinned, Pageable pageable, String cursor) {
+        long afterId = 0L;
+        if (cursor != null) {
+            afterId = PageCursor.decode(cursor).id();
+            pageable = PageRequest.of(0, pageable.getPageSize(), pageable.getSort());
+        }
+        Slice<Compilation> compilations = (pinned != null)
+                ? compilationRepository.findAllByPinnedAndIdGreaterThan(pinned, afterId, pageable)
+                : compilationRepository.findAllByIdGreaterThan(afterId, pageable);
+        return new CursorPage<>(
+                compilations.stream()
+                        .map(compilationMapper::toDto)
+                        .collect(Collectors.toList()),
+                PageCursor.next(compilations, compilation -> PageCursor.encode(null, compilation.getId())));
     }
 
     /**
@@ -15,10 +15,13 @@ import static ru.practicum.explorewithme.util.PaginationConstants.DEFAULT_FROM;
 import static ru.practicum.explorewithme.util.PaginationConstants.DEFAULT_SIZE;
 
 import ru.practicum.explorewithme.events.dto.AdminEventParams;
+import ru.practicum.explorewithme.events.dto.BulkModerationRequest;
 import ru.practicum.explorewithme.events.dto.EventDto;
+import ru.practicum.explorewithme.events.dto.EventModerationOutcomeDto;
 import ru.practicum.explorewithme.events.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.events.service.EventService;
+import ru.practicum.explorewithme.util.CursorPage;
 
 /**
  * Контроллер для работы с событиями в админской части.
@@ -45,6 +48,7 @@ public class AdminEventsController {
      * @param rangeEnd   Конец временного диапазона
      * @param from       Начальная позиция для пагинации
      * @param size       Размер страницы для пагинации
+     * @param cursor     Курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
      * @return ResponseEntity со списком DTO событий
      */
     @GetMapping
@@ -55,11 +59,12 @@ public class AdminEventsController {
             @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeStart,
             @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeEnd,
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int size
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor
     ) {
         log.info("Получен GET-запрос на получение событий с параметрами: users={}, states={}, categories={}, " +
-                 "rangeStart={}, rangeEnd={}, from={}, size={}",
-                users, states, categories, rangeStart, rangeEnd, from, size);
+                 "rangeStart={}, rangeEnd={}, from={}, size={}, cursor={}",
+                users, states, categories, rangeStart, rangeEnd, from, size, cursor);
 
         AdminEventParams adminEventParams = AdminEventParams.builder()
                 .users(users)
@@ -69,12 +74,13 @@ public class AdminEventsController {
                 .rangeEnd(rangeEnd)
                 .from(from)
                 .size(size)
+                .cursor(cursor)
                 .build();
 
-        List<EventDto> events = eventService.findAllByAdminParams(adminEventParams);
-        log.info("Возвращено {} событий", events.size());
+        CursorPage<EventDto> events = eventService.findAllByAdminParams(adminEventParams);
+        log.info("Возвращено {} событий", events.content().size());
 
-        return ResponseEntity.ok().body(events);
+        return events.toResponse();
     }
 
     /**
@@ -98,4 +104,26 @@ public class AdminEventsController {
 
         return ResponseEntity.ok().body(updatedEvent);
     }
-}
\ No newline at end of file
+
+    /**
+     * Применяет действие модерации (ОПУБЛИКОВАТЬ или ОТКЛОНИТЬ) к набору событий.
+     * <p>
+     * Все события обрабатываются в одной транзакции; для каждого возвращается результат:
+     * изменено, не найдено или конфликт состояния.
+     *
+     * @param request Идентификаторы событий и действие модерации
+     * @return ResponseEntity со списком результатов модерации
+     */
+    @PatchMapping
+    public ResponseEntity<List<EventModerationOutcomeDto>> moderateEvents(
+            @Valid @RequestBody BulkModerationRequest request
+    ) {
+        log.info("Получен PATCH-запрос на массовую модерацию: действие {}, событий {}",
+                request.getStateAction(), request.getEventIds().size());
+
+        List<EventModerationOutcomeDto> outcomes = eventService.moderateEvents(request);
+        log.info("Массовая модерация завершена, обработано {} событий", outcomes.size());
+
+        return ResponseEntity.ok().body(outcomes);
+    }
+}
@@ -10,9 +10,11 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.explorewithme.comments.service.CommentService;
 import ru.practicum.explorewithme.comments.dto.CommentDto;
 import ru.practicum.explorewithme.events.dto.EventDto;
+import ru.practicum.explorewithme.events.dto.EventShortDto;
 import ru.practicum.explorewithme.events.dto.UserEventParams;
 import ru.practicum.explorewithme.events.enumeration.EventSortEnum;
 import ru.practicum.explorewithme.events.service.EventService;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,19 +44,28 @@ public class PublicEventsController {
      * временному диапазону и пагинации. Результат может быть отсортирован.
      *
      * @param request        Объект HTTP-запроса
-     * @param text           Текст для поиска в заголовке и описании события
+     * @param text           Полнотекстовый запрос по названию, аннотации и описанию события
      * @param categories     Список идентификаторов категорий
      * @param paid           Признак платности события
      * @param onlyAvailable  Признак наличия свободных мест
      * @param rangeStart     Начало временного диапазона
      * @param rangeEnd       Конец временного диапазона
-     * @param sort           Критерий сортировки (дата или просмотры)
+     * @param lat            Широта точки поиска по расстоянию
+     * @param lon            Долгота точки поиска по расстоянию
+     * @param radius         Радиус поиска вокруг точки, км
+     * @param minLat         Южная граница прямоугольника поиска
+     * @param minLon         Западная граница прямоугольника поиска
+     * @param maxLat         Северная граница прямоугольника поиска
+     * @param maxLon         Восточная граница прямоугольника поиска
+     * @param sort           Критерий сортировки (дата, просмотры, релевантность запросу text или расстояние;
+     *                       при поиске по области по умолчанию — расстояние)
      * @param from           Начальная позиция для пагинации
      * @param size           Размер страницы для пагинации
-     * @return ResponseEntity со списком DTO событий
+     * @param cursor         Курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
+     * @return ResponseEntity со списком кратких DTO событий
      */
     @GetMapping
-    public ResponseEntity<List<EventDto>> getEvents(
+    public ResponseEntity<List<EventShortDto>> getEvents(
             HttpServletRequest request,
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
@@ -62,12 +73,21 @@ public class PublicEventsController {
             @RequestParam(required = false) Boolean onlyAvailable,
             @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeStart,
             @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeEnd,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
             @RequestParam(required = false) EventSortEnum sort,
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int size
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor
     ) {
-        log.info("Получен GET-запрос на получение событий с параметрами: text={}, categories={}, paid={}, onlyAvailable={}, rangeStart={}, rangeEnd={}, sort={}, from={}, size={}",
-                text, categories, paid, onlyAvailable, rangeStart, rangeEnd, sort, from, size);
+        log.info("Получен GET-запрос на получение событий с параметрами: text={}, categories={}, paid={}, onlyAvailable={}, rangeStart={}, rangeEnd={}, lat={}, lon={}, radius={}, box=[{}, {}, {}, {}], sort={}, from={}, size={}, cursor={}",
+                text, categories, paid, onlyAvailable, rangeStart, rangeEnd, lat, lon, radius,
+                minLat, minLon, maxLat, maxLon, sort, from, size, cursor);
 
         UserEventParams userEventParams = UserEventParams
                 .builder()
@@ -77,16 +97,24 @@ public class PublicEventsController {
                 .onlyAvailable(onlyAvailable)
                 .rangeStart(rangeStart)
                 .rangeEnd(rangeEnd)
+                .lat(lat)
+                .lon(lon)
+                .radius(radius)
+                .minLat(minLat)
+                .minLon(minLon)
+                .maxLat(maxLat)
+                .maxLon(maxLon)
                 .sort(sort)
                 .from(from)
                 .size(size)
+                .cursor(cursor)
                 .build();
 
         eventService.sendHit(request);
-        List<EventDto> events = eventService.findAllByUserParams(userEventParams);
-        log.info("Возвращено {} событий", events.size());
+        CursorPage<EventShortDto> events = eventService.findAllByUserParams(userEventParams);
+        log.info("Возвращено {} событий", events.content().size());
 
-        return ResponseEntity.ok().body(events);
+        return events.toResponse();
     }
 
     /**
@@ -74,4 +74,11 @@ public class AdminEventParams {
      */
     @Builder.Default
     private Integer size = Integer.valueOf(DEFAULT_SIZE);
-}
\ No newline at end of file
+
+    /**
+     * Курсор страницы из заголовка X-Next-Cursor предыдущего ответа.
+     * <p>
+     * Если указан, страница начинается после курсора, а смещение не учитывается.
+     */
+    private String cursor;
+}
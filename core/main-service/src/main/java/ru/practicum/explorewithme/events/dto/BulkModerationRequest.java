@@ -0,0 +1,47 @@
+package ru.practicum.explorewithme.events.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.explorewithme.events.enumeration.EventStateAction;
+
+import java.util.Set;
+
+/**
+ * DTO для массовой модерации событий администратором.
+ * <p>
+ * Содержит идентификаторы событий и действие, применяемое ко всем событиям.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationRequest {
+
+    /**
+     * Максимальное количество событий в одном запросе.
+     */
+    public static final int MAX_EVENTS = 500;
+
+    /**
+     * Идентификаторы модерируемых событий.
+     * <p>
+     * Обязательное поле. От 1 до {@value #MAX_EVENTS} положительных идентификаторов, без null.
+     */
+    @NotNull(message = "Список событий не может быть пустым")
+    @Size(min = 1, max = MAX_EVENTS, message = "Количество событий должно быть от 1 до " + MAX_EVENTS)
+    private Set<@NotNull(message = "Идентификатор события не может быть пустым")
+            @Positive(message = "Идентификатор события должен быть положительным") Long> eventIds;
+
+    /**
+     * Действие модерации.
+     * <p>
+     * Обязательное поле. Допустимые значения: PUBLISH_EVENT, REJECT_EVENT.
+     */
+    @NotNull(message = "Действие не может быть пустым")
+    private EventStateAction stateAction;
+}
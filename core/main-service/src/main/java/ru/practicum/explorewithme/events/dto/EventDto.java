@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.explorewithme.categories.dto.CategoryDto;
+import ru.practicum.explorewithme.events.enrichment.EnrichableEvent;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.users.dto.ShortUserDto;
 
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
  */
 @Data
 @Builder
-public class EventDto {
+public class EventDto implements EnrichableEvent {
     /**
      * Уникальный идентификатор события.
      */
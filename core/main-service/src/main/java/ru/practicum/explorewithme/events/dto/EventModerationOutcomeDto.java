@@ -0,0 +1,32 @@
+package ru.practicum.explorewithme.events.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.explorewithme.events.enumeration.ModerationResult;
+
+/**
+ * DTO результата массовой модерации для одного события.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventModerationOutcomeDto {
+
+    /**
+     * Идентификатор события.
+     */
+    private Long eventId;
+
+    /**
+     * Результат модерации.
+     */
+    private ModerationResult result;
+
+    /**
+     * Причина, по которой действие не применено (только для NOT_FOUND и CONFLICT).
+     */
+    private String reason;
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.explorewithme.categories.dto.CategoryDto;
+import ru.practicum.explorewithme.events.enrichment.EnrichableEvent;
 import ru.practicum.explorewithme.users.dto.ShortUserDto;
 
 import java.time.LocalDateTime;
@@ -19,7 +20,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class EventShortDto {
+public class EventShortDto implements EnrichableEvent {
 
     /**
      * Краткое описание события (аннотация).
@@ -51,9 +51,45 @@ public class UserEventParams {
      */
     private LocalDateTime rangeEnd;
 
+    /**
+     * Широта точки поиска по расстоянию.
+     */
+    private Double lat;
+
+    /**
+     * Долгота точки поиска по расстоянию.
+     */
+    private Double lon;
+
+    /**
+     * Радиус поиска вокруг точки (lat, lon), км.
+     */
+    private Double radius;
+
+    /**
+     * Южная граница прямоугольника поиска.
+     */
+    private Double minLat;
+
+    /**
+     * Западная граница прямоугольника поиска; если больше maxLon, прямоугольник пересекает 180-й меридиан.
+     */
+    private Double minLon;
+
+    /**
+     * Северная граница прямоугольника поиска.
+     */
+    private Double maxLat;
+
+    /**
+     * Восточная граница прямоугольника поиска.
+     */
+    private Double maxLon;
+
     /**
      * Критерий сортировки событий.
-     * Допустимые значения: EVENT_DATE (по дате), VIEWS (по просмотрам).
+     * Допустимые значения: EVENT_DATE (по дате), VIEWS (по просмотрам), RELEVANCE (по релевантности),
+     * DISTANCE (по расстоянию).
      */
     private EventSortEnum sort;
 
@@ -70,4 +106,32 @@ public class UserEventParams {
      */
     @Builder.Default
     private Integer size = Integer.valueOf(DEFAULT_SIZE);
-}
\ No newline at end of file
+
+    /**
+     * Курсор страницы из заголовка X-Next-Cursor предыдущего ответа.
+     * <p>
+     * Если указан, страница начинается после курсора, а смещение не учитывается.
+     */
+    private String cursor;
+
+    /**
+     * Возвращает true, если задан поиск по радиусу.
+     */
+    public boolean hasRadius() {
+        return radius != null;
+    }
+
+    /**
+     * Возвращает true, если задана хотя бы одна граница прямоугольника поиска.
+     */
+    public boolean hasBoundingBox() {
+        return minLat != null || minLon != null || maxLat != null || maxLon != null;
+    }
+
+    /**
+     * Возвращает true, если события сортируются по расстоянию: явно или по умолчанию при поиске по области.
+     */
+    public boolean isSortedByDistance() {
+        return sort == EventSortEnum.DISTANCE || sort == null && (hasRadius() || hasBoundingBox());
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+/**
+ * DTO события, которое дополняется данными обогатителей ({@link EventEnricher}).
+ * <p>
+ * Новый обогатитель добавляет сюда сеттер своего поля.
+ */
+public interface EnrichableEvent {
+
+    Long getId();
+
+    void setViews(Long views);
+}
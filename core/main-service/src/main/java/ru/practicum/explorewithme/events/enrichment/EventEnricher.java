@@ -0,0 +1,24 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Шаг обогащения DTO событий данными из другого источника (сервис статистики, агрегаты базы данных).
+ * <p>
+ * Все обогатители-компоненты подключаются к {@link EventEnrichment} автоматически и выполняются параллельно,
+ * поэтому новый обогатитель не увеличивает задержку запроса сверх самого медленного шага.
+ */
+public interface EventEnricher {
+
+    /**
+     * Загружает данные для событий. Вызывается в отдельном виртуальном потоке и не должен изменять DTO.
+     *
+     * @param eventIds идентификаторы событий
+     * @param start    начало периода (для данных за период, может быть null)
+     * @param end      конец периода (может быть null)
+     * @return функция, записывающая загруженные данные в DTO; применяется в потоке запроса
+     */
+    Consumer<EnrichableEvent> load(List<Long> eventIds, LocalDateTime start, LocalDateTime end);
+}
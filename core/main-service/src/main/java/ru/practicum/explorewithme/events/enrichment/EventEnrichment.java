@@ -0,0 +1,112 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Параллельное обогащение DTO событий всеми {@link EventEnricher}.
+ * <p>
+ * Каждый шаг загружает данные в своём виртуальном потоке, поэтому задержка обогащения равна задержке
+ * самого медленного шага, а не их сумме. Количество одновременно выполняемых шагов во всех запросах
+ * ограничено ({@code events.enrichment.max-concurrency}). Загруженные данные записываются в DTO
+ * в потоке запроса, после ожидания шагов.
+ * <p>
+ * Необязательное обогащение ограничено общим бюджетом времени ({@code events.enrichment.timeout}):
+ * не успевший шаг отменяется, а его поля остаются без изменений. Обязательное ждёт все шаги;
+ * их продолжительность ограничивают таймауты самих источников.
+ */
+@Slf4j
+@Component
+public class EventEnrichment {
+
+    private final List<EventEnricher> enrichers;
+    private final EventEnrichmentProperties properties;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EventEnrichment(List<EventEnricher> enrichers, EventEnrichmentProperties properties) {
+        this.enrichers = enrichers;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+    }
+
+    /**
+     * Обогащает DTO событий данными всех шагов.
+     *
+     * @param events   DTO событий
+     * @param start    начало периода для данных за период
+     * @param end      конец периода
+     * @param optional true — шаги, не уложившиеся в бюджет времени, пропускаются
+     */
+    public void enrich(List<? extends EnrichableEvent> events, LocalDateTime start, LocalDateTime end,
+                       boolean optional) {
+        if (events.isEmpty() || enrichers.isEmpty()) {
+            return;
+        }
+        List<Long> eventIds = events.stream()
+                .map(EnrichableEvent::getId)
+                .distinct()
+                .toList();
+
+        List<Future<Consumer<EnrichableEvent>>> futures = new ArrayList<>(enrichers.size());
+        for (EventEnricher enricher : enrichers) {
+            futures.add(executor.submit(() -> load(enricher, eventIds, start, end)));
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        for (int i = 0; i < futures.size(); i++) {
+            Consumer<EnrichableEvent> apply = await(futures.get(i), enrichers.get(i), optional, deadline);
+            if (apply != null) {
+                events.forEach(apply);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Consumer<EnrichableEvent> load(EventEnricher enricher, List<Long> eventIds,
+                                           LocalDateTime start, LocalDateTime end) throws InterruptedException {
+        permits.acquire();
+        try {
+            return enricher.load(eventIds, start, end);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Consumer<EnrichableEvent> await(Future<Consumer<EnrichableEvent>> future, EventEnricher enricher,
+                                            boolean optional, long deadline) {
+        try {
+            return optional
+                    ? future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    : future.get();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Обогащение событий {} не уложилось в {} и пропущено",
+                    enricher.getClass().getSimpleName(), properties.getTimeout());
+        } catch (ExecutionException e) {
+            log.error("Ошибка обогащения событий {}: {}",
+                    enricher.getClass().getSimpleName(), e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки обогащения DTO событий ({@link EventEnrichment}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "events.enrichment")
+public class EventEnrichmentProperties {
+
+    /**
+     * Общий бюджет времени необязательного обогащения; не успевшие шаги пропускаются.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Максимальное количество одновременно выполняемых шагов обогащения во всех запросах.
+     */
+    private int maxConcurrency = 256;
+}
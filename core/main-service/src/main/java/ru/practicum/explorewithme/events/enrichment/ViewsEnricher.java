@@ -0,0 +1,59 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.client.IdHitsMap;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.HitsStatColumnsDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Количество уникальных просмотров событий за период из сервиса статистики.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewsEnricher implements EventEnricher {
+
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final StatsClient statsClient;
+
+    @Override
+    public Consumer<EnrichableEvent> load(List<Long> eventIds, LocalDateTime start, LocalDateTime end) {
+        // Формируем список URI событий для запроса статистики
+        List<String> uris = eventIds.stream()
+                .map(id -> EVENT_URI_PREFIX + id) // Формат URI согласно требованиям статистики
+                .toList();
+
+        try {
+            // Получаем статистику просмотров из внешнего сервиса в колоночном формате
+            ResponseEntity<HitsStatColumnsDTO> statsResponse = statsClient.getStatsColumns(
+                    start,
+                    end,
+                    uris,
+                    true // Учитываем уникальные IP-адреса (статистика по уникальным просмотрам)
+            );
+
+            // Разбираем ответ сразу в отображение ID события → количество просмотров
+            IdHitsMap idToHits = IdHitsMap.fromColumns(statsResponse.getBody(), EVENT_URI_PREFIX);
+
+            // Обновляем DTO событий значениями статистики (0, если данных нет)
+            return event -> event.setViews(idToHits.getOrDefault(event.getId(), 0L));
+        } catch (FeignException e) {
+            // Прерванный запрос — шаг отменён по бюджету времени, это уже залогировано
+            if (!Thread.currentThread().isInterrupted()) {
+                log.error("Ошибка при получении статистики просмотров: {}", e.getMessage(), e);
+            }
+            // В случае ошибки оставляем текущие значения views без изменений
+            return event -> {
+            };
+        }
+    }
+}
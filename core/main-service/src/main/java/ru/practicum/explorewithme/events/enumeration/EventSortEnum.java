@@ -18,7 +18,22 @@ public enum EventSortEnum {
      * <p>
      * Соответствует статистике просмотров из внешнего сервиса.
      */
-    VIEWS;
+    VIEWS,
+
+    /**
+     * Сортировка по релевантности полнотекстовому запросу (по убыванию).
+     * <p>
+     * Применяется только вместе с параметром text, без него события сортируются по дате.
+     */
+    RELEVANCE,
+
+    /**
+     * Сортировка по расстоянию от точки поиска (по возрастанию).
+     * <p>
+     * Применяется только вместе с поиском по области: radius или границы прямоугольника.
+     * При поиске по области используется по умолчанию.
+     */
+    DISTANCE;
 
     /**
      * Возвращает имя поля для использования в запросах к базе данных или API.
@@ -26,6 +41,8 @@ public enum EventSortEnum {
      * Например:
      * - EVENT_DATE → "event_date"
      * - VIEWS → "views"
+     * - RELEVANCE → "relevance"
+     * - DISTANCE → "distance"
      *
      * @return имя поля для сортировки
      */
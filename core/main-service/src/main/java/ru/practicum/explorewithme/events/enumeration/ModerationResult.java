@@ -0,0 +1,21 @@
+package ru.practicum.explorewithme.events.enumeration;
+
+/**
+ * Результат модерации одного события в массовой модерации.
+ */
+public enum ModerationResult {
+    /**
+     * Действие применено.
+     */
+    UPDATED,
+
+    /**
+     * Событие не найдено.
+     */
+    NOT_FOUND,
+
+    /**
+     * Действие недопустимо для текущего состояния или даты события.
+     */
+    CONFLICT
+}
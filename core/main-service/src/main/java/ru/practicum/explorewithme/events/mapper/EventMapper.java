@@ -11,6 +11,8 @@ import ru.practicum.explorewithme.events.dto.NewEventDto;
 import ru.practicum.explorewithme.events.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.events.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.events.model.Event;
+import ru.practicum.explorewithme.events.repository.EventShortView;
+import ru.practicum.explorewithme.events.service.EventSnapshot;
 import ru.practicum.explorewithme.users.mapper.UserMapper;
 
 /**
@@ -44,16 +46,18 @@ public interface EventMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdOn", ignore = true)
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "confirmedRequests", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "geoCell", ignore = true)
     Event toModel(NewEventDto newEventDto);
 
     /**
      * Преобразует модель события в DTO.
      * <p>
      * Возвращает широту и долготу из объекта Location как отдельные поля DTO.
-     * Игнорирует поля views и confirmedRequests, так как они должны обновляться отдельно.
+     * Игнорирует поле views, так как оно загружается из сервиса статистики отдельно.
      */
     @Mapping(target = "views", ignore = true)
-    @Mapping(target = "confirmedRequests", ignore = true)
     @Mapping(source = "locationLat", target = "location.lat")
     @Mapping(source = "locationLon", target = "location.lon")
     EventDto toDto(Event event);
@@ -92,8 +96,58 @@ public interface EventMapper {
             @Mapping(source = "paid", target = "paid"),
             @Mapping(source = "category", target = "category"),
             @Mapping(source = "initiator", target = "initiator"),
-            @Mapping(target = "confirmedRequests", ignore = true),
-            @Mapping(target = "views", ignore = true),
+            @Mapping(source = "confirmedRequests", target = "confirmedRequests"),
+            @Mapping(source = "views", target = "views"),
     })
     EventShortDto toShortDto(Event event);
+
+    /**
+     * Преобразует проекцию события для списков в её краткое DTO-представление.
+     *
+     * @param view Проекция события
+     * @return Краткое DTO-представление события
+     */
+    @Mappings({
+            @Mapping(source = "categoryId", target = "category.id"),
+            @Mapping(source = "categoryName", target = "category.name"),
+            @Mapping(source = "initiatorId", target = "initiator.id"),
+            @Mapping(source = "initiatorName", target = "initiator.name"),
+    })
+    EventShortDto toShortDto(EventShortView view);
+
+    /**
+     * Преобразует сущность события в неизменяемый снимок для кэша опубликованных событий.
+     *
+     * @param event Сущность события
+     * @return Снимок события без изменчивых полей
+     */
+    @Mappings({
+            @Mapping(source = "category.id", target = "categoryId"),
+            @Mapping(source = "category.name", target = "categoryName"),
+            @Mapping(source = "initiator.id", target = "initiatorId"),
+            @Mapping(source = "initiator.name", target = "initiatorName"),
+    })
+    EventSnapshot toSnapshot(Event event);
+
+    /**
+     * Собирает DTO события из снимка и текущего количества подтверждённых заявок.
+     * <p>
+     * Каждый вызов создаёт новые объекты DTO, поэтому снимок в кэше не изменяется.
+     * Поле views заполняется из сервиса статистики отдельно.
+     *
+     * @param snapshot          Снимок события
+     * @param confirmedRequests Текущее количество подтверждённых заявок
+     * @return DTO события
+     */
+    @Mappings({
+            @Mapping(source = "snapshot.categoryId", target = "category.id"),
+            @Mapping(source = "snapshot.categoryName", target = "category.name"),
+            @Mapping(source = "snapshot.initiatorId", target = "initiator.id"),
+            @Mapping(source = "snapshot.initiatorName", target = "initiator.name"),
+            @Mapping(source = "snapshot.locationLat", target = "location.lat"),
+            @Mapping(source = "snapshot.locationLon", target = "location.lon"),
+            @Mapping(source = "confirmedRequests", target = "confirmedRequests"),
+            @Mapping(target = "views", ignore = true),
+    })
+    EventDto toDto(EventSnapshot snapshot, Integer confirmedRequests);
 }
\ No newline at end of file
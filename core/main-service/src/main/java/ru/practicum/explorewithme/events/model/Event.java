@@ -5,6 +5,7 @@ import lombok.Data;
 import ru.practicum.explorewithme.categories.model.Category;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.users.model.User;
+import ru.practicum.explorewithme.util.GeoCell;
 
 import java.time.LocalDateTime;
 
@@ -111,6 +112,32 @@ public class Event {
     @Column(nullable = false)
     private EventState state = EventState.PENDING;
 
+    /**
+     * Количество подтверждённых заявок на участие. По умолчанию 0.
+     * <p>
+     * Изменяется только атомарными запросами {@code EventRepository} вместе с заявками,
+     * поэтому при сохранении события не записывается.
+     */
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false)
+    private Integer confirmedRequests = 0;
+
+    /**
+     * Количество уникальных просмотров события за всё время. По умолчанию 0.
+     * <p>
+     * Копия статистики stats-server, которую обновляет {@code EventViewsSync}; используется
+     * для сортировки по просмотрам на стороне базы данных и при сохранении события не записывается.
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long views = 0L;
+
+    /**
+     * Ячейка местоположения события ({@link GeoCell}) для поиска по области.
+     * <p>
+     * Вычисляется из координат при каждом сохранении события.
+     */
+    @Column(name = "geo_cell")
+    private Long geoCell;
+
     /**
      * Возвращает значение флага requestModeration.
      *
@@ -119,4 +146,10 @@ public class Event {
     public Boolean isRequestModeration() {
         return this.requestModeration;
     }
+
+    @PrePersist
+    @PreUpdate
+    private void updateGeoCell() {
+        this.geoCell = GeoCell.encode(locationLat, locationLon);
+    }
 }
\ No newline at end of file
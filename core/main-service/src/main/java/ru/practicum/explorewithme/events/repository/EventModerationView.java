@@ -0,0 +1,15 @@
+package ru.practicum.explorewithme.events.repository;
+
+import ru.practicum.explorewithme.events.enumeration.EventState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция события с полями, которые проверяются при модерации.
+ */
+public record EventModerationView(
+        Long id,
+        EventState state,
+        LocalDateTime eventDate
+) {
+}
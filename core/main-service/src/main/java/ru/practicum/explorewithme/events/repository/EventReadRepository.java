@@ -0,0 +1,23 @@
+package ru.practicum.explorewithme.events.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.explorewithme.events.model.Event;
+
+/**
+ * Запросы чтения событий для списков, возвращающие проекции вместо сущностей.
+ */
+public interface EventReadRepository {
+
+    /**
+     * Возвращает срез кратких проекций событий по спецификации без запроса общего количества.
+     * <p>
+     * Если сортировка не задана, сохраняется порядок, установленный спецификацией.
+     *
+     * @param spec     спецификация фильтра событий
+     * @param pageable параметры пагинации и сортировки
+     * @return срез проекций событий
+     */
+    Slice<EventShortView> findShortBy(Specification<Event> spec, Pageable pageable);
+}
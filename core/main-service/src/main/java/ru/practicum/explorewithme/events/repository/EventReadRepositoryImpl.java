@@ -0,0 +1,72 @@
+package ru.practicum.explorewithme.events.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.explorewithme.categories.model.Category;
+import ru.practicum.explorewithme.events.model.Event;
+import ru.practicum.explorewithme.users.model.User;
+
+import java.util.List;
+
+/**
+ * Реализация {@link EventReadRepository} на Criteria API.
+ * <p>
+ * Категория и инициатор присоединяются явно, а в выборку попадают только столбцы {@link EventShortView},
+ * поэтому описание события не читается, а сущности не создаются и не отслеживаются контекстом.
+ */
+class EventReadRepositoryImpl implements EventReadRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<EventShortView> findShortBy(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventShortView> query = cb.createQuery(EventShortView.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category");
+        Join<Event, User> initiator = root.join("initiator");
+
+        query.select(cb.construct(EventShortView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("annotation"),
+                root.get("eventDate"),
+                root.get("createdOn"),
+                root.get("paid"),
+                category.get("id"),
+                category.get("name"),
+                initiator.get("id"),
+                initiator.get("name"),
+                root.get("confirmedRequests"),
+                root.get("views")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        // Лишняя строка показывает, есть ли следующая страница, без запроса количества
+        List<EventShortView> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<EventShortView> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
@@ -1,28 +1,121 @@
 package ru.practicum.explorewithme.events.repository;
 
 import jakarta.persistence.criteria.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.util.StringUtils;
 import ru.practicum.explorewithme.events.dto.AdminEventParams;
 import ru.practicum.explorewithme.events.dto.UserEventParams;
+import ru.practicum.explorewithme.events.enumeration.EventSortEnum;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.events.model.Event;
-import ru.practicum.explorewithme.users.model.ParticipationRequest;
-import ru.practicum.explorewithme.users.model.RequestStatus;
+import ru.practicum.explorewithme.util.GeoCell;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventReadRepository {
 
-    Page<Event> findAllByInitiatorId(@Param("initiator_id") Long initiator, Pageable pageable);
+    /**
+     * Возвращает текущее количество подтверждённых заявок события без загрузки сущности.
+     *
+     * @param eventId Идентификатор события
+     * @return количество подтверждённых заявок или пустой Optional, если события нет
+     */
+    @Query("SELECT e.confirmedRequests FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findConfirmedRequestsById(@Param("eventId") long eventId);
+
+    /**
+     * Блокирует строки событий до конца транзакции.
+     *
+     * @param ids Идентификаторы событий
+     * @return идентификаторы найденных событий
+     */
+    @Query(value = "SELECT id FROM events WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Возвращает поля событий, проверяемые при модерации, без загрузки сущностей.
+     *
+     * @param ids Идентификаторы событий
+     * @return проекции найденных событий
+     */
+    @Query("SELECT new ru.practicum.explorewithme.events.repository.EventModerationView(e.id, e.state, e.eventDate) " +
+           "FROM Event e WHERE e.id IN :ids")
+    List<EventModerationView> findModerationViews(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Публикует события одним запросом.
+     *
+     * @param ids         Идентификаторы событий
+     * @param publishedOn Дата и время публикации
+     * @return количество опубликованных событий
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.state = ru.practicum.explorewithme.events.enumeration.EventState.PUBLISHED, " +
+           "e.publishedOn = :publishedOn WHERE e.id IN :ids")
+    int publishAll(@Param("ids") Collection<Long> ids, @Param("publishedOn") LocalDateTime publishedOn);
+
+    /**
+     * Отклоняет события одним запросом.
+     *
+     * @param ids Идентификаторы событий
+     * @return количество отклонённых событий
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.state = ru.practicum.explorewithme.events.enumeration.EventState.CANCELED " +
+           "WHERE e.id IN :ids")
+    int rejectAll(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Блокирует строку события до конца транзакции и возвращает счётчик подтверждённых заявок.
+     *
+     * @param eventId Идентификатор события
+     * @return текущее количество подтверждённых заявок
+     */
+    @Query(value = "SELECT confirmed_requests FROM events WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    int lockConfirmedRequests(@Param("eventId") long eventId);
+
+    /**
+     * Увеличивает счётчик подтверждённых заявок, если у события хватает свободных мест на все заявки.
+     * <p>
+     * Проверка лимита и изменение счётчика выполняются одним запросом под блокировкой строки события,
+     * поэтому параллельные подтверждения не превышают лимит участников.
+     *
+     * @param eventId Идентификатор события
+     * @param count   Количество подтверждаемых заявок
+     * @return 1, если счётчик увеличен, 0 — если свободных мест меньше {@code count}
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE events
+            SET confirmed_requests = confirmed_requests + :count
+            WHERE id = :eventId
+              AND (participant_limit = 0 OR confirmed_requests + :count <= participant_limit)
+            """, nativeQuery = true)
+    int addConfirmedRequests(@Param("eventId") long eventId, @Param("count") int count);
+
+    /**
+     * Уменьшает счётчик подтверждённых заявок при отмене подтверждённой заявки.
+     *
+     * @param eventId Идентификатор события
+     * @param count   Количество отменённых заявок
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE events
+            SET confirmed_requests = confirmed_requests - :count
+            WHERE id = :eventId
+            """, nativeQuery = true)
+    void removeConfirmedRequests(@Param("eventId") long eventId, @Param("count") int count);
 
     /**
      * Спецификация для фильтра событий администратора.
@@ -55,10 +148,30 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
         }
     }
 
+    /**
+     * Спецификация для списка событий инициатора.
+     */
+    class InitiatorEventSpec {
+        public static Specification<Event> withInitiator(Long initiatorId, long afterId) {
+            return (root, query, cb) -> cb.and(
+                    cb.equal(root.get("initiator").get("id"), initiatorId),
+                    cb.greaterThan(root.get("id"), afterId)
+            );
+        }
+    }
+
     /**
      * Спецификация для фильтра событий пользователя.
      */
     class UserEventSpec {
+
+        /**
+         * Максимальное количество ячеек, покрывающих область поиска (на каждую часть области).
+         */
+        private static final int MAX_GEO_CELLS = 16;
+
+        private static final double RADIANS = Math.PI / 180;
+
         public static Specification<Event> withUserParams(UserEventParams params) {
             return (root, query, cb) -> {
                 List<Predicate> predicates = new ArrayList<>();
@@ -66,15 +179,21 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
                 // Основной фильтр: только опубликованные события
                 predicates.add(cb.equal(root.get("state"), EventState.PUBLISHED));
 
-                // Поиск по тексту
+                // Полнотекстовый поиск, при сортировке по релевантности — сначала наиболее релевантные
                 if (StringUtils.hasText(params.getText())) {
-                    String pattern = "%" + params.getText().toLowerCase() + "%";
-                    predicates.add(
-                            cb.or(
-                                    cb.like(cb.lower(root.get("annotation")), pattern),
-                                    cb.like(cb.lower(root.get("description")), pattern)
-                            )
-                    );
+                    Expression<String> text = cb.literal(params.getText());
+                    predicates.add(cb.isTrue(cb.function(EventSearchFunctionContributor.TEXT_MATCH, Boolean.class,
+                            root.get("id"), text)));
+
+                    if (params.getSort() == EventSortEnum.RELEVANCE && query != null
+                        && !Long.class.equals(query.getResultType())) {
+                        query.orderBy(
+                                cb.desc(cb.function(EventSearchFunctionContributor.TEXT_RANK, Double.class,
+                                        root.get("id"), text)),
+                                cb.asc(root.get("eventDate")),
+                                cb.asc(root.get("id"))
+                        );
+                    }
                 }
 
                 // Фильтр по категориям
@@ -89,19 +208,10 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
                 // Доступность по лимиту участников
                 if (params.getOnlyAvailable() != null && params.getOnlyAvailable()) {
-                    Subquery<Long> subquery = query != null ? query.subquery(Long.class) : null;
-                    Root<ParticipationRequest> reqRoot = Objects.requireNonNull(subquery).from(ParticipationRequest.class);
-                    subquery.select(cb.count(reqRoot.get("id")))
-                            .where(
-                                    cb.equal(reqRoot.get("event").get("id"), root.get("id")),
-                                    cb.equal(reqRoot.get("status"), RequestStatus.CONFIRMED)
-                            )
-                            .groupBy(reqRoot.get("event").get("id"));
-
                     predicates.add(
                             cb.or(
-                                    cb.isNull(subquery),
-                                    cb.lessThan(subquery, root.get("participantLimit"))
+                                    cb.equal(root.get("participantLimit"), 0),
+                                    cb.lessThan(root.get("confirmedRequests"), root.get("participantLimit"))
                             )
                     );
                 }
@@ -112,9 +222,90 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
                 addDatePredicates(cb, root, predicates, start, params.getRangeEnd());
 
+                // Поиск по области, при сортировке по расстоянию — сначала ближайшие
+                if (params.hasRadius() || params.hasBoundingBox()) {
+                    addGeoPredicates(params, root, query, cb, predicates);
+                }
+
                 return cb.and(predicates.toArray(new Predicate[0]));
             };
         }
+
+        /**
+         * Добавляет условия поиска по области.
+         * <p>
+         * Сначала область покрывается не более чем {@link #MAX_GEO_CELLS} диапазонами ячеек {@link GeoCell},
+         * которые выбираются по индексу geo_cell, затем кандидаты проверяются точно: по границам прямоугольника
+         * или по расстоянию (формула гаверсинусов). Расстояние сравнивается без арксинуса, через величину
+         * {@code sin²(d / 2R)}, которая растёт вместе с расстоянием.
+         */
+        private static void addGeoPredicates(UserEventParams params, Root<Event> root, CriteriaQuery<?> query,
+                                             CriteriaBuilder cb, List<Predicate> predicates) {
+            double[] box;
+            double centerLat;
+            double centerLon;
+            if (params.hasRadius()) {
+                centerLat = params.getLat();
+                centerLon = params.getLon();
+                box = GeoCell.boundingBox(centerLat, centerLon, params.getRadius());
+                double limit = Math.pow(Math.sin(params.getRadius() / (2 * GeoCell.EARTH_RADIUS_KM)), 2);
+                predicates.add(cb.le(haversine(cb, root, centerLat, centerLon), limit));
+            } else {
+                box = new double[]{params.getMinLat(), params.getMinLon(), params.getMaxLat(), params.getMaxLon()};
+                Path<Float> lat = root.get("locationLat");
+                Path<Float> lon = root.get("locationLon");
+                predicates.add(cb.between(lat, (float) box[0], (float) box[2]));
+                predicates.add(box[1] <= box[3]
+                        ? cb.between(lon, (float) box[1], (float) box[3])
+                        : cb.or(cb.ge(lon, box[1]), cb.le(lon, box[3])));
+                centerLat = params.getLat() != null ? params.getLat() : (box[0] + box[2]) / 2;
+                centerLon = params.getLon() != null ? params.getLon() : boxCenterLon(box[1], box[3]);
+            }
+
+            List<Predicate> cells = new ArrayList<>();
+            for (GeoCell.Range range : GeoCell.cover(box[0], box[1], box[2], box[3], MAX_GEO_CELLS)) {
+                cells.add(cb.and(
+                        cb.ge(root.get("geoCell"), range.from()),
+                        cb.lt(root.get("geoCell"), range.to())
+                ));
+            }
+            predicates.add(cb.or(cells.toArray(new Predicate[0])));
+
+            if (params.isSortedByDistance() && query != null && !Long.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.asc(haversine(cb, root, centerLat, centerLon)),
+                        cb.asc(root.get("id"))
+                );
+            }
+        }
+
+        /**
+         * Возвращает долготу середины прямоугольника, в том числе пересекающего 180-й меридиан.
+         */
+        private static double boxCenterLon(double minLon, double maxLon) {
+            if (minLon <= maxLon) {
+                return (minLon + maxLon) / 2;
+            }
+            double center = (minLon + maxLon + 360) / 2;
+            return center > 180 ? center - 360 : center;
+        }
+
+        /**
+         * Возвращает {@code sin²(Δφ/2) + cos φ1 · cos φ2 · sin²(Δλ/2)} для точки события и заданной точки.
+         */
+        private static Expression<Double> haversine(CriteriaBuilder cb, Root<Event> root, double lat, double lon) {
+            Path<Number> eventLat = root.get("locationLat");
+            Path<Number> eventLon = root.get("locationLon");
+            Expression<Double> sinLat = cb.function("sin", Double.class,
+                    cb.prod(cb.diff(eventLat, lat), RADIANS / 2));
+            Expression<Double> sinLon = cb.function("sin", Double.class,
+                    cb.prod(cb.diff(eventLon, lon), RADIANS / 2));
+            Expression<Double> cosLat = cb.function("cos", Double.class, cb.prod(eventLat, RADIANS));
+            return cb.sum(
+                    cb.prod(sinLat, sinLat),
+                    cb.prod(cb.prod(cosLat, Math.cos(lat * RADIANS)), cb.prod(sinLon, sinLon))
+            );
+        }
     }
 
     /**
@@ -0,0 +1,62 @@
+package ru.practicum.explorewithme.events.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Функции полнотекстового поиска событий для запросов Criteria API.
+ * <p>
+ * В PostgreSQL поиск идёт по столбцу {@code events.search_vector} (см. {@code schema-postgresql.sql})
+ * через GIN-индекс; столбец не отображается в сущность, чтобы не читать его при каждой загрузке события,
+ * поэтому функции принимают идентификатор события. В остальных базах (H2 в тестах) поиск выполняется
+ * через {@code LIKE} по аннотации и описанию, а релевантность — сумма весов полей, содержащих запрос
+ * целиком; веса полей те же, что у {@code ts_rank_cd}: заголовок 1.0, аннотация 0.4, описание 0.2.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code event_text_match(id, text)} — событие соответствует поисковому запросу.
+     */
+    public static final String TEXT_MATCH = "event_text_match";
+
+    /**
+     * {@code event_text_rank(id, text)} — релевантность события поисковому запросу.
+     */
+    public static final String TEXT_RANK = "event_text_rank";
+
+    private static final String TS_QUERY = "websearch_to_tsquery('russian', ?2)";
+
+    private static final String CONTAINS_QUERY = " like ('%' || lower(?2) || '%')";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        SqmFunctionRegistry registry = contributions.getFunctionRegistry();
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        if (contributions.getDialect() instanceof PostgreSQLDialect) {
+            registry.registerPattern(TEXT_MATCH,
+                    "?1 in (select s.id from events s where s.search_vector @@ " + TS_QUERY + ")",
+                    types.resolve(StandardBasicTypes.BOOLEAN));
+            registry.registerPattern(TEXT_RANK,
+                    "(select ts_rank_cd(s.search_vector, " + TS_QUERY + ") from events s where s.id = ?1)",
+                    types.resolve(StandardBasicTypes.DOUBLE));
+        } else {
+            registry.registerPattern(TEXT_MATCH,
+                    "?1 in (select s.id from events s"
+                    + " where lower(s.annotation)" + CONTAINS_QUERY
+                    + " or lower(s.description)" + CONTAINS_QUERY + ")",
+                    types.resolve(StandardBasicTypes.BOOLEAN));
+            registry.registerPattern(TEXT_RANK,
+                    "(select cast("
+                    + "case when lower(s.title)" + CONTAINS_QUERY + " then 1.0 else 0 end"
+                    + " + case when lower(s.annotation)" + CONTAINS_QUERY + " then 0.4 else 0 end"
+                    + " + case when lower(s.description)" + CONTAINS_QUERY + " then 0.2 else 0 end"
+                    + " as double precision) from events s where s.id = ?1)",
+                    types.resolve(StandardBasicTypes.DOUBLE));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.explorewithme.events.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция события для списков: только столбцы краткого представления
+ * вместе с названием категории и именем инициатора.
+ * <p>
+ * Выбирается одним запросом с явными соединениями ({@link EventReadRepository}), без загрузки
+ * описания события и связанных сущностей.
+ */
+public record EventShortView(
+        Long id,
+        String title,
+        String annotation,
+        LocalDateTime eventDate,
+        LocalDateTime createdOn,
+        Boolean paid,
+        Long categoryId,
+        String categoryName,
+        Long initiatorId,
+        String initiatorName,
+        Integer confirmedRequests,
+        Long views
+) {
+}
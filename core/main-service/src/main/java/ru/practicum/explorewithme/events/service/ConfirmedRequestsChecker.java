@@ -0,0 +1,122 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Сверка счётчика подтверждённых заявок событий ({@code events.confirmed_requests}) с заявками.
+ * <p>
+ * Счётчик изменяется в одной транзакции с заявками, поэтому расхождение означает изменение заявок
+ * в обход сервиса (ручная правка, миграция). Найденные события пересчитываются по одному под блокировкой
+ * строки события: параллельная транзакция с заявками либо уже зафиксирована и видна пересчёту,
+ * либо ждёт блокировку и изменит уже исправленный счётчик.
+ * <p>
+ * При старте сервиса сверка выполняется один раз в фоновом потоке ({@code backfill-on-startup}):
+ * так дозаполняется счётчик в базе, где столбец {@code confirmed_requests} только что добавлен.
+ */
+@Slf4j
+@Component
+public class ConfirmedRequestsChecker {
+
+    private static final String FIND_DRIFTED_SQL = """
+            SELECT e.id
+            FROM events e
+            LEFT JOIN (SELECT event_id, COUNT(*) AS cnt
+                       FROM participation_requests
+                       WHERE status = 'CONFIRMED'
+                       GROUP BY event_id) r ON r.event_id = e.id
+            WHERE e.confirmed_requests <> COALESCE(r.cnt, 0)
+            """;
+
+    private static final String LOCK_EVENT_SQL = """
+            SELECT confirmed_requests FROM events WHERE id = ? FOR UPDATE
+            """;
+
+    private static final String COUNT_CONFIRMED_SQL = """
+            SELECT COUNT(*) FROM participation_requests WHERE event_id = ? AND status = 'CONFIRMED'
+            """;
+
+    private static final String REPAIR_SQL = """
+            UPDATE events SET confirmed_requests = ? WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfirmedRequestsProperties properties;
+
+    public ConfirmedRequestsChecker(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ConfirmedRequestsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isBackfillOnStartup()) {
+            Thread.ofPlatform().name("confirmed-requests-backfill").daemon().start(this::backfill);
+        }
+    }
+
+    /**
+     * Периодически находит события с расхождением счётчика и исправляет его.
+     *
+     * @return количество исправленных событий
+     */
+    @Scheduled(initialDelayString = "${events.confirmed-requests.check-interval:10m}",
+            fixedDelayString = "${events.confirmed-requests.check-interval:10m}")
+    public int check() {
+        if (!properties.isCheckEnabled()) {
+            return 0;
+        }
+        return repairDrifted();
+    }
+
+    private void backfill() {
+        try {
+            int repaired = repairDrifted();
+            log.info("Сверка счётчика подтверждённых заявок при старте завершена, исправлено событий: {}", repaired);
+        } catch (RuntimeException e) {
+            log.error("Ошибка сверки счётчика подтверждённых заявок при старте", e);
+        }
+    }
+
+    private int repairDrifted() {
+        List<Long> eventIds = jdbcTemplate.queryForList(FIND_DRIFTED_SQL, Long.class);
+        int repaired = 0;
+        for (Long eventId : eventIds) {
+            Boolean fixed = transactionTemplate.execute(status -> repair(eventId));
+            if (Boolean.TRUE.equals(fixed)) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Исправлен счётчик подтверждённых заявок у {} событий", repaired);
+        }
+        return repaired;
+    }
+
+    private boolean repair(long eventId) {
+        List<Integer> current = jdbcTemplate.queryForList(LOCK_EVENT_SQL, Integer.class, eventId);
+        if (current.isEmpty()) {
+            return false;
+        }
+        Integer actual = jdbcTemplate.queryForObject(COUNT_CONFIRMED_SQL, Integer.class, eventId);
+        if (current.getFirst().equals(actual)) {
+            return false;
+        }
+        jdbcTemplate.update(REPAIR_SQL, actual, eventId);
+        log.warn("Счётчик подтверждённых заявок события {} расходился с заявками: {} вместо {}",
+                eventId, current.getFirst(), actual);
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки проверки счётчика подтверждённых заявок событий.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "events.confirmed-requests")
+public class ConfirmedRequestsProperties {
+
+    /**
+     * Выполнять периодическую сверку счётчика с заявками.
+     */
+    private boolean checkEnabled = true;
+
+    /**
+     * Пересчитать расходящиеся счётчики при старте сервиса, например после добавления столбца
+     * {@code confirmed_requests} в существующую базу.
+     */
+    private boolean backfillOnStartup = true;
+
+    /**
+     * Период сверки счётчика с заявками.
+     */
+    private Duration checkInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,31 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша опубликованных событий ({@code GET /events/{eventId}}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "events.detail-cache")
+public class EventDetailCacheProperties {
+
+    /**
+     * Кэшировать снимки опубликованных событий.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальное количество снимков; при превышении вытесняются давно запрошенные.
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * Время жизни снимка: страховка на случай изменения данных в обход сервисов.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
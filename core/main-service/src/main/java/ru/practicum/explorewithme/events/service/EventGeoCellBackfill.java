@@ -0,0 +1,55 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.util.GeoCell;
+
+import java.util.List;
+
+/**
+ * Заполнение ячейки местоположения ({@code events.geo_cell}) у событий, сохранённых до её появления.
+ * <p>
+ * Новые и изменённые события получают ячейку при сохранении, поэтому заполнение выполняется
+ * один раз при запуске и завершается, как только событий без ячейки не остаётся.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventGeoCellBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String FIND_MISSING_SQL = """
+            SELECT id, location_lat, location_lon FROM events WHERE geo_cell IS NULL ORDER BY id LIMIT ?
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE events SET geo_cell = ? WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int total = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(FIND_MISSING_SQL, (rs, rowNum) -> new Object[]{
+                    GeoCell.encode(rs.getDouble("location_lat"), rs.getDouble("location_lon")),
+                    rs.getLong("id")
+            }, BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                total += batch.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Заполнена ячейка местоположения у {} событий", total);
+        }
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.explorewithme.events.service;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ValidationException;
 import ru.practicum.explorewithme.events.dto.AdminEventParams;
+import ru.practicum.explorewithme.events.dto.BulkModerationRequest;
 import ru.practicum.explorewithme.events.dto.EventDto;
+import ru.practicum.explorewithme.events.dto.EventModerationOutcomeDto;
+import ru.practicum.explorewithme.events.dto.EventShortDto;
 import ru.practicum.explorewithme.events.dto.NewEventDto;
 import ru.practicum.explorewithme.events.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.events.dto.UpdateEventUserRequest;
@@ -11,6 +14,7 @@ import ru.practicum.explorewithme.events.dto.UserEventParams;
 import ru.practicum.explorewithme.events.model.Event;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.NotFoundException;
+import ru.practicum.explorewithme.util.CursorPage;
 import java.util.List;
 
 /**
@@ -57,16 +61,29 @@ public interface EventService {
      */
     EventDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest newEventDto);
 
+    /**
+     * Применяет действие модерации (ОПУБЛИКОВАТЬ или ОТКЛОНИТЬ) к набору событий в одной транзакции.
+     * <p>
+     * Событие, для которого переход состояния недопустим или которое не найдено, не прерывает обработку
+     * остальных: для каждого идентификатора возвращается свой результат.
+     *
+     * @param request идентификаторы событий и действие модерации
+     * @return результаты модерации по возрастанию идентификаторов событий
+     * @throws ValidationException если действие не является действием модерации
+     */
+    List<EventModerationOutcomeDto> moderateEvents(BulkModerationRequest request);
+
     /**
      * Получает список событий пользователя с пагинацией.
      *
      * @param userId идентификатор пользователя
      * @param from   начальная позиция для пагинации
      * @param size   размер страницы для пагинации
-     * @return список DTO событий
+     * @param cursor курсор страницы (опционально, вместо смещения)
+     * @return страница кратких DTO событий
      * @throws NotFoundException если пользователь не найден
      */
-    List<EventDto> findAllByParams(Long userId, Integer from, Integer size);
+    CursorPage<EventShortDto> findAllByParams(Long userId, Integer from, Integer size, String cursor);
 
     /**
      * Получает событие пользователя по его ID.
@@ -96,10 +113,10 @@ public interface EventService {
      * Поддерживает фильтрацию по пользователям, категориям, статусу и временному диапазону.
      *
      * @param adminEventParams параметры фильтрации
-     * @return список DTO событий
+     * @return страница DTO событий
      * @throws ValidationException если параметры фильтрации некорректны
      */
-    List<EventDto> findAllByAdminParams(AdminEventParams adminEventParams);
+    CursorPage<EventDto> findAllByAdminParams(AdminEventParams adminEventParams);
 
     /**
      * Получает список событий по параметрам пользователя.
@@ -107,10 +124,10 @@ public interface EventService {
      * Поддерживает фильтрацию по тексту, категории, платности, доступности и временному диапазону.
      *
      * @param userEventParams параметры фильтрации
-     * @return список DTO событий
+     * @return страница кратких DTO событий
      * @throws ValidationException если параметры фильтрации некорректны
      */
-    List<EventDto> findAllByUserParams(UserEventParams userEventParams);
+    CursorPage<EventShortDto> findAllByUserParams(UserEventParams userEventParams);
 
     /**
      * Отправляет информацию о хите (просмотре) в сервис статистики.
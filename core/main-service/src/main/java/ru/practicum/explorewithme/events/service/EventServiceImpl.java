@@ -1,50 +1,61 @@
 package ru.practicum.explorewithme.events.service;
 
-import feign.FeignException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import ru.practicum.client.StatsClient;
+import ru.practicum.client.Ulid;
+import ru.practicum.client.sender.HitSender;
 import ru.practicum.dto.CreateHitDTO;
-import ru.practicum.dto.HitsStatDTO;
 import ru.practicum.explorewithme.categories.model.Category;
 import ru.practicum.explorewithme.categories.service.CategoryService;
 import ru.practicum.explorewithme.events.dto.AdminEventParams;
+import ru.practicum.explorewithme.events.dto.BulkModerationRequest;
 import ru.practicum.explorewithme.events.dto.EventDto;
+import ru.practicum.explorewithme.events.dto.EventModerationOutcomeDto;
+import ru.practicum.explorewithme.events.dto.EventShortDto;
 import ru.practicum.explorewithme.events.dto.NewEventDto;
 import ru.practicum.explorewithme.events.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.events.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.events.dto.UserEventParams;
+import ru.practicum.explorewithme.events.enrichment.EventEnrichment;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.events.enumeration.EventStateAction;
 import ru.practicum.explorewithme.events.enumeration.EventSortEnum;
+import ru.practicum.explorewithme.events.enumeration.ModerationResult;
 import ru.practicum.explorewithme.events.mapper.EventMapper;
 import ru.practicum.explorewithme.events.model.Event;
+import ru.practicum.explorewithme.events.repository.EventModerationView;
 import ru.practicum.explorewithme.events.repository.EventRepository;
+import ru.practicum.explorewithme.events.repository.EventShortView;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.NotFoundException;
 import ru.practicum.explorewithme.users.dto.UserDto;
-import ru.practicum.explorewithme.users.model.EventRequestCount;
-import ru.practicum.explorewithme.users.model.RequestStatus;
 import ru.practicum.explorewithme.users.model.User;
-import ru.practicum.explorewithme.users.repository.RequestRepository;
 import ru.practicum.explorewithme.users.service.UserService;
+import ru.practicum.explorewithme.util.CursorPage;
+import ru.practicum.explorewithme.util.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.explorewithme.events.repository.EventRepository.AdminEventSpec.withAdminParams;
+import static ru.practicum.explorewithme.events.repository.EventRepository.InitiatorEventSpec.withInitiator;
 import static ru.practicum.explorewithme.events.repository.EventRepository.UserEventSpec.withUserParams;
 
 @Slf4j
@@ -52,12 +63,20 @@ import static ru.practicum.explorewithme.events.repository.EventRepository.UserE
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    /**
+     * Максимальный радиус поиска по расстоянию, км.
+     */
+    private static final double MAX_RADIUS_KM = 1000;
+
     private final EventMapper eventMapper;
     private final EventRepository eventRepository;
     private final UserService userService;
     private final CategoryService categoryService;
-    private final RequestRepository requestRepository;
+    private final ObjectProvider<HitSender> hitSender;
     private final StatsClient statsClient;
+    private final PublishedEventCache publishedEventCache;
+    private final EventEnrichment eventEnrichment;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Создаёт новое событие на основе данных из DTO и идентификатора пользователя.
@@ -144,27 +163,98 @@ public class EventServiceImpl implements EventService {
         return updateEvent(event, updatedData);
     }
 
+    /**
+     * Применяет действие модерации к набору событий в одной транзакции.
+     * <p>
+     * Строки событий блокируются до конца транзакции, после чего их состояние и дата читаются проекцией
+     * {@link EventModerationView} без загрузки сущностей. Переходы проверяются в памяти по тем же правилам,
+     * что и при изменении одного события, а допустимые применяются одним UPDATE на все события.
+     * Ответ содержит только результат модерации, поэтому DTO событий не строятся и не обогащаются.
+     *
+     * @param request идентификаторы событий и действие модерации
+     * @return результаты модерации по возрастанию идентификаторов событий
+     * @throws ValidationException если действие не является действием модерации
+     */
     @Override
-    public List<EventDto> findAllByParams(Long userId, Integer from, Integer size) {
+    @Transactional
+    public List<EventModerationOutcomeDto> moderateEvents(BulkModerationRequest request) {
+        EventStateAction action = request.getStateAction();
+        if (action != EventStateAction.PUBLISH_EVENT && action != EventStateAction.REJECT_EVENT) {
+            throw new ValidationException("Недопустимое действие модерации: " + action);
+        }
+
+        // Блокируем события, чтобы проверенное состояние не изменилось до обновления
+        eventRepository.lockAllByIdIn(request.getEventIds());
+        Map<Long, EventModerationView> views = eventRepository.findModerationViews(request.getEventIds()).stream()
+                .collect(Collectors.toMap(EventModerationView::id, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EventModerationOutcomeDto> outcomes = new ArrayList<>(request.getEventIds().size());
+        List<Long> acceptedIds = new ArrayList<>();
+        for (Long eventId : request.getEventIds().stream().sorted().toList()) {
+            EventModerationView view = views.get(eventId);
+            if (view == null) {
+                outcomes.add(new EventModerationOutcomeDto(eventId, ModerationResult.NOT_FOUND,
+                        "Событие с id=" + eventId + " не найдено"));
+                continue;
+            }
+            String conflict = findModerationConflict(action, view.state(), view.eventDate(), now);
+            if (conflict != null) {
+                outcomes.add(new EventModerationOutcomeDto(eventId, ModerationResult.CONFLICT, conflict));
+            } else {
+                outcomes.add(new EventModerationOutcomeDto(eventId, ModerationResult.UPDATED, null));
+                acceptedIds.add(eventId);
+            }
+        }
+
+        if (!acceptedIds.isEmpty()) {
+            if (action == EventStateAction.PUBLISH_EVENT) {
+                eventRepository.publishAll(acceptedIds, now);
+            } else {
+                eventRepository.rejectAll(acceptedIds);
+            }
+            acceptedIds.forEach(eventId -> eventPublisher.publishEvent(new EventUpdated(eventId)));
+        }
+
+        log.info("Массовая модерация {}: изменено {} из {} событий",
+                action, acceptedIds.size(), request.getEventIds().size());
+        return outcomes;
+    }
+
+    /**
+     * Возвращает события пользователя в кратком виде.
+     * <p>
+     * События выбираются проекцией {@link EventShortView} одним запросом, без загрузки полных сущностей.
+     *
+     * @param userId идентификатор пользователя (инициатор событий)
+     * @param from   начальная позиция для пагинации
+     * @param size   размер страницы
+     * @param cursor курсор страницы (опционально, вместо смещения)
+     * @return страница кратких DTO событий
+     */
+    @Override
+    public CursorPage<EventShortDto> findAllByParams(Long userId, Integer from, Integer size, String cursor) {
         UserDto userDto = userService.getById(userId);
-        int page = from / size;
+        Sort byId = Sort.by("id").ascending();
 
-        List<Event> events = eventRepository.findAllByInitiatorId(userDto.getId(),
-                PageRequest.of(page, size)).stream().toList();
+        Slice<EventShortView> events = cursor != null
+                ? eventRepository.findShortBy(withInitiator(userDto.getId(), PageCursor.decode(cursor).id()),
+                PageRequest.of(0, size, byId))
+                : eventRepository.findShortBy(withInitiator(userDto.getId(), 0L),
+                PageRequest.of(from / size, size, byId));
 
-        List<EventDto> eventDtos = events.stream()
-                .map(eventMapper::toDto)
+        List<EventShortDto> eventDtos = events.stream()
+                .map(eventMapper::toShortDto)
                 .toList();
 
-
-        loadViews(
+        eventEnrichment.enrich(
                 eventDtos,
-                eventDtos.stream().map(EventDto::getCreatedOn).min(LocalDateTime::compareTo).orElse(LocalDateTime.now()),
-                eventDtos.stream().map(EventDto::getEventDate).min(LocalDateTime::compareTo).orElse(null)
+                events.stream().map(EventShortView::createdOn).min(LocalDateTime::compareTo).orElse(LocalDateTime.now()),
+                events.stream().map(EventShortView::eventDate).min(LocalDateTime::compareTo).orElse(null),
+                true
         );
-        loadConfirmedRequests(eventDtos);
 
-        return eventDtos;
+        return new CursorPage<>(eventDtos, PageCursor.next(events, event -> PageCursor.encode(null, event.id())));
     }
 
     /**
@@ -187,9 +277,8 @@ public class EventServiceImpl implements EventService {
         // Преобразуем модель события в DTO
         EventDto eventDto = eventMapper.toDto(event);
 
-        // Загружаем статистику просмотров и количество подтверждённых заявок
-        loadViews(List.of(eventDto), event.getPublishedOn(), event.getEventDate());
-        loadConfirmedRequests(List.of(eventDto));
+        // Обогащаем событие статистикой просмотров
+        eventEnrichment.enrich(List.of(eventDto), event.getPublishedOn(), event.getEventDate(), false);
 
         return eventDto;
     }
@@ -213,50 +302,64 @@ public class EventServiceImpl implements EventService {
      * Получает список событий, соответствующих параметрам администратора.
      * <p>
      * Метод выполняет фильтрацию и пагинацию событий на основе переданных параметров.
-     * Также подгружает статистику просмотров и количество подтверждённых заявок.
+     * Также подгружает статистику просмотров.
      *
      * @param adminEventParams Параметры запроса: список пользователей, список категорий,
      *                         диапазон дат, список статусов событий, пагинация
-     * @return Список DTO событий, соответствующих критериям
+     * @return Страница DTO событий, соответствующих критериям
      */
     @Override
-    public List<EventDto> findAllByAdminParams(AdminEventParams adminEventParams) {
+    public CursorPage<EventDto> findAllByAdminParams(AdminEventParams adminEventParams) {
+        Specification<Event> spec = withAdminParams(adminEventParams);
+        int page = adminEventParams.getFrom() / adminEventParams.getSize();
+
+        // Страница после курсора выбирается условием по (eventDate, id) вместо смещения
+        if (adminEventParams.getCursor() != null) {
+            PageCursor cursor = PageCursor.decode(adminEventParams.getCursor());
+            spec = spec.and(cursor.after("eventDate", cursor.dateTimeKey(), Sort.Direction.ASC, Sort.Direction.ASC));
+            page = 0;
+        }
+
         // Создание объекта PageRequest для пагинации и сортировки
         PageRequest pageRequest = PageRequest.of(
-                adminEventParams.getFrom() / adminEventParams.getSize(),
+                page,
                 adminEventParams.getSize(),
-                Sort.by("eventDate").ascending()
+                Sort.by("eventDate").ascending().and(Sort.by("id").ascending())
         );
 
-        // Получение событий из репозитория по спецификации
-        Page<Event> eventsPage = eventRepository.findAll(withAdminParams(adminEventParams), pageRequest);
+        // Получение среза событий вместе с категориями и инициаторами (без подсчёта общего количества)
+        Slice<Event> events = eventRepository.findBy(spec, query -> query
+                .project("category", "initiator")
+                .slice(pageRequest));
 
         // Преобразование моделей событий в DTO
-        List<EventDto> eventDtos = eventsPage.stream()
+        List<EventDto> eventDtos = events.stream()
                 .map(eventMapper::toDto)
                 .toList();
 
-        // Подгрузка статистики просмотров и количества подтверждённых заявок
-        loadViews(eventDtos, adminEventParams.getRangeStart(), adminEventParams.getRangeEnd());
-        loadConfirmedRequests(eventDtos);
+        // Обогащение статистикой просмотров (необязательное: ограничено бюджетом времени)
+        eventEnrichment.enrich(eventDtos, adminEventParams.getRangeStart(), adminEventParams.getRangeEnd(), true);
 
-        return eventDtos;
+        return new CursorPage<>(eventDtos,
+                PageCursor.next(events, event -> PageCursor.encode(event.getEventDate(), event.getId())));
     }
 
     /**
      * Получает список событий, соответствующих параметрам пользователя.
      * <p>
      * Метод выполняет фильтрацию и пагинацию событий на основе переданных параметров.
-     * Также подгружает статистику просмотров и количество подтверждённых заявок.
-     * Если указано, результат может быть отсортирован по количеству просмотров.
+     * Также подгружает статистику просмотров.
+     * Если указано, результат сортируется по количеству просмотров, релевантности или расстоянию.
      *
      * @param userEventParams Параметры запроса: текст для поиска, категория, диапазон дат, флаг платности,
      *                        флаг доступности, сортировка, пагинация
-     * @return Список DTO событий, соответствующих критериям
-     * @throws ValidationException если диапазон дат некорректен (rangeEnd <= rangeStart)
+     * @return Страница кратких DTO событий, соответствующих критериям
+     * @throws ValidationException если диапазон дат некорректен (rangeEnd <= rangeStart), параметры поиска
+     *                             по области некорректны или курсор передан при сортировке по релевантности
+     *                             или расстоянию
      */
     @Override
-    public List<EventDto> findAllByUserParams(UserEventParams userEventParams) {
+    public CursorPage<EventShortDto> findAllByUserParams(UserEventParams userEventParams) {
         // Проверка корректности диапазона дат
         if (userEventParams.getRangeStart() != null &&
             userEventParams.getRangeEnd() != null &&
@@ -264,39 +367,129 @@ public class EventServiceImpl implements EventService {
             throw new ValidationException("rangeEnd должен быть позже, чем rangeStart");
         }
 
+        validateGeoParams(userEventParams);
+
+        boolean byViews = userEventParams.getSort() == EventSortEnum.VIEWS;
+        boolean byRelevance = userEventParams.getSort() == EventSortEnum.RELEVANCE
+                              && StringUtils.hasText(userEventParams.getText());
+        boolean byDistance = userEventParams.isSortedByDistance();
+        Specification<Event> spec = withUserParams(userEventParams);
+        int page = userEventParams.getFrom() / userEventParams.getSize();
+
+        // Страница после курсора выбирается условием по ключу сортировки и id вместо смещения
+        if (userEventParams.getCursor() != null) {
+            if (byRelevance || byDistance) {
+                throw new ValidationException("Курсор не поддерживается при сортировке по релевантности и расстоянию");
+            }
+            PageCursor cursor = PageCursor.decode(userEventParams.getCursor());
+            spec = spec.and(byViews
+                    ? cursor.after("views", cursor.longKey(), Sort.Direction.DESC, Sort.Direction.ASC)
+                    : cursor.after("eventDate", cursor.dateTimeKey(), Sort.Direction.ASC, Sort.Direction.ASC));
+            page = 0;
+        }
+
         // Создание объекта PageRequest для пагинации и сортировки
         PageRequest pageRequest = PageRequest.of(
-                userEventParams.getFrom() / userEventParams.getSize(),
+                page,
                 userEventParams.getSize(),
-                Sort.by("eventDate").ascending()
+                userSort(userEventParams)
         );
 
-        // Получение событий из репозитория по спецификации
-        Page<Event> eventsPage = eventRepository.findAll(withUserParams(userEventParams), pageRequest);
+        // Получение среза проекций событий (без подсчёта общего количества и загрузки сущностей)
+        Slice<EventShortView> events = eventRepository.findShortBy(spec, pageRequest);
 
-        // Преобразование моделей событий в DTO
-        // ArrayList для сортировки
-        List<EventDto> eventDtos = new ArrayList<>(eventsPage.stream()
-                .map(eventMapper::toDto)
-                .toList());
+        // Преобразование проекций в краткие DTO
+        List<EventShortDto> eventDtos = events.stream()
+                .map(eventMapper::toShortDto)
+                .toList();
+
+        // Обогащение статистикой просмотров (необязательное: ограничено бюджетом времени)
+        eventEnrichment.enrich(eventDtos, userEventParams.getRangeStart(), userEventParams.getRangeEnd(), true);
+
+        String nextCursor = byRelevance || byDistance ? null : PageCursor.next(events, event -> byViews
+                ? PageCursor.encode(event.views(), event.id())
+                : PageCursor.encode(event.eventDate(), event.id()));
+        return new CursorPage<>(eventDtos, nextCursor);
+    }
+
+    /**
+     * Проверяет параметры поиска по области.
+     * <p>
+     * Поиск по радиусу требует точки (lat, lon), прямоугольник — всех четырёх границ;
+     * сортировка по расстоянию возможна только вместе с поиском по области.
+     *
+     * @throws ValidationException если параметры некорректны
+     */
+    private static void validateGeoParams(UserEventParams params) {
+        if (params.hasRadius()) {
+            if (params.getLat() == null || params.getLon() == null) {
+                throw new ValidationException("Для поиска по радиусу необходимо указать lat и lon");
+            }
+            if (params.getRadius() <= 0 || params.getRadius() > MAX_RADIUS_KM) {
+                throw new ValidationException("radius должен быть больше 0 и не больше " + MAX_RADIUS_KM + " км");
+            }
+        }
+        if (params.hasBoundingBox()) {
+            if (params.getMinLat() == null || params.getMinLon() == null
+                || params.getMaxLat() == null || params.getMaxLon() == null) {
+                throw new ValidationException("Для поиска по прямоугольнику необходимо указать minLat, minLon, maxLat и maxLon");
+            }
+            if (params.getMinLat() > params.getMaxLat()) {
+                throw new ValidationException("minLat должен быть не больше maxLat");
+            }
+            validateLatitude(params.getMinLat());
+            validateLatitude(params.getMaxLat());
+            validateLongitude(params.getMinLon());
+            validateLongitude(params.getMaxLon());
+        }
+        if (params.getLat() != null) {
+            validateLatitude(params.getLat());
+        }
+        if (params.getLon() != null) {
+            validateLongitude(params.getLon());
+        }
+        if (params.getSort() == EventSortEnum.DISTANCE && !params.hasRadius() && !params.hasBoundingBox()) {
+            throw new ValidationException("Сортировка по расстоянию требует поиска по радиусу или прямоугольнику");
+        }
+    }
 
-        // Загрузка статистики просмотров и подтверждённых заявок
-        loadViews(eventDtos, userEventParams.getRangeStart(), userEventParams.getRangeEnd());
-        loadConfirmedRequests(eventDtos);
+    private static void validateLatitude(double lat) {
+        if (lat < -90 || lat > 90) {
+            throw new ValidationException("Широта должна быть в диапазоне от -90 до 90");
+        }
+    }
 
-        // Проверяем наличие и значение параметра сортировки
-        if (userEventParams.getSort() != null
-            && userEventParams.getSort().equals(EventSortEnum.VIEWS)) {
-            eventDtos.sort(Comparator.comparing(EventDto::getViews).reversed());
+    private static void validateLongitude(double lon) {
+        if (lon < -180 || lon > 180) {
+            throw new ValidationException("Долгота должна быть в диапазоне от -180 до 180");
         }
+    }
 
-        return eventDtos;
+    /**
+     * Возвращает порядок событий для публичного поиска.
+     * <p>
+     * По просмотрам события сортируются в базе данных по синхронизируемому столбцу views ({@link EventViewsSync}),
+     * поэтому порядок верен на любой странице. При сортировке по релевантности и расстоянию порядок задаёт спецификация.
+     */
+    private static Sort userSort(UserEventParams userEventParams) {
+        if (userEventParams.getSort() == EventSortEnum.VIEWS) {
+            return Sort.by(Sort.Order.desc("views"), Sort.Order.asc("id"));
+        }
+        if (userEventParams.getSort() == EventSortEnum.RELEVANCE && StringUtils.hasText(userEventParams.getText())
+            || userEventParams.isSortedByDistance()) {
+            return Sort.unsorted();
+        }
+        return Sort.by("eventDate").ascending().and(Sort.by("id").ascending());
     }
 
     /**
      * Отправляет информацию о хите (просмотре) в сервис статистики.
      * <p>
-     * Формирует DTO с данными запроса и передаёт его клиенту для обработки.
+     * Формирует DTO с данными запроса и ставит его в очередь асинхронной отправки: запрос
+     * пользователя не ждёт сервис статистики и не завершается ошибкой при его недоступности.
+     * Хиту назначается идентификатор (ULID), поэтому повторная отправка того же хита
+     * не создаёт дубликат. Если асинхронная отправка выключена ({@code stats-client.sender.enabled=false}),
+     * хит отправляется синхронно.
      *
      * @param request Объект HTTP-запроса, из которого извлекаются IP и URI
      */
@@ -308,14 +501,23 @@ public class EventServiceImpl implements EventService {
                 .ip(request.getRemoteAddr())
                 .uri(request.getRequestURI())
                 .timestamp(LocalDateTime.now())
+                .hitId(Ulid.next())
                 .build();
-        statsClient.createHit(dto);
-        log.debug("Отправлен hit: {}", dto);
+        HitSender sender = hitSender.getIfAvailable();
+        if (sender != null) {
+            sender.send(dto);
+            log.debug("Hit поставлен в очередь на отправку: {}", dto);
+        } else {
+            statsClient.createHit(dto);
+            log.debug("Отправлен hit: {}", dto);
+        }
     }
 
     /**
      * Возвращает DTO события, если оно находится в состоянии ПУБЛИКОВАНО.
      * <p>
+     * Неизменяемая часть события берётся из {@link PublishedEventCache}; количество подтверждённых заявок
+     * читается отдельным запросом одного столбца, а просмотры — из сервиса статистики.
      * Если событие не найдено или его статус отличен от ПУБЛИКОВАНО, выбрасывается NotFoundException.
      *
      * @param eventId Идентификатор события
@@ -323,18 +525,26 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public EventDto findPublishedEvent(Long eventId) {
+        EventSnapshot snapshot = publishedEventCache.get(eventId, () -> loadPublishedSnapshot(eventId));
+
+        Integer confirmedRequests = eventRepository.findConfirmedRequestsById(eventId)
+                .orElseThrow(() -> new NotFoundException("Событие с ID=" + eventId + " не найдено или не опубликовано"));
+
+        EventDto eventDto = eventMapper.toDto(snapshot, confirmedRequests);
+
+        eventEnrichment.enrich(List.of(eventDto), snapshot.publishedOn(), snapshot.eventDate(), false);
+
+        return eventDto;
+    }
+
+    private EventSnapshot loadPublishedSnapshot(Long eventId) {
         Event event = findEventById(eventId);
 
         if (!event.getState().equals(EventState.PUBLISHED)) {
             throw new NotFoundException("Событие с ID=" + eventId + " не найдено или не опубликовано");
         }
 
-        EventDto eventDto = eventMapper.toDto(event);
-
-        loadViews(List.of(eventDto), event.getPublishedOn(), event.getEventDate());
-        loadConfirmedRequests(List.of(eventDto));
-
-        return eventDto;
+        return eventMapper.toSnapshot(event);
     }
 
     /**
@@ -364,122 +574,42 @@ public class EventServiceImpl implements EventService {
      * @throws ConflictException если действие или состояние события некорректны
      */
     private void validateAdminStateAction(EventStateAction action, Event event) {
-        switch (action) {
-            case PUBLISH_EVENT:
-                if (!event.getState().equals(EventState.PENDING)) {
-                    throw new ConflictException("Нельзя изменить состояние события, так как оно не находится в правильном состоянии: ОЖИДАНИЕ");
-                }
-                validatePublishDate(event);
-                break;
-            case REJECT_EVENT:
-                if (event.getState().equals(EventState.PUBLISHED)) {
-                    throw new ConflictException("Нельзя изменить состояние события, так как оно не находится в правильном состоянии: ОПУБЛИКОВАНО");
-                }
-                break;
-            default:
-                throw new ConflictException("Недопустимое действие: " + action);
+        String conflict = findModerationConflict(action, event.getState(), event.getEventDate(), LocalDateTime.now());
+        if (conflict != null) {
+            throw new ConflictException(conflict);
         }
     }
 
     /**
-     * Проверяет, что дата начала события не ранее чем через один час после публикации.
+     * Возвращает причину, по которой действие модерации недопустимо для события.
      * <p>
-     * Согласно требованиям, событие не может быть опубликовано, если его начало менее чем через час.
+     * Опубликовать можно только событие в состоянии ОЖИДАНИЕ, начинающееся не ранее чем через час
+     * после публикации; отклонить — любое неопубликованное событие.
      *
-     * @param event Текущее событие
-     * @throws ConflictException если дата начала события некорректна
+     * @param action    Действие над состоянием события
+     * @param state     Текущее состояние события
+     * @param eventDate Дата начала события
+     * @param now       Момент модерации
+     * @return причина конфликта или null, если действие допустимо
      */
-    private void validatePublishDate(Event event) {
-        LocalDateTime nowPlusHour = LocalDateTime.now().plusHours(1L);
-        if (nowPlusHour.isAfter(event.getEventDate())) {
-            throw new ConflictException("Дата начала события не может быть раньше чем через один час после публикации");
-        }
-    }
-
-    /**
-     * Загружает количество подтверждённых заявок для переданных событий.
-     * <p>
-     * Использует репозиторий заявок, чтобы получить данные о количестве подтверждённых заявок по каждому событию.
-     *
-     * @param events Список DTO событий, для которых нужно загрузить количество подтверждённых заявок
-     */
-    private void loadConfirmedRequests(List<EventDto> events) {
-        if (events.isEmpty()) {
-            return; // Нет событий — ничего не делать
-        }
-
-        // Получаем ID всех событий из DTO
-        List<Long> eventIds = events.stream()
-                .map(EventDto::getId)
-                .toList();
-
-        // Запрашиваем количество подтверждённых заявок по каждому событию
-        List<EventRequestCount> confirmedRequests = requestRepository.countByStatusForEvents(eventIds, RequestStatus.CONFIRMED);
-
-        // Создаём маппинг: ID события → количество подтверждённых заявок
-        Map<Long, Long> eventIdToRequestsCount = confirmedRequests.stream()
-                .collect(Collectors.toMap(
-                        EventRequestCount::eventId,
-                        EventRequestCount::requestsCount
-                ));
-
-        // Обновляем DTO событий значениями количества подтверждённых заявок
-        for (EventDto event : events) {
-            Long count = eventIdToRequestsCount.getOrDefault(event.getId(), 0L);
-            event.setConfirmedRequests(Math.toIntExact(count));
-        }
-    }
-
-    /**
-     * Загружает статистику просмотров (views) для переданных событий за указанный период.
-     * <p>
-     * Использует клиент статистики (statsClient), чтобы получить количество просмотров по URI событий.
-     *
-     * @param events Список DTO событий, для которых нужно загрузить статистику
-     * @param start  Начальная дата диапазона для подсчёта просмотров
-     * @param end    Конечная дата диапазона для подсчёта просмотров
-     */
-    private void loadViews(List<EventDto> events, LocalDateTime start, LocalDateTime end) {
-        if (events.isEmpty()) {
-            return; // Нет событий — ничего не делать
-        }
-
-        // Создаём маппинг между ID события и URI для запроса статистики
-        Map<Long, String> eventUriMap = events.stream()
-                .collect(Collectors.toMap(
-                        EventDto::getId,
-                        event -> "/events/" + event.getId(), // Формат URI согласно требованиям статистики
-                        (existing, replacement) -> existing)); // Обработка дубликатов (должно не случаться)
-
-        try {
-            // Получаем статистику просмотров из внешнего сервиса
-            ResponseEntity<List<HitsStatDTO>> statsResponse = statsClient.getStats(
-                    start,
-                    end,
-                    List.copyOf(eventUriMap.values()), // Гарантируем неизменяемость списка
-                    true // Учитываем уникальные IP-адреса (статистика по уникальным просмотрам)
-            );
-
-            // Если данные получены, создаём маппинг URI → количество просмотров
-            if (statsResponse.hasBody()) {
-                List<HitsStatDTO> stats = statsResponse.getBody();
-                if (stats != null && !stats.isEmpty()) {
-                    Map<String, Long> uriToHits = stats.stream()
-                            .collect(Collectors.toMap(HitsStatDTO::getUri, HitsStatDTO::getHits));
-
-                    // Обновляем DTO событий значениями статистики
-                    for (EventDto event : events) {
-                        String uri = eventUriMap.get(event.getId());
-                        event.setViews(uriToHits.getOrDefault(uri, 0L));
-                    }
-                    return;
+    private String findModerationConflict(EventStateAction action, EventState state, LocalDateTime eventDate,
+                                          LocalDateTime now) {
+        switch (action) {
+            case PUBLISH_EVENT:
+                if (!state.equals(EventState.PENDING)) {
+                    return "Нельзя изменить состояние события, так как оно не находится в правильном состоянии: ОЖИДАНИЕ";
                 }
-            }
-            // Если данных нет или тело пустое, устанавливаем просмотры в 0 для всех событий
-            events.forEach(event -> event.setViews(0L));
-        } catch (FeignException e) {
-            log.error("Ошибка при получении статистики просмотров: {}", e.getMessage(), e);
-            // В случае ошибки оставляем текущие значения views без изменений
+                if (now.plusHours(1L).isAfter(eventDate)) {
+                    return "Дата начала события не может быть раньше чем через один час после публикации";
+                }
+                return null;
+            case REJECT_EVENT:
+                if (state.equals(EventState.PUBLISHED)) {
+                    return "Нельзя изменить состояние события, так как оно не находится в правильном состоянии: ОПУБЛИКОВАНО";
+                }
+                return null;
+            default:
+                return "Недопустимое действие: " + action;
         }
     }
 
@@ -532,12 +662,12 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.save(event);
+        eventPublisher.publishEvent(new EventUpdated(event.getId()));
         log.info("Событие изменено: {}", event);
 
         EventDto eventDto = eventMapper.toDto(event);
 
-        loadViews(List.of(eventDto), event.getPublishedOn(), event.getEventDate());
-        loadConfirmedRequests(List.of(eventDto));
+        eventEnrichment.enrich(List.of(eventDto), event.getPublishedOn(), event.getEventDate(), false);
 
         return eventDto;
     }
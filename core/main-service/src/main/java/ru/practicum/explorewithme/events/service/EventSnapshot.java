@@ -0,0 +1,32 @@
+package ru.practicum.explorewithme.events.service;
+
+import ru.practicum.explorewithme.events.enumeration.EventState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неизменяемый снимок опубликованного события для {@link PublishedEventCache}.
+ * <p>
+ * Не содержит изменчивых полей (количество подтверждённых заявок и просмотров): они добавляются
+ * к снимку при каждом запросе, поэтому один снимок обслуживает все запросы до изменения события.
+ */
+public record EventSnapshot(
+        Long id,
+        String title,
+        String annotation,
+        String description,
+        Long categoryId,
+        String categoryName,
+        Long initiatorId,
+        String initiatorName,
+        LocalDateTime eventDate,
+        LocalDateTime createdOn,
+        LocalDateTime publishedOn,
+        Float locationLat,
+        Float locationLon,
+        Integer participantLimit,
+        Boolean paid,
+        Boolean requestModeration,
+        EventState state
+) {
+}
@@ -0,0 +1,9 @@
+package ru.practicum.explorewithme.events.service;
+
+/**
+ * Событие приложения: данные события изменены (в том числе его состояние).
+ *
+ * @param eventId идентификатор изменённого события
+ */
+public record EventUpdated(long eventId) {
+}
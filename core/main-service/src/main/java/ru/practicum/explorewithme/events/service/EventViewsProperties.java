@@ -0,0 +1,41 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки синхронизации количества просмотров событий ({@code events.views}) со stats-server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "events.views-sync")
+public class EventViewsProperties {
+
+    /**
+     * Синхронизировать количество просмотров.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Период получения изменившихся URI.
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * Период полной сверки всех опубликованных событий.
+     */
+    private Duration fullSyncInterval = Duration.ofHours(1);
+
+    /**
+     * Количество событий в одном запросе статистики.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Количество хитов, просматриваемых stats-server за один запрос изменившихся URI.
+     */
+    private int changesLimit = 10_000;
+}
@@ -0,0 +1,156 @@
+package ru.practicum.explorewithme.events.service;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.client.IdHitsMap;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.HitsStatColumnsDTO;
+import ru.practicum.dto.UriChangesDTO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Синхронизация количества уникальных просмотров событий ({@code events.views}) со stats-server.
+ * <p>
+ * Каждый период у stats-server запрашиваются URI событий, по которым после сохранённой позиции журнала
+ * хитов появились новые хиты, и пересчитываются только эти события. Изменения, которые журнал мог
+ * пропустить (хиты, зафиксированные не в порядке идентификаторов), исправляет периодическая полная сверка
+ * всех опубликованных событий; она же выполняется при запуске. При недоступности stats-server значения
+ * остаются прежними до следующего периода.
+ */
+@Slf4j
+@Component
+public class EventViewsSync {
+
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    /**
+     * Начало периода подсчёта просмотров — за всё время.
+     */
+    private static final LocalDateTime VIEWS_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String PUBLISHED_IDS_SQL = """
+            SELECT id FROM events WHERE state = 'PUBLISHED' AND id > ? ORDER BY id LIMIT ?
+            """;
+
+    private static final String UPDATE_VIEWS_SQL = """
+            UPDATE events SET views = ? WHERE id = ? AND views <> ?
+            """;
+
+    private final StatsClient statsClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventViewsProperties properties;
+
+    /**
+     * Позиция журнала хитов, до которой изменения учтены; отрицательная — полная сверка ещё не выполнялась.
+     */
+    private long cursor = -1;
+    private Instant nextFullSync = Instant.MIN;
+
+    public EventViewsSync(StatsClient statsClient, JdbcTemplate jdbcTemplate, EventViewsProperties properties) {
+        this.statsClient = statsClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Обновляет количество просмотров событий: полная сверка, если подошёл её срок, иначе — только изменившиеся.
+     */
+    @Scheduled(fixedDelayString = "${events.views-sync.interval:10s}")
+    public void sync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (cursor < 0 || !Instant.now().isBefore(nextFullSync)) {
+                fullSync();
+            } else {
+                syncChanges();
+            }
+        } catch (FeignException e) {
+            log.warn("Не удалось синхронизировать просмотры событий: {}", e.getMessage());
+        }
+    }
+
+    private void fullSync() {
+        // Позиция берётся до сверки: хиты, сохранённые во время сверки, будут учтены как изменения
+        long start = changes(-1).getCursor();
+        int updated = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(PUBLISHED_IDS_SQL, Long.class, lastId, properties.getBatchSize());
+            if (!ids.isEmpty()) {
+                updated += refresh(ids);
+                lastId = ids.getLast();
+            }
+        } while (ids.size() == properties.getBatchSize());
+
+        cursor = start;
+        nextFullSync = Instant.now().plus(properties.getFullSyncInterval());
+        log.info("Полная сверка просмотров событий завершена, обновлено событий: {}", updated);
+    }
+
+    private void syncChanges() {
+        UriChangesDTO changes;
+        do {
+            changes = changes(cursor);
+            Set<Long> ids = new LinkedHashSet<>();
+            for (String uri : changes.getUris()) {
+                long id = IdHitsMap.parseId(uri, EVENT_URI_PREFIX);
+                if (id >= 0) {
+                    ids.add(id);
+                }
+            }
+            List<Long> batch = new ArrayList<>(properties.getBatchSize());
+            for (Long id : ids) {
+                batch.add(id);
+                if (batch.size() == properties.getBatchSize()) {
+                    refresh(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                refresh(batch);
+            }
+            cursor = changes.getCursor();
+        } while (changes.isMore());
+    }
+
+    private UriChangesDTO changes(long after) {
+        return statsClient.getChangedUris(after, EVENT_URI_PREFIX, properties.getChangesLimit()).getBody();
+    }
+
+    /**
+     * Пересчитывает количество просмотров событий и записывает изменившиеся значения.
+     *
+     * @return количество обновлённых событий
+     */
+    private int refresh(List<Long> ids) {
+        List<String> uris = ids.stream()
+                .map(id -> EVENT_URI_PREFIX + id)
+                .toList();
+        HitsStatColumnsDTO stats = statsClient.getStatsColumns(VIEWS_START, LocalDateTime.now(), uris, true)
+                .getBody();
+        IdHitsMap views = IdHitsMap.fromColumns(stats, EVENT_URI_PREFIX);
+
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            long value = views.getOrDefault(id, 0L);
+            args.add(new Object[]{value, id, value});
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(UPDATE_VIEWS_SQL, args)) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.explorewithme.events.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.explorewithme.categories.service.CategoryUpdated;
+import ru.practicum.explorewithme.users.service.UserDeleted;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш снимков опубликованных событий по идентификатору события.
+ * <p>
+ * Количество снимков ограничено ({@code events.detail-cache.max-size}, вытесняются давно запрошенные),
+ * каждый снимок живёт не дольше {@code events.detail-cache.ttl}. Снимки удаляются по событиям приложения
+ * после фиксации транзакции: изменение события, изменение его категории и удаление инициатора.
+ * <p>
+ * Каждое удаление увеличивает поколение кэша. Снимок, загрузка которого началась до удаления,
+ * не сохраняется, поэтому чтение, пересёкшееся с изменением, не вернёт устаревшие данные в кэш.
+ * Доступ защищён {@link ReentrantLock}: ожидание блокировки не закрепляет виртуальный поток за несущим.
+ */
+@Slf4j
+@Component
+public class PublishedEventCache {
+
+    private final EventDetailCacheProperties properties;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries;
+
+    public PublishedEventCache(EventDetailCacheProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > properties.getMaxSize();
+            }
+        };
+    }
+
+    /**
+     * Возвращает снимок события из кэша или загружает и сохраняет его.
+     *
+     * @param eventId идентификатор события
+     * @param loader  загрузка снимка; исключение загрузки передаётся вызывающему, в кэш ничего не сохраняется
+     * @return снимок события
+     */
+    public EventSnapshot get(long eventId, Supplier<EventSnapshot> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(eventId);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry.snapshot();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long loadedGeneration = generation.get();
+        EventSnapshot snapshot = loader.get();
+        lock.lock();
+        try {
+            if (generation.get() == loadedGeneration) {
+                entries.put(eventId, new Entry(snapshot, now + properties.getTtl().toMillis()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventUpdated(EventUpdated event) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(event.eventId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryUpdated(CategoryUpdated event) {
+        invalidate(entry -> entry.categoryId().equals(event.categoryId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeleted event) {
+        invalidate(entry -> entry.initiatorId().equals(event.userId()));
+    }
+
+    private void invalidate(Predicate<EventSnapshot> matches) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> matches.test(entry.snapshot()));
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Кэш опубликованных событий очищен, поколение {}", generation.get());
+    }
+
+    private record Entry(EventSnapshot snapshot, long expiresAt) {
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.users.dto.NewUserRequest;
 import ru.practicum.explorewithme.users.dto.UserDto;
 import ru.practicum.explorewithme.users.service.UserService;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -53,17 +54,20 @@ public class AdminUserController {
      * @param ids   список идентификаторов пользователей
      * @param from  начальная позиция (смещение)
      * @param size  количество элементов на странице
+     * @param cursor курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
      * @return HTTP-ответ со списком пользователей и статусом OK
      */
     @GetMapping
     public ResponseEntity<List<UserDto>> getUsers(
             @RequestParam(required = false) List<Long> ids,
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int size) {
-        log.info("Получен GET-запрос на получение пользователей: ids={}, from={}, size={}", ids, from, size);
-        List<UserDto> users = userService.getUsers(ids, from, size);
-        log.info("Отправлен список пользователей с размером: {}", users.size());
-        return ResponseEntity.ok(users);
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Получен GET-запрос на получение пользователей: ids={}, from={}, size={}, cursor={}",
+                ids, from, size, cursor);
+        CursorPage<UserDto> users = userService.getUsers(ids, from, size, cursor);
+        log.info("Отправлен список пользователей с размером: {}", users.content().size());
+        return users.toResponse();
     }
 
     /**
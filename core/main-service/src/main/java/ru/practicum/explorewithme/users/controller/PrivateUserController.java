@@ -11,6 +11,7 @@ import ru.practicum.explorewithme.comments.service.CommentService;
 import ru.practicum.explorewithme.comments.dto.CommentDto;
 import ru.practicum.explorewithme.comments.dto.NewCommentDto;
 import ru.practicum.explorewithme.events.dto.EventDto;
+import ru.practicum.explorewithme.events.dto.EventShortDto;
 import ru.practicum.explorewithme.events.dto.NewEventDto;
 import ru.practicum.explorewithme.events.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.events.service.EventService;
@@ -18,6 +19,7 @@ import ru.practicum.explorewithme.users.dto.ChangeRequestStatusDto;
 import ru.practicum.explorewithme.users.dto.ParticipationRequestDto;
 import ru.practicum.explorewithme.users.dto.UserParticipationRequestDto;
 import ru.practicum.explorewithme.users.service.RequestService;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -94,18 +96,20 @@ public class PrivateUserController {
      * @param userId Идентификатор пользователя
      * @param from   Начальная позиция (смещение)
      * @param to     Количество элементов на странице
-     * @return HTTP-ответ со списком событий и статусом OK
+     * @param cursor Курсор страницы из заголовка X-Next-Cursor предыдущего ответа (вместо from)
+     * @return HTTP-ответ со списком кратких DTO событий и статусом OK
      */
     @GetMapping("/{userId}/events")
-    public ResponseEntity<List<EventDto>> getEvents(
+    public ResponseEntity<List<EventShortDto>> getEvents(
             @PathVariable Long userId,
             @RequestParam(defaultValue = DEFAULT_FROM) int from,
-            @RequestParam(defaultValue = DEFAULT_SIZE) int to) {
-        log.info("Получен GET-запрос на получение событий пользователя {} с параметрами: from={}, to={}",
-                userId, from, to);
-        List<EventDto> events = eventService.findAllByParams(userId, from, to);
-        log.info("Найдено {} событий для пользователя {}", events.size(), userId);
-        return ResponseEntity.ok(events);
+            @RequestParam(defaultValue = DEFAULT_SIZE) int to,
+            @RequestParam(required = false) String cursor) {
+        log.info("Получен GET-запрос на получение событий пользователя {} с параметрами: from={}, to={}, cursor={}",
+                userId, from, to, cursor);
+        CursorPage<EventShortDto> events = eventService.findAllByParams(userId, from, to, cursor);
+        log.info("Найдено {} событий для пользователя {}", events.content().size(), userId);
+        return events.toResponse();
     }
 
     /**
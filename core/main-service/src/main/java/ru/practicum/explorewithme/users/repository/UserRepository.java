@@ -1,5 +1,7 @@
 package ru.practicum.explorewithme.users.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.explorewithme.users.model.User;
 
@@ -19,4 +21,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true, если пользователь с таким email существует, иначе false
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Возвращает срез пользователей с идентификатором больше указанного.
+     * <p>
+     * Срез не требует подсчёта общего количества записей.
+     *
+     * @param id       идентификатор, после которого начинается выборка (0 — с начала)
+     * @param pageable параметры пагинации
+     * @return срез пользователей
+     */
+    Slice<User> findAllByIdGreaterThan(long id, Pageable pageable);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.practicum.explorewithme.users.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.events.enumeration.EventState;
 import ru.practicum.explorewithme.events.model.Event;
 import ru.practicum.explorewithme.events.repository.EventRepository;
@@ -19,6 +20,7 @@ import ru.practicum.explorewithme.users.repository.RequestRepository;
 import ru.practicum.explorewithme.users.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +29,7 @@ import static ru.practicum.explorewithme.exception.NotFoundException.notFoundExc
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
 
     private static final String USER_NOT_FOUND_MESSAGE = "Пользователь с идентификатором %d не найден!";
@@ -51,7 +54,10 @@ public class RequestServiceImpl implements RequestService {
 
     /**
      * Создаёт новую заявку на участие в событии.
+     * <p>
+     * Заявка, подтверждённая сразу, учитывается в счётчике подтверждённых заявок события в той же транзакции.
      */
+    @Transactional
     @Override
     public ParticipationRequestDto createRequest(long userId, long eventId) {
         User user = getUserOrThrow(userId);
@@ -62,10 +68,15 @@ public class RequestServiceImpl implements RequestService {
         validateEventAvailability(event);
         validateRequestCapacity(event);
 
+        RequestStatus status = calculateInitialRequestStatus(event);
+        if (status == RequestStatus.CONFIRMED) {
+            addConfirmedRequests(event, 1);
+        }
+
         ParticipationRequest request = ParticipationRequest.builder()
                 .requester(user)
                 .event(event)
-                .status(calculateInitialRequestStatus(event))
+                .status(status)
                 .created(LocalDateTime.now())
                 .build();
 
@@ -76,12 +87,18 @@ public class RequestServiceImpl implements RequestService {
 
     /**
      * Отменяет заявку пользователя.
+     * <p>
+     * Отмена подтверждённой заявки освобождает место в счётчике подтверждённых заявок события.
      */
+    @Transactional
     @Override
     public ParticipationRequestDto cancelRequest(long userId, long requestId) {
         ParticipationRequest request = requestRepository.findByIdAndRequesterId(requestId, userId)
                 .orElseThrow(notFoundException("Заявка {0} пользователя {1} не найдена", requestId, userId));
 
+        if (request.getStatus() == RequestStatus.CONFIRMED) {
+            eventRepository.removeConfirmedRequests(request.getEvent().getId(), 1);
+        }
         request.setStatus(RequestStatus.CANCELED);
         ParticipationRequest updated = requestRepository.save(request);
         log.info("Отменена заявка {} пользователя {}", requestId, userId);
@@ -101,7 +118,12 @@ public class RequestServiceImpl implements RequestService {
 
     /**
      * Обновляет статусы заявок на участие.
+     * <p>
+     * Подтверждённые заявки учитываются в счётчике события в той же транзакции; отклонение
+     * ожидающих заявок счётчик не меняет. Если свободных мест меньше, чем заявок, подтверждаются
+     * самые ранние заявки по числу мест, а остальные отклоняются.
      */
+    @Transactional
     @Override
     public UserParticipationRequestDto updateRequestStatus(ChangeRequestStatusDto dto,
                                                            long userId,
@@ -109,7 +131,13 @@ public class RequestServiceImpl implements RequestService {
         Event event = getEventOrThrow(eventId);
         List<ParticipationRequest> requests = validateAndFetchRequests(dto.getRequestIds(), eventId);
         validateRequestCapacity(event);
-        processRequests(dto.getStatus(), requests);
+        if (dto.getStatus() == RequestStatus.CONFIRMED) {
+            int slots = reserveSlots(event, requests.size());
+            processRequests(RequestStatus.CONFIRMED, requests.subList(0, slots));
+            processRequests(RequestStatus.REJECTED, requests.subList(slots, requests.size()));
+        } else {
+            processRequests(dto.getStatus(), requests);
+        }
         return mapToResponse(requests);
     }
 
@@ -161,13 +189,15 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Найдены заявки, отличные от состояния ОЖИДАНИЕ");
         }
 
-        return requests;
+        return requests.stream()
+                .sorted(Comparator.comparing(ParticipationRequest::getCreated)
+                        .thenComparing(ParticipationRequest::getId))
+                .collect(Collectors.toList());
     }
 
     private void validateRequestCapacity(Event event) {
         if (event.getParticipantLimit() > 0) {
-            long confirmedCount = requestRepository.countByEventIdAndStatus(event.getId(), RequestStatus.CONFIRMED);
-            int remainingSlots = event.getParticipantLimit() - (int) confirmedCount;
+            int remainingSlots = event.getParticipantLimit() - event.getConfirmedRequests();
 
             if (remainingSlots <= 0) {
                 throw new ConflictException(String.format(EVENT_FULL_MESSAGE, event.getId()));
@@ -175,6 +205,38 @@ public class RequestServiceImpl implements RequestService {
         }
     }
 
+    /**
+     * Занимает свободные места события под подтверждаемые заявки.
+     * <p>
+     * Строка события блокируется до конца транзакции, поэтому количество свободных мест
+     * не меняется между проверкой и увеличением счётчика.
+     *
+     * @return количество заявок, которые можно подтвердить (не больше {@code count})
+     */
+    private int reserveSlots(Event event, int count) {
+        int confirmed = eventRepository.lockConfirmedRequests(event.getId());
+        int slots = event.getParticipantLimit() == 0
+                ? count
+                : Math.min(count, event.getParticipantLimit() - confirmed);
+        if (slots <= 0) {
+            throw new ConflictException(String.format(EVENT_FULL_MESSAGE, event.getId()));
+        }
+        addConfirmedRequests(event, slots);
+        return slots;
+    }
+
+    /**
+     * Увеличивает счётчик подтверждённых заявок события.
+     * <p>
+     * Свободные места перепроверяются атомарно: параллельная заявка могла занять последнее место
+     * после {@link #validateRequestCapacity(Event)}.
+     */
+    private void addConfirmedRequests(Event event, int count) {
+        if (eventRepository.addConfirmedRequests(event.getId(), count) == 0) {
+            throw new ConflictException(String.format(EVENT_FULL_MESSAGE, event.getId()));
+        }
+    }
+
     private void processRequests(RequestStatus targetStatus, List<ParticipationRequest> requests) {
         for (ParticipationRequest request : requests) {
             request.setStatus(targetStatus);
@@ -0,0 +1,9 @@
+package ru.practicum.explorewithme.users.service;
+
+/**
+ * Событие приложения: пользователь удалён вместе со своими событиями.
+ *
+ * @param userId идентификатор удалённого пользователя
+ */
+public record UserDeleted(long userId) {
+}
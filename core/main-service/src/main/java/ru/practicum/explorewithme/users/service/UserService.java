@@ -5,6 +5,7 @@ import ru.practicum.explorewithme.users.dto.UserDto;
 import ru.practicum.explorewithme.exception.DataAlreadyExistException;
 import ru.practicum.explorewithme.exception.NotFoundException;
 import ru.practicum.explorewithme.users.model.User;
+import ru.practicum.explorewithme.util.CursorPage;
 
 import java.util.List;
 
@@ -29,10 +30,11 @@ public interface UserService {
      * @param ids   список идентификаторов пользователей (опционально)
      * @param offset начальная позиция (смещение)
      * @param limit  количество элементов на странице
-     * @return список DTO пользователей
+     * @param cursor курсор страницы (опционально, вместо смещения)
+     * @return страница DTO пользователей
      * @throws IllegalArgumentException если параметры пагинации некорректны
      */
-    List<UserDto> getUsers(List<Long> ids, int offset, int limit);
+    CursorPage<UserDto> getUsers(List<Long> ids, int offset, int limit, String cursor);
 
     /**
      * Удаляет пользователя по его идентификатору.
@@ -2,9 +2,10 @@ package ru.practicum.explorewithme.users.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.explorewithme.exception.DataAlreadyExistException;
 import ru.practicum.explorewithme.exception.NotFoundException;
@@ -13,6 +14,8 @@ import ru.practicum.explorewithme.users.dto.UserDto;
 import ru.practicum.explorewithme.users.mapper.UserMapper;
 import ru.practicum.explorewithme.users.model.User;
 import ru.practicum.explorewithme.users.repository.UserRepository;
+import ru.practicum.explorewithme.util.CursorPage;
+import ru.practicum.explorewithme.util.PageCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,6 +27,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String EMAIL_ALREADY_EXISTS = "Пользователь с email %s уже существует";
     private static final String USER_NOT_FOUND = "Пользователь с ID %d не найден";
@@ -87,35 +91,40 @@ public class UserServiceImpl implements UserService {
      * Возвращает список пользователей по списку идентификаторов или всех пользователей с пагинацией.
      * <p>
      * Если список идентификаторов не пустой, возвращаются только указанные пользователи.
-     * Если список пустой или null, возвращаются все пользователи с учётом параметров пагинации.
+     * Если список пустой или null, возвращаются все пользователи в порядке идентификаторов с учётом
+     * параметров пагинации; при переданном курсоре страница начинается после него, а смещение не учитывается.
      *
-     * @param ids   список идентификаторов пользователей
-     * @param from  начальная позиция (смещение)
-     * @param size  количество элементов на странице
-     * @return список DTO пользователей
+     * @param ids    список идентификаторов пользователей
+     * @param from   начальная позиция (смещение)
+     * @param size   количество элементов на странице
+     * @param cursor курсор страницы (опционально)
+     * @return страница DTO пользователей
      * @throws IllegalArgumentException если параметры пагинации некорректны
      */
     @Override
-    public List<UserDto> getUsers(List<Long> ids, int from, int size) {
+    public CursorPage<UserDto> getUsers(List<Long> ids, int from, int size, String cursor) {
         if (from < 0 || size <= 0) {
             throw new IllegalArgumentException(INVALID_PAGINATION_PARAMS);
         }
 
         if (ids != null && !ids.isEmpty()) {
             log.info("Запрос пользователей по идентификаторам: {}", ids);
-            return userRepository.findAllById(ids).stream()
+            return CursorPage.of(userRepository.findAllById(ids).stream()
                     .map(userMapper::toDto)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         }
 
-        int pageNumber = Math.floorDiv(from, size);
-        Pageable pageable = PageRequest.of(pageNumber, size);
-        Page<User> userPage = userRepository.findAll(pageable);
+        Sort byId = Sort.by("id").ascending();
+        Slice<User> users = cursor != null
+                ? userRepository.findAllByIdGreaterThan(PageCursor.decode(cursor).id(), PageRequest.of(0, size, byId))
+                : userRepository.findAllByIdGreaterThan(0L, PageRequest.of(Math.floorDiv(from, size), size, byId));
 
-        log.info("Запрошена страница {} с размером {}", pageNumber, size);
-        return userPage.getContent().stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+        log.info("Запрошена страница пользователей: from={}, size={}, cursor={}", from, size, cursor);
+        return new CursorPage<>(
+                users.getContent().stream()
+                        .map(userMapper::toDto)
+                        .collect(Collectors.toList()),
+                PageCursor.next(users, user -> PageCursor.encode(null, user.getId())));
     }
 
     /**
@@ -133,6 +142,7 @@ public class UserServiceImpl implements UserService {
         try {
             log.info("Начало удаления пользователя: {} (ID: {})", user.getName(), userId);
             userRepository.deleteById(userId);
+            eventPublisher.publishEvent(new UserDeleted(userId));
             log.info("Пользователь успешно удалён: {}", user.getName());
         } catch (Exception e) {
             log.error("Ошибка удаления пользователя {}: {}", userId, e.getMessage(), e);
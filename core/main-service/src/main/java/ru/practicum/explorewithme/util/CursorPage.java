@@ -0,0 +1,33 @@
+package ru.practicum.explorewithme.util;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Страница записей списка вместе с курсором следующей страницы.
+ *
+ * @param content    записи страницы
+ * @param nextCursor курсор следующей страницы ({@link PageCursor}) или null, если страница последняя
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Возвращает страницу без курсора (список не делится на страницы).
+     */
+    public static <T> CursorPage<T> of(List<T> content) {
+        return new CursorPage<>(content, null);
+    }
+
+    /**
+     * Формирует ответ 200 OK: тело — записи страницы, курсор следующей страницы — в заголовке
+     * {@link PageCursor#NEXT_CURSOR_HEADER}.
+     */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(PageCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.explorewithme.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Числовой геохэш: ячейка сетки, в которую попадает точка, в виде 52-битного числа.
+ * <p>
+ * Как и в строковом геохэше, биты долготы и широты чередуются, поэтому у точек одной ячейки любого
+ * уровня общий префикс битов, а ячейка уровня {@code l} — непрерывный диапазон значений. Поиск по области
+ * сводится к нескольким диапазонам по столбцу с обычным B-tree индексом, без зависимости от сортировки строк.
+ */
+public final class GeoCell {
+
+    /**
+     * Количество бит на каждую ось (ячейка наибольшего уровня — около 0,6 м).
+     */
+    public static final int AXIS_BITS = 26;
+
+    /**
+     * Средний радиус Земли, км.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoCell() {
+    }
+
+    /**
+     * Непрерывный диапазон значений ячеек {@code [from, to)}.
+     */
+    public record Range(long from, long to) {
+    }
+
+    /**
+     * Возвращает ячейку наибольшего уровня, в которую попадает точка.
+     *
+     * @param lat широта, градусы
+     * @param lon долгота, градусы
+     * @return значение ячейки
+     */
+    public static long encode(double lat, double lon) {
+        return interleave(axis(lon, -180, 180, AXIS_BITS), axis(lat, -90, 90, AXIS_BITS), AXIS_BITS);
+    }
+
+    /**
+     * Возвращает диапазоны ячеек, покрывающие прямоугольник координат.
+     * <p>
+     * Выбирается наиболее мелкий уровень, на котором прямоугольник покрывают не более {@code maxCells} ячеек;
+     * соседние диапазоны объединяются. Прямоугольник с {@code minLon > maxLon} пересекает 180-й меридиан.
+     *
+     * @param minLat   южная граница
+     * @param minLon   западная граница
+     * @param maxLat   северная граница
+     * @param maxLon   восточная граница
+     * @param maxCells максимальное количество ячеек на одну часть прямоугольника
+     * @return отсортированные непересекающиеся диапазоны
+     */
+    public static List<Range> cover(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        List<Range> ranges = new ArrayList<>();
+        if (minLon > maxLon) {
+            coverBox(minLat, minLon, maxLat, 180, maxCells, ranges);
+            coverBox(minLat, -180, maxLat, maxLon, maxCells, ranges);
+        } else {
+            coverBox(minLat, minLon, maxLat, maxLon, maxCells, ranges);
+        }
+        return merge(ranges);
+    }
+
+    /**
+     * Возвращает прямоугольник, описанный вокруг круга: {@code [minLat, minLon, maxLat, maxLon]}.
+     * <p>
+     * Если круг пересекает 180-й меридиан, {@code minLon > maxLon}; если захватывает полюс — долгота не ограничена.
+     *
+     * @param lat      широта центра
+     * @param lon      долгота центра
+     * @param radiusKm радиус, км
+     * @return границы прямоугольника
+     */
+    public static double[] boundingBox(double lat, double lon, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLon = cos > 0 ? dLat / cos : 360;
+        if (dLon >= 180 || maxLat >= 90 || minLat <= -90) {
+            return new double[]{minLat, -180, maxLat, 180};
+        }
+        double minLon = lon - dLon;
+        double maxLon = lon + dLon;
+        if (minLon < -180) {
+            minLon += 360;
+        }
+        if (maxLon > 180) {
+            maxLon -= 360;
+        }
+        return new double[]{minLat, minLon, maxLat, maxLon};
+    }
+
+    private static void coverBox(double minLat, double minLon, double maxLat, double maxLon, int maxCells,
+                                 List<Range> ranges) {
+        for (int level = AXIS_BITS; level > 0; level--) {
+            long x0 = axis(minLon, -180, 180, level);
+            long x1 = axis(maxLon, -180, 180, level);
+            long y0 = axis(minLat, -90, 90, level);
+            long y1 = axis(maxLat, -90, 90, level);
+            if ((x1 - x0 + 1) * (y1 - y0 + 1) > maxCells) {
+                continue;
+            }
+            int shift = 2 * (AXIS_BITS - level);
+            for (long x = x0; x <= x1; x++) {
+                for (long y = y0; y <= y1; y++) {
+                    long prefix = interleave(x, y, level);
+                    ranges.add(new Range(prefix << shift, (prefix + 1) << shift));
+                }
+            }
+            return;
+        }
+        ranges.add(new Range(0, 1L << (2 * AXIS_BITS)));
+    }
+
+    private static List<Range> merge(List<Range> ranges) {
+        ranges.sort(Comparator.comparingLong(Range::from));
+        List<Range> merged = new ArrayList<>();
+        for (Range range : ranges) {
+            Range last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && range.from() <= last.to()) {
+                merged.set(merged.size() - 1, new Range(last.from(), Math.max(last.to(), range.to())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private static long axis(double value, double min, double max, int bits) {
+        long cells = 1L << bits;
+        long cell = (long) Math.floor((value - min) / (max - min) * cells);
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    private static long interleave(long x, long y, int bits) {
+        long result = 0;
+        for (int i = bits - 1; i >= 0; i--) {
+            result = (result << 1) | ((x >>> i) & 1);
+            result = (result << 1) | ((y >>> i) & 1);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.explorewithme.util;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.validation.ValidationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Курсор постраничного вывода по ключу сортировки (keyset pagination).
+ * <p>
+ * Для клиента курсор — непрозрачная строка, в которой закодированы ключ сортировки и идентификатор
+ * последней записи страницы. Следующая страница выбирается условием «после этой пары» по индексу,
+ * а не пропуском {@code from} строк, поэтому время запроса не зависит от глубины страницы.
+ * Курсор следующей страницы возвращается в заголовке {@link #NEXT_CURSOR_HEADER}.
+ *
+ * @param key значение ключа сортировки (пустая строка, если записи упорядочены только по идентификатору)
+ * @param id  идентификатор последней записи страницы
+ */
+public record PageCursor(String key, long id) {
+
+    /**
+     * Заголовок ответа с курсором следующей страницы; отсутствует на последней странице.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Кодирует курсор записи.
+     *
+     * @param key значение ключа сортировки (null, если записи упорядочены только по идентификатору)
+     * @param id  идентификатор записи
+     * @return непрозрачная строка курсора
+     */
+    public static String encode(Object key, long id) {
+        String raw = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает курсор, полученный клиентом в заголовке {@link #NEXT_CURSOR_HEADER}.
+     *
+     * @param token строка курсора
+     * @return курсор
+     * @throws ValidationException если строка не является курсором
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор страницы: " + token);
+        }
+    }
+
+    /**
+     * Возвращает курсор следующей страницы по последней записи среза.
+     *
+     * @param slice    срез записей
+     * @param cursorOf функция кодирования курсора записи
+     * @return курсор следующей страницы или null, если страница последняя
+     */
+    public static <E> String next(Slice<E> slice, Function<E, String> cursorOf) {
+        return slice.hasNext() && slice.hasContent()
+                ? cursorOf.apply(slice.getContent().getLast())
+                : null;
+    }
+
+    /**
+     * Возвращает ключ сортировки как дату и время.
+     *
+     * @throws ValidationException если ключ не является датой
+     */
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор страницы");
+        }
+    }
+
+    /**
+     * Возвращает ключ сортировки как число.
+     *
+     * @throws ValidationException если ключ не является числом
+     */
+    public long longKey() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Некорректный курсор страницы");
+        }
+    }
+
+    /**
+     * Возвращает условие «запись после курсора» для порядка {@code field keyDirection, id idDirection}.
+     * <p>
+     * Дополнительное нестрогое условие по ключу позволяет базе данных начать чтение индекса с позиции курсора.
+     *
+     * @param field        поле ключа сортировки
+     * @param key          значение ключа сортировки из курсора
+     * @param keyDirection направление сортировки по ключу
+     * @param idDirection  направление сортировки по идентификатору
+     * @return спецификация
+     */
+    public <T, K extends Comparable<? super K>> Specification<T> after(String field, K key,
+                                                                      Sort.Direction keyDirection,
+                                                                      Sort.Direction idDirection) {
+        return (root, query, cb) -> {
+            Path<K> keyPath = root.get(field);
+            Path<Long> idPath = root.get("id");
+            Predicate reachedKey = keyDirection.isAscending()
+                    ? cb.greaterThanOrEqualTo(keyPath, key)
+                    : cb.lessThanOrEqualTo(keyPath, key);
+            Predicate beyondKey = keyDirection.isAscending()
+                    ? cb.greaterThan(keyPath, key)
+                    : cb.lessThan(keyPath, key);
+            Predicate beyondId = idDirection.isAscending()
+                    ? cb.greaterThan(idPath, id)
+                    : cb.lessThan(idPath, id);
+            return cb.and(reachedKey, cb.or(beyondKey, cb.and(cb.equal(keyPath, key), beyondId)));
+        };
+    }
+}
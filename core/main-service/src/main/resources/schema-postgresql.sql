@@ -0,0 +1,10 @@
+-- Полнотекстовый поиск по событиям (только PostgreSQL).
+-- Конфигурация russian стеммит кириллицу русским стеммером, а латиницу — английским.
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', title), 'A') ||
+        setweight(to_tsvector('russian', annotation), 'B') ||
+        setweight(to_tsvector('russian', description), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS events_search_vector_idx ON events USING GIN (search_vector);
@@ -36,9 +36,20 @@ CREATE TABLE IF NOT EXISTS events
     participant_limit  INTEGER                     NOT NULL DEFAULT 0,
     paid               BOOLEAN                     NOT NULL DEFAULT FALSE,
     request_moderation BOOLEAN                     NOT NULL DEFAULT TRUE,
-    state              VARCHAR(20)                 NOT NULL
+    state              VARCHAR(20)                 NOT NULL,
+    confirmed_requests INTEGER                     NOT NULL DEFAULT 0,
+    views              BIGINT                      NOT NULL DEFAULT 0,
+    geo_cell           BIGINT
 );
 
+-- Колонки для баз, созданных до их появления; confirmed_requests дозаполняется при старте сервиса
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS geo_cell BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_events_views ON events (views DESC, id);
+CREATE INDEX IF NOT EXISTS idx_events_geo_cell ON events (geo_cell);
+
 CREATE TABLE IF NOT EXISTS compilations
 (
     id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
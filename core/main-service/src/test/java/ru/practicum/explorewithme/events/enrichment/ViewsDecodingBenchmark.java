@@ -0,0 +1,158 @@
+package ru.practicum.explorewithme.events.enrichment;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.client.IdHitsMap;
+import ru.practicum.dto.HitsStatColumnsDTO;
+import ru.practicum.dto.HitsStatDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Замер разбора ответа статистики просмотров в двух форматах: списка {@link HitsStatDTO}
+ * с отображением URI → просмотры и колоночного {@link HitsStatColumnsDTO} с {@link IdHitsMap}.
+ * <p>
+ * Не входит в обычную сборку; запускается явно и пишет в лог размер ответа, количество разборов
+ * в секунду и объём памяти, выделяемой на один разбор:
+ * <pre>
+ * mvn test -pl core/main-service -am -Dtest=ViewsDecodingBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbenchmark=true [-Dbenchmark.rows=10000] [-Dbenchmark.iterations=200] [-Dbenchmark.rounds=5]
+ * </pre>
+ * Каждый разбор включает десериализацию JSON и поиск просмотров всех событий ответа.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ViewsDecodingBenchmark {
+
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private static final TypeReference<List<HitsStatDTO>> LIST_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Количество строк статистики в разбираемом ответе.
+     */
+    private final int rows = Integer.getInteger("benchmark.rows", 10_000);
+
+    /**
+     * Количество разборов ответа в одном замере.
+     */
+    private final int iterations = Integer.getInteger("benchmark.iterations", 200);
+
+    /**
+     * Количество замеров каждого формата (первый считается прогревом и не учитывается).
+     */
+    private final int rounds = Integer.getInteger("benchmark.rounds", 5);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void decodeStats() throws IOException {
+        List<HitsStatDTO> stats = generate(rows);
+        byte[] listJson = objectMapper.writeValueAsBytes(stats);
+        byte[] columnsJson = objectMapper.writeValueAsBytes(toColumns(stats));
+        log.info("Замер разбора статистики: {} строк, разборов в замере {}, замеров {}; размер ответа: список {} байт, колонки {} байт",
+                rows, iterations, rounds, listJson.length, columnsJson.length);
+
+        measure("list", () -> decodeList(listJson, stats.size()));
+        measure("columns", () -> decodeColumns(columnsJson, stats.size()));
+    }
+
+    private long decodeList(byte[] json, int events) {
+        try {
+            List<HitsStatDTO> stats = objectMapper.readValue(json, LIST_TYPE);
+            Map<String, Long> uriToHits = stats.stream()
+                    .collect(Collectors.toMap(HitsStatDTO::getUri, HitsStatDTO::getHits, Long::sum));
+            long total = 0;
+            for (long id = 0; id < events; id++) {
+                total += uriToHits.getOrDefault(EVENT_URI_PREFIX + id, 0L);
+            }
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long decodeColumns(byte[] json, int events) {
+        try {
+            IdHitsMap idToHits = IdHitsMap.fromColumns(objectMapper.readValue(json, HitsStatColumnsDTO.class),
+                    EVENT_URI_PREFIX);
+            long total = 0;
+            for (long id = 0; id < events; id++) {
+                total += idToHits.getOrDefault(id, 0L);
+            }
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void measure(String format, Decoder decoder) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        double totalRate = 0;
+        long totalAllocated = 0;
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                checksum += decoder.decode();
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
+            double rate = iterations * 1e9 / elapsed;
+            // первый замер — прогрев
+            if (round > 0) {
+                totalRate += rate;
+                totalAllocated += allocated;
+            }
+            log.info("Замер {}: проход {} — {} разборов/с, {} байт на разбор", format, round, Math.round(rate), allocated);
+        }
+        if (rounds > 1) {
+            log.info("Замер {}: в среднем {} разборов/с, {} байт на разбор (контрольная сумма {})", format,
+                    Math.round(totalRate / (rounds - 1)), totalAllocated / (rounds - 1), checksum);
+        }
+    }
+
+    private static List<HitsStatDTO> generate(int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<HitsStatDTO> stats = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            stats.add(new HitsStatDTO("main-service", EVENT_URI_PREFIX + i, (long) random.nextInt(100_000)));
+        }
+        return stats;
+    }
+
+    private static HitsStatColumnsDTO toColumns(List<HitsStatDTO> rows) {
+        int[] appIndexes = new int[rows.size()];
+        String[] uris = new String[rows.size()];
+        long[] hits = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            uris[i] = rows.get(i).getUri();
+            hits[i] = rows.get(i).getHits();
+        }
+        return HitsStatColumnsDTO.builder()
+                .apps(List.of("main-service"))
+                .appIndexes(appIndexes)
+                .uris(uris)
+                .hits(hits)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        long decode();
+    }
+}
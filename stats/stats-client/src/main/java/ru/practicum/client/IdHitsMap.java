@@ -0,0 +1,120 @@
+package ru.practicum.client;
+
+import ru.practicum.dto.HitsStatColumnsDTO;
+
+import java.util.Arrays;
+
+/**
+ * Отображение «числовой идентификатор → количество просмотров» на примитивных массивах.
+ * <p>
+ * Строится напрямую из колоночного ответа {@link HitsStatColumnsDTO}: идентификатор извлекается
+ * из хвоста URI после заданного префикса (например, {@code /events/42} → {@code 42}) без создания
+ * промежуточных строк и объектов-обёрток. Используется открытая адресация с линейным пробированием.
+ * Просмотры одного URI от разных приложений суммируются.
+ */
+public final class IdHitsMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] keys;
+    private final long[] values;
+    private final int mask;
+    private int size;
+
+    private IdHitsMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Строит отображение из колоночного ответа сервиса статистики.
+     * <p>
+     * Строки, URI которых не начинается с префикса или не заканчивается числом, пропускаются.
+     *
+     * @param columns   колоночный ответ сервиса статистики (может быть null)
+     * @param uriPrefix префикс URI перед идентификатором, например {@code /events/}
+     * @return отображение идентификаторов на количество просмотров
+     */
+    public static IdHitsMap fromColumns(HitsStatColumnsDTO columns, String uriPrefix) {
+        int rows = columns == null ? 0 : columns.size();
+        IdHitsMap map = new IdHitsMap(rows);
+        for (int i = 0; i < rows; i++) {
+            long id = parseId(columns.getUris()[i], uriPrefix);
+            if (id >= 0) {
+                map.add(id, columns.getHits()[i]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Возвращает количество просмотров для идентификатора.
+     *
+     * @param id           идентификатор
+     * @param defaultValue значение, если идентификатор отсутствует
+     * @return количество просмотров или значение по умолчанию
+     */
+    public long getOrDefault(long id, long defaultValue) {
+        int slot = slot(id);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Возвращает количество различных идентификаторов в отображении.
+     *
+     * @return количество идентификаторов
+     */
+    public int size() {
+        return size;
+    }
+
+    private void add(long id, long hits) {
+        int slot = slot(id);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                values[slot] += hits;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = hits;
+        size++;
+    }
+
+    private int slot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Извлекает неотрицательный идентификатор из хвоста URI после префикса.
+     *
+     * @param uri    URI, например {@code /events/42}
+     * @param prefix префикс URI перед идентификатором
+     * @return идентификатор или -1, если URI не соответствует шаблону
+     */
+    public static long parseId(String uri, String prefix) {
+        if (uri == null || !uri.startsWith(prefix) || uri.length() == prefix.length()) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = prefix.length(); i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9' || id > (Long.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
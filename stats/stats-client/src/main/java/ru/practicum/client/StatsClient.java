@@ -10,7 +10,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.dto.HitsStatColumnsDTO;
 import ru.practicum.dto.HitsStatDTO;
+import ru.practicum.dto.UriChangesDTO;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,8 +27,43 @@ public interface StatsClient {
 
     String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
+    /**
+     * Заголовок со временем в миллисекундах, которое клиент готов ждать ответа на запрос статистики;
+     * сервис прерывает запрос не позже этого срока.
+     */
+    String DEADLINE_HEADER = "X-Stats-Deadline-Millis";
+
     /**
      * Получает статистику за определённый период времени.
+     * <p>
+     * По умолчанию статистика точная. В приближённом режиме ({@code approx=true}) агрегирование
+     * выполняется по случайной выборке хитов, значения масштабируются, а в поле
+     * {@link HitsStatDTO#getHitsError()} возвращается полуширина 95%-го доверительного интервала.
+     * Долю выборки можно задать явно ({@code sampleRate}) или через целевое время ответа
+     * ({@code targetMillis}).
+     *
+     * @param start        начальная дата диапазона (включительно)
+     * @param end          конечная дата диапазона (включительно)
+     * @param uris         список URI для фильтрации (опционально)
+     * @param unique       флаг, указывающий, нужно ли учитывать уникальных пользователей
+     * @param approx       флаг приближённого режима
+     * @param sampleRate   доля выборки в диапазоне (0, 1] (опционально, только для approx)
+     * @param targetMillis целевое время выполнения запроса в миллисекундах (опционально, только для approx)
+     * @return коллекция DTO статистики (HitsStatDTO)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @GetMapping("/stats")
+    ResponseEntity<List<HitsStatDTO>> getStats(
+            @RequestParam @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime start,
+            @RequestParam @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime end,
+            @RequestParam(required = false) List<String> uris,
+            @RequestParam(defaultValue = "false") boolean unique,
+            @RequestParam(defaultValue = "false") boolean approx,
+            @RequestParam(required = false) Double sampleRate,
+            @RequestParam(required = false) Long targetMillis) throws FeignException;
+
+    /**
+     * Получает точную статистику за определённый период времени.
      *
      * @param start  начальная дата диапазона (включительно)
      * @param end    конечная дата диапазона (включительно)
@@ -35,13 +72,53 @@ public interface StatsClient {
      * @return коллекция DTO статистики (HitsStatDTO)
      * @throws FeignException при ошибке запроса к микросервису
      */
-    @GetMapping("/stats")
-    ResponseEntity<List<HitsStatDTO>> getStats(
+    default ResponseEntity<List<HitsStatDTO>> getStats(LocalDateTime start,
+                                                       LocalDateTime end,
+                                                       List<String> uris,
+                                                       boolean unique) throws FeignException {
+        return getStats(start, end, uris, unique, false, null, null);
+    }
+
+    /**
+     * Получает статистику за определённый период времени в колоночном формате.
+     * <p>
+     * Возвращает те же данные, что и {@link #getStats}, но без объекта на каждую строку:
+     * словарь приложений, массив URI и примитивный массив количества просмотров.
+     * Для разбора ответа по идентификаторам используйте {@link IdHitsMap}.
+     *
+     * @param start  начальная дата диапазона (включительно)
+     * @param end    конечная дата диапазона (включительно)
+     * @param uris   список URI для фильтрации (опционально)
+     * @param unique флаг, указывающий, нужно ли учитывать уникальных пользователей
+     * @return колоночное DTO статистики (HitsStatColumnsDTO)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @GetMapping("/stats/columns")
+    ResponseEntity<HitsStatColumnsDTO> getStatsColumns(
             @RequestParam @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
             @RequestParam(defaultValue = "false") boolean unique) throws FeignException;
 
+    /**
+     * Получает URI, по которым сохранены хиты после заданной позиции журнала хитов.
+     * <p>
+     * За один запрос просматривается не более {@code limit} хитов; если просмотрены не все,
+     * в ответе установлен признак {@code more}. Отрицательная позиция возвращает текущую позицию
+     * журнала без URI — с неё начинают отслеживание изменений.
+     *
+     * @param after  позиция журнала, полученная в предыдущем ответе
+     * @param prefix префикс URI для фильтрации (опционально)
+     * @param limit  максимальное количество просматриваемых хитов
+     * @return DTO изменившихся URI (UriChangesDTO)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @GetMapping("/stats/changes")
+    ResponseEntity<UriChangesDTO> getChangedUris(
+            @RequestParam long after,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10000") int limit) throws FeignException;
+
     /**
      * Отправляет новую запись о просмотре (hit).
      *
@@ -51,4 +128,17 @@ public interface StatsClient {
      */
     @PostMapping("/hit")
     ResponseEntity<Void> createHit(@Valid @RequestBody CreateHitDTO createHitDTO) throws FeignException;
+
+    /**
+     * Отправляет пакет записей о просмотрах (hits).
+     * <p>
+     * Хиты с идентификатором, уже принятым ранее, повторно не сохраняются, поэтому пакет
+     * можно безопасно отправлять повторно.
+     *
+     * @param hits данные для создания hits
+     * @return ответ без тела (201 Created)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @PostMapping("/hit/batch")
+    ResponseEntity<Void> createHits(@RequestBody List<@Valid CreateHitDTO> hits) throws FeignException;
 }
\ No newline at end of file
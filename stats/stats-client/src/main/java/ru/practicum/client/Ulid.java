@@ -0,0 +1,54 @@
+package ru.practicum.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Генератор идентификаторов хитов в формате ULID.
+ * <p>
+ * Идентификатор состоит из 26 символов алфавита Crockford Base32: 48 бит времени в миллисекундах
+ * и 80 случайных бит. Лексикографический порядок идентификаторов совпадает с порядком времени
+ * их создания с точностью до миллисекунды.
+ */
+public final class Ulid {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+
+    private Ulid() {
+    }
+
+    /**
+     * Создаёт новый идентификатор для текущего момента времени.
+     *
+     * @return идентификатор из 26 символов
+     */
+    public static String next() {
+        return of(System.currentTimeMillis());
+    }
+
+    /**
+     * Создаёт новый идентификатор для указанного момента времени.
+     *
+     * @param epochMillis время в миллисекундах от начала эпохи
+     * @return идентификатор из 26 символов
+     */
+    public static String of(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long randomHigh = random.nextLong() & 0xFFFFL;
+        long randomLow = random.nextLong();
+
+        char[] chars = new char[LENGTH];
+        // 10 символов времени (50 бит, старшие 2 бита нулевые)
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (epochMillis & 0x1F)];
+            epochMillis >>>= 5;
+        }
+        // 16 символов случайной части (80 бит: 16 старших + 64 младших)
+        for (int i = LENGTH - 1; i >= 10; i--) {
+            chars[i] = ALPHABET[(int) (randomLow & 0x1F)];
+            randomLow = (randomLow >>> 5) | ((randomHigh & 0x1F) << 59);
+            randomHigh >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.client.deadline;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Автоконфигурация передачи срока запросов статистики.
+ * <p>
+ * Включается свойством {@code stats-client.deadline.timeout}.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "stats-client.deadline", name = "timeout")
+public class DeadlineAutoConfiguration {
+
+    @Bean
+    public DeadlineRequestInterceptor deadlineRequestInterceptor(DeadlineProperties properties) {
+        return new DeadlineRequestInterceptor(properties);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.client.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки срока запросов статистики, передаваемого сервису статистики.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats-client.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Сколько клиент ждёт ответа на запрос статистики. Должно быть не больше времени чтения
+     * Feign-клиента, иначе сервис продолжит запрос, который клиент уже не ждёт.
+     */
+    private Duration timeout;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.client.deadline;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import ru.practicum.client.StatsClient;
+
+/**
+ * Передаёт сервису статистики срок ожидания клиента в заголовке {@link StatsClient#DEADLINE_HEADER}
+ * для запросов статистики.
+ */
+public class DeadlineRequestInterceptor implements RequestInterceptor {
+
+    private final long timeoutMillis;
+
+    public DeadlineRequestInterceptor(DeadlineProperties properties) {
+        this.timeoutMillis = properties.getTimeout().toMillis();
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if ("stats-server".equals(template.feignTarget().name()) && template.path().startsWith("/stats")) {
+            template.header(StatsClient.DEADLINE_HEADER, String.valueOf(timeoutMillis));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.client.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Кольцо согласованного хеширования.
+ * <p>
+ * Каждый узел размещается на кольце в {@code virtualNodes} точках; ключ принадлежит узлу первой точки
+ * по часовой стрелке от хеша ключа. При добавлении или удалении узла владельца меняет только доля
+ * ключей, приходящаяся на этот узел (в среднем {@code 1/N}). Экземпляр неизменяем.
+ */
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Set<String> nodes;
+
+    /**
+     * Строит кольцо.
+     *
+     * @param nodes        идентификаторы узлов
+     * @param virtualNodes количество точек каждого узла на кольце
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Set.copyOf(new TreeSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.putIfAbsent(hash(node + '#' + i), node);
+            }
+        }
+    }
+
+    /**
+     * Возвращает узел-владелец ключа.
+     *
+     * @param key ключ
+     * @return идентификатор узла или null, если кольцо пусто
+     */
+    public String owner(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    /**
+     * @return идентификаторы узлов кольца
+     */
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-битный хеш FNV-1a с финальным перемешиванием splitmix64: близкие строки
+     * («node#1», «node#2») равномерно распределяются по кольцу.
+     */
+    static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
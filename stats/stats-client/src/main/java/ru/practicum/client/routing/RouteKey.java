@@ -0,0 +1,51 @@
+package ru.practicum.client.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Ключ маршрутизации текущего запроса к сервису статистики.
+ * <p>
+ * Ключ действует в пределах {@link #with} и передаётся в заголовке {@link #HEADER}
+ * перехватчиком {@link RouteKeyRequestInterceptor}; балансировщик {@link ShardRoutingLoadBalancer}
+ * выбирает по нему экземпляр-владелец.
+ */
+public final class RouteKey {
+
+    /**
+     * Заголовок запроса с ключом маршрутизации.
+     */
+    public static final String HEADER = "X-Stats-Route-Key";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RouteKey() {
+    }
+
+    /**
+     * Выполняет действие с ключом маршрутизации.
+     *
+     * @param key    ключ (URI)
+     * @param action действие, выполняющее запрос к сервису статистики
+     * @return результат действия
+     */
+    public static <T> T with(String key, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(key);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return ключ текущего запроса или null
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.client.routing;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Добавляет ключ маршрутизации в запросы к сервису статистики.
+ */
+public class RouteKeyRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String key = RouteKey.current();
+        if (key != null && ShardRouter.SERVICE_ID.equals(template.feignTarget().name())) {
+            template.header(RouteKey.HEADER, key);
+        }
+    }
+}
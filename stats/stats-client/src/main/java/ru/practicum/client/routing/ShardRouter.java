@@ -0,0 +1,107 @@
+package ru.practicum.client.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Назначение URI экземплярам сервиса статистики по кольцу согласованного хеширования.
+ * <p>
+ * Кольцо строится по списку экземпляров из реестра сервисов и перестраивается при каждом изменении
+ * списка: при подключении или отключении экземпляра владельца меняет только доля URI, приходящаяся
+ * на этот экземпляр. Состояние в памяти сервиса статистики (окна подавления повторов, кэш индекса
+ * уникальных посетителей, идентификаторы принятых хитов) для перешедших URI на новом владельце
+ * набирается заново, а на прежнем — вытесняется по истечении окон; точность при этом обеспечивают
+ * ограничения базы данных, поэтому отдельной передачи состояния не требуется.
+ */
+@Slf4j
+public class ShardRouter {
+
+    /**
+     * Имя сервиса статистики в реестре.
+     */
+    public static final String SERVICE_ID = "stats-server";
+
+    private final DiscoveryClient discoveryClient;
+    private final int virtualNodes;
+    private final Counter rebalances;
+
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+
+    public ShardRouter(DiscoveryClient discoveryClient, ShardRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.discoveryClient = discoveryClient;
+        this.virtualNodes = properties.getVirtualNodes();
+        this.rebalances = Counter.builder("stats.client.routing.rebalances")
+                .description("Количество перестроений кольца при изменении списка экземпляров")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.routing.instances", this, router -> router.ring.nodes().size())
+                .description("Количество экземпляров сервиса статистики на кольце")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Группирует элементы по экземпляру-владельцу ключа.
+     *
+     * @param items элементы
+     * @param key   ключ маршрутизации элемента (URI)
+     * @return группы элементов в порядке первого появления владельца; при пустом реестре — одна группа
+     */
+    public <T> Collection<List<T>> partition(Collection<T> items, Function<T, String> key) {
+        ConsistentHashRing current = ring(discoveryClient.getInstances(SERVICE_ID));
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            String owner = current.owner(key.apply(item));
+            groups.computeIfAbsent(owner == null ? "" : owner, o -> new ArrayList<>()).add(item);
+        }
+        return groups.values();
+    }
+
+    /**
+     * Выбирает экземпляр-владелец ключа.
+     *
+     * @param key       ключ маршрутизации (URI)
+     * @param instances доступные экземпляры
+     * @return экземпляр-владелец или null, если экземпляров нет
+     */
+    public ServiceInstance choose(String key, List<ServiceInstance> instances) {
+        String owner = ring(instances).owner(key);
+        for (ServiceInstance instance : instances) {
+            if (id(instance).equals(owner)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    private ConsistentHashRing ring(List<ServiceInstance> instances) {
+        Set<String> ids = instances.stream().map(ShardRouter::id).collect(Collectors.toSet());
+        ConsistentHashRing current = ring;
+        if (current.nodes().equals(ids)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!ring.nodes().equals(ids)) {
+                log.info("Кольцо экземпляров сервиса статистики перестроено: {} -> {}", ring.nodes(), ids);
+                ring = new ConsistentHashRing(ids, virtualNodes);
+                rebalances.increment();
+            }
+            return ring;
+        }
+    }
+
+    private static String id(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+}
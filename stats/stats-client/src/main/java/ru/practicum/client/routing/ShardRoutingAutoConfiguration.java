@@ -0,0 +1,37 @@
+package ru.practicum.client.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Автоконфигурация маршрутизации запросов к сервису статистики по владельцу URI.
+ * <p>
+ * Включается свойством {@code stats-client.routing.enabled=true}.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(ShardRoutingProperties.class)
+@ConditionalOnProperty(prefix = "stats-client.routing", name = "enabled", havingValue = "true")
+@LoadBalancerClient(name = ShardRouter.SERVICE_ID, configuration = ShardRoutingLoadBalancerConfiguration.class)
+public class ShardRoutingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardRouter shardRouter(DiscoveryClient discoveryClient,
+                                   ShardRoutingProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ShardRouter(discoveryClient, properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public RouteKeyRequestInterceptor routeKeyRequestInterceptor() {
+        return new RouteKeyRequestInterceptor();
+    }
+}
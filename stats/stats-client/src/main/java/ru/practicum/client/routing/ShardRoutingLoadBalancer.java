@@ -0,0 +1,55 @@
+package ru.practicum.client.routing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Балансировщик запросов к сервису статистики: запрос с ключом маршрутизации ({@link RouteKey#HEADER})
+ * направляется экземпляру-владельцу ключа, остальные — по кругу.
+ */
+public class ShardRoutingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final ShardRouter router;
+    private final ReactorServiceInstanceLoadBalancer fallback;
+
+    public ShardRoutingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                    ShardRouter router,
+                                    ReactorServiceInstanceLoadBalancer fallback) {
+        this.suppliers = suppliers;
+        this.router = router;
+        this.fallback = fallback;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        String key = routeKey(request);
+        if (key == null) {
+            return fallback.choose(request);
+        }
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            ServiceInstance owner = router.choose(key, instances);
+            return owner == null ? new EmptyResponse() : new DefaultResponse(owner);
+        });
+    }
+
+    private static String routeKey(Request<?> request) {
+        if (request.getContext() instanceof RequestDataContext context
+            && context.getClientRequest() != null
+            && context.getClientRequest().getHeaders() != null) {
+            return context.getClientRequest().getHeaders().getFirst(RouteKey.HEADER);
+        }
+        return null;
+    }
+}
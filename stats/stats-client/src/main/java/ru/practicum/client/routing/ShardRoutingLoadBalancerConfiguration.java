@@ -0,0 +1,27 @@
+package ru.practicum.client.routing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Конфигурация балансировщика клиента сервиса статистики. Не помечена {@code @Configuration}:
+ * подключается только в контекст балансировщика через {@code @LoadBalancerClient}.
+ */
+public class ShardRoutingLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> shardRoutingLoadBalancer(Environment environment,
+                                                                        LoadBalancerClientFactory factory,
+                                                                        ShardRouter router) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> suppliers =
+                factory.getLazyProvider(name, ServiceInstanceListSupplier.class);
+        return new ShardRoutingLoadBalancer(suppliers, router, new RoundRobinLoadBalancer(suppliers, name));
+    }
+}
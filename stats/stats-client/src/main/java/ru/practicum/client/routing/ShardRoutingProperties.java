@@ -0,0 +1,24 @@
+package ru.practicum.client.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки маршрутизации запросов к экземплярам сервиса статистики по владельцу URI.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats-client.routing")
+public class ShardRoutingProperties {
+
+    /**
+     * Включена ли маршрутизация по владельцу URI. По умолчанию запросы распределяются по кругу.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Количество точек каждого экземпляра на кольце согласованного хеширования.
+     */
+    private int virtualNodes = 128;
+}
@@ -0,0 +1,110 @@
+package ru.practicum.client.sender;
+
+import ru.practicum.dto.CreateHitDTO;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Двоичное представление хита для записи в спул.
+ * <p>
+ * Формат записи: байт версии, строки app, uri, ip и hitId (длина в байтах и UTF-8, длина -1
+ * означает null), затем время просмотра — секунды от начала эпохи (UTC) и наносекунды.
+ */
+final class HitRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private HitRecordCodec() {
+    }
+
+    /**
+     * Кодирует хит в массив байт.
+     *
+     * @param dto данные хита
+     * @return закодированная запись
+     */
+    static byte[] encode(CreateHitDTO dto) {
+        byte[] app = bytes(dto.getApp());
+        byte[] uri = bytes(dto.getUri());
+        byte[] ip = bytes(dto.getIp());
+        byte[] hitId = bytes(dto.getHitId());
+        int size = 1 + length(app) + length(uri) + length(ip) + length(hitId) + Long.BYTES + Integer.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        put(buffer, app);
+        put(buffer, uri);
+        put(buffer, ip);
+        put(buffer, hitId);
+        LocalDateTime timestamp = dto.getTimestamp();
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(timestamp.getNano());
+        return buffer.array();
+    }
+
+    /**
+     * Декодирует хит из массива байт.
+     *
+     * @param record закодированная запись
+     * @return данные хита
+     * @throws IllegalArgumentException если запись повреждена или имеет неизвестную версию
+     */
+    static CreateHitDTO decode(byte[] record) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Неизвестная версия записи хита: " + version);
+            }
+            String app = string(buffer);
+            String uri = string(buffer);
+            String ip = string(buffer);
+            String hitId = string(buffer);
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return CreateHitDTO.builder()
+                    .app(app)
+                    .uri(uri)
+                    .ip(ip)
+                    .hitId(hitId)
+                    .timestamp(timestamp)
+                    .build();
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Повреждённая запись хита", e);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Некорректная длина строки в записи хита: " + length);
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,405 @@
+package ru.practicum.client.sender;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import ru.practicum.client.StatsClient;
+import ru.practicum.client.routing.RouteKey;
+import ru.practicum.client.routing.ShardRouter;
+import ru.practicum.dto.CreateHitDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Асинхронная отправка хитов в сервис статистики.
+ * <p>
+ * {@link #send} только ставит хит в очередь в памяти и никогда не блокирует вызывающий поток
+ * на сетевом запросе. Фоновый поток отправляет хиты пакетами; хиты, которые не удалось доставить,
+ * и хиты сверх ёмкости очереди записываются в спул на локальном диске ({@link HitSpool}).
+ * Когда сервис статистики снова отвечает, спул доставляется пакетами и освобождается.
+ * <p>
+ * Доставка выполняется «хотя бы один раз»: пакет может быть отправлен повторно, поэтому
+ * хитам назначается идентификатор, по которому сервис статистики отбрасывает повторы.
+ * Пакет, отклонённый сервисом как некорректный (400, 413, 422), делится пополам, пока отклонёнными
+ * не останутся отдельные хиты: отбрасываются только они, остальные хиты пакета доставляются.
+ * Прочие ответы 4xx (например, 404 от ещё не обновлённого экземпляра, 408, 429) считаются
+ * временной недоступностью сервиса, и пакет повторяется.
+ * <p>
+ * В режиме {@link HitSenderProperties.Mode#KAFKA} пакеты публикуются в топик Kafka
+ * ({@link KafkaHitPublisher}) вместо запроса к сервису статистики; при недоступности брокера
+ * хиты так же записываются в спул и публикуются позже.
+ * <p>
+ * Спул делится на {@code concurrency} разделов, каждый из которых доставляется своим потоком;
+ * объём недоставленных хитов публикуется в метриках {@code stats.client.spool.records}
+ * и {@code stats.client.spool.partition.records}.
+ * <p>
+ * Если включена маршрутизация по владельцу URI ({@link ShardRouter}), пакет делится на части
+ * по экземплярам-владельцам, и каждая часть отправляется своему владельцу. В режиме Kafka
+ * маршрутизация не применяется: разделы топика распределяет группа потребителей.
+ */
+@Slf4j
+public class HitSender implements SmartLifecycle {
+
+    private final StatsClient statsClient;
+    private final ShardRouter router;
+    private final KafkaHitPublisher publisher;
+    private final HitSenderProperties properties;
+    private final BlockingQueue<CreateHitDTO> queue;
+    private final MeterRegistry meterRegistry;
+    private final Counter sent;
+    private final Counter spooled;
+    private final Counter replayed;
+
+    private final AtomicInteger nextPartition = new AtomicInteger();
+
+    private volatile List<Partition> partitions = List.of();
+    private volatile ScheduledExecutorService executor;
+    private volatile long retryAt;
+
+    public HitSender(StatsClient statsClient, HitSenderProperties properties, MeterRegistry meterRegistry) {
+        this(statsClient, properties, meterRegistry, null, null);
+    }
+
+    public HitSender(StatsClient statsClient,
+                     HitSenderProperties properties,
+                     MeterRegistry meterRegistry,
+                     ShardRouter router,
+                     KafkaHitPublisher publisher) {
+        this.statsClient = statsClient;
+        this.router = router;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.meterRegistry = meterRegistry;
+        this.sent = Counter.builder("stats.client.hits.sent")
+                .description("Количество хитов, доставленных напрямую из очереди")
+                .register(meterRegistry);
+        this.spooled = Counter.builder("stats.client.hits.spooled")
+                .description("Количество хитов, записанных в спул")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("stats.client.hits.replayed")
+                .description("Количество хитов, доставленных из спула")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.hits.queue", queue, BlockingQueue::size)
+                .description("Количество хитов в очереди в памяти")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.spool.records", this, sender -> sender.sum(HitSpool::records))
+                .description("Количество хитов в спуле")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.spool.bytes", this, sender -> sender.sum(HitSpool::usedBytes))
+                .description("Занятый объём спула в байтах")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.spool.evicted", this, sender -> sender.sum(HitSpool::evicted))
+                .description("Количество хитов, вытесненных из переполненного спула")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ставит хит в очередь на отправку.
+     * <p>
+     * Не выполняет сетевых запросов и не выбрасывает исключений: при переполнении очереди хит
+     * записывается в спул, а если спул недоступен — отбрасывается с учётом в метриках.
+     *
+     * @param dto данные хита
+     */
+    public void send(CreateHitDTO dto) {
+        if (!queue.offer(dto)) {
+            spill(List.of(dto));
+        }
+    }
+
+    @Override
+    public void start() {
+        List<Partition> opened = new ArrayList<>();
+        HitSenderProperties.Spool spoolProperties = properties.getSpool();
+        if (spoolProperties.isEnabled()) {
+            for (int i = 0; i < Math.max(1, properties.getConcurrency()); i++) {
+                Path path = partitionPath(spoolProperties.getPath(), i);
+                try {
+                    opened.add(new Partition(i, HitSpool.open(path, (int) spoolProperties.getCapacity().toBytes())));
+                } catch (IOException | RuntimeException e) {
+                    log.error("Не удалось открыть раздел спула хитов {}", path, e);
+                }
+            }
+            if (opened.isEmpty()) {
+                log.error("Спул хитов недоступен, хиты при недоступности сервиса статистики будут теряться");
+            }
+        }
+        partitions = List.copyOf(opened);
+        for (Partition partition : partitions) {
+            int index = partition.index;
+            Gauge.builder("stats.client.spool.partition.records", this, sender -> sender.records(index))
+                    .description("Количество недоставленных хитов в разделе спула")
+                    .tag("partition", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(partitions.size() + 1, runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-sender-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        for (Partition partition : partitions) {
+            executor.scheduleWithFixedDelay(() -> consume(partition), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Останавливает фоновую отправку. Хиты, оставшиеся в очереди, записываются в спул
+     * и будут доставлены после перезапуска; без спула выполняется последняя попытка отправки.
+     */
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = executor;
+        executor = null;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        List<CreateHitDTO> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty() && (!partitions.isEmpty() || !deliver(remaining, sent))) {
+            spill(remaining);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.spool.close();
+            } catch (IOException e) {
+                log.warn("Ошибка при закрытии раздела {} спула хитов", partition.index, e);
+            }
+        }
+        partitions = List.of();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Один период отправки очереди в памяти.
+     */
+    private void tick() {
+        try {
+            flushQueue();
+        } catch (RuntimeException e) {
+            log.error("Ошибка фоновой отправки хитов", e);
+        }
+    }
+
+    /**
+     * Один период доставки раздела спула.
+     */
+    private void consume(Partition partition) {
+        try {
+            replay(partition.spool);
+            force(partition);
+        } catch (RuntimeException e) {
+            log.error("Ошибка доставки раздела {} спула хитов", partition.index, e);
+        }
+    }
+
+    private void flushQueue() {
+        List<CreateHitDTO> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            if (!isAvailable() || !deliver(batch, sent)) {
+                spill(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void replay(HitSpool current) {
+        for (int i = 0; i < properties.getMaxReplayBatches() && isAvailable(); i++) {
+            HitSpool.Batch batch = current.peek(properties.getBatchSize());
+            if (batch.payloads().isEmpty()) {
+                return;
+            }
+            List<CreateHitDTO> hits = new ArrayList<>(batch.payloads().size());
+            for (byte[] payload : batch.payloads()) {
+                try {
+                    hits.add(HitRecordCodec.decode(payload));
+                } catch (IllegalArgumentException e) {
+                    dropped("corrupted", 1);
+                }
+            }
+            if (!hits.isEmpty() && !deliver(hits, replayed)) {
+                return;
+            }
+            current.commit(batch);
+        }
+    }
+
+    private void force(Partition partition) {
+        long now = System.currentTimeMillis();
+        if (now - partition.lastForce >= properties.getSpool().getForceInterval().toMillis()) {
+            partition.spool.force();
+            partition.lastForce = now;
+        }
+    }
+
+    /**
+     * Публикует пакет хитов в Kafka, если публикация настроена, иначе отправляет его в сервис статистики.
+     * Ошибка публикации означает недоступность брокера, и пакет повторяется целиком.
+     */
+    private boolean deliver(List<CreateHitDTO> hits, Counter delivered) {
+        if (publisher == null) {
+            return post(hits, delivered);
+        }
+        try {
+            publisher.publish(hits);
+            delivered.increment(hits.size());
+            retryAt = 0;
+            return true;
+        } catch (RuntimeException e) {
+            unavailable(e);
+            return false;
+        }
+    }
+
+    /**
+     * Отправляет пакет хитов в сервис статистики. При маршрутизации по владельцу ошибка отправки
+     * любой части приводит к повтору всего пакета; уже доставленные части отбрасываются сервисом
+     * статистики как повторы по идентификатору хита.
+     * <p>
+     * Отклонённый как некорректный пакет отправляется двумя половинами; отбрасывается только
+     * отдельный хит, отклонённый сервисом.
+     *
+     * @return true, если все хиты пакета доставлены или отклонены как некорректные и повторять пакет не нужно
+     */
+    private boolean post(List<CreateHitDTO> hits, Counter delivered) {
+        try {
+            if (router == null) {
+                statsClient.createHits(hits);
+            } else {
+                for (List<CreateHitDTO> part : router.partition(hits, CreateHitDTO::getUri)) {
+                    RouteKey.with(part.getFirst().getUri(), () -> statsClient.createHits(part));
+                }
+            }
+            delivered.increment(hits.size());
+            retryAt = 0;
+            return true;
+        } catch (FeignException e) {
+            if (!isRejected(e.status())) {
+                unavailable(e);
+                return false;
+            }
+            if (hits.size() == 1) {
+                log.warn("Сервис статистики отклонил хит {}: {}", hits.getFirst(), e.getMessage());
+                dropped("rejected", 1);
+                return true;
+            }
+            int middle = hits.size() / 2;
+            return post(hits.subList(0, middle), delivered)
+                   && post(hits.subList(middle, hits.size()), delivered);
+        } catch (RuntimeException e) {
+            unavailable(e);
+            return false;
+        }
+    }
+
+    /**
+     * Проверяет, отклонён ли запрос из-за содержимого пакета, а не из-за состояния сервиса.
+     */
+    private static boolean isRejected(int status) {
+        return status == 400 || status == 413 || status == 422;
+    }
+
+    private void unavailable(RuntimeException e) {
+        if (retryAt == 0) {
+            log.warn("Доставка хитов недоступна, хиты записываются в спул: {}", e.getMessage());
+        }
+        retryAt = System.currentTimeMillis() + properties.getRetryDelay().toMillis();
+    }
+
+    private boolean isAvailable() {
+        return System.currentTimeMillis() >= retryAt;
+    }
+
+    /**
+     * Записывает хиты в очередной раздел спула; без спула хиты отбрасываются.
+     */
+    private void spill(List<CreateHitDTO> hits) {
+        List<Partition> current = partitions;
+        if (current.isEmpty()) {
+            dropped("no-spool", hits.size());
+            return;
+        }
+        for (CreateHitDTO hit : hits) {
+            HitSpool spool = current.get(Math.floorMod(nextPartition.getAndIncrement(), current.size())).spool;
+            if (spool.append(HitRecordCodec.encode(hit))) {
+                spooled.increment();
+            } else {
+                dropped("too-large", 1);
+            }
+        }
+    }
+
+    private void dropped(String reason, int count) {
+        meterRegistry.counter("stats.client.hits.dropped", "reason", reason).increment(count);
+    }
+
+    private long sum(ToLongFunction<HitSpool> metric) {
+        long total = 0;
+        for (Partition partition : partitions) {
+            total += metric.applyAsLong(partition.spool);
+        }
+        return total;
+    }
+
+    private long records(int index) {
+        for (Partition partition : partitions) {
+            if (partition.index == index) {
+                return partition.spool.records();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Путь к файлу раздела: раздел 0 хранится в файле спула, остальные — в файлах с номером раздела.
+     */
+    private static Path partitionPath(Path path, int index) {
+        return index == 0 ? path : path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    /**
+     * Раздел спула с собственным потоком доставки.
+     */
+    private static final class Partition {
+
+        private final int index;
+        private final HitSpool spool;
+        private long lastForce;
+
+        private Partition(int index, HitSpool spool) {
+            this.index = index;
+            this.spool = spool;
+        }
+    }
+}
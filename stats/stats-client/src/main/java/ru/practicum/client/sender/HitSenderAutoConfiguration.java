@@ -0,0 +1,57 @@
+package ru.practicum.client.sender;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ru.practicum.client.StatsClient;
+import ru.practicum.client.routing.ShardRouter;
+import ru.practicum.dto.CreateHitDTO;
+
+/**
+ * Автоконфигурация асинхронной отправки хитов.
+ * <p>
+ * Включается свойством {@code stats-client.sender.enabled=true} в сервисах, которые отправляют
+ * хиты через {@link StatsClient}. При {@code stats-client.sender.mode=kafka} хиты публикуются в топик
+ * Kafka; подключение к брокеру задаётся стандартными свойствами {@code spring.kafka.*}.
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+@EnableConfigurationProperties(HitSenderProperties.class)
+@ConditionalOnProperty(prefix = "stats-client.sender", name = "enabled", havingValue = "true")
+public class HitSenderAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HitSender hitSender(StatsClient statsClient,
+                              HitSenderProperties properties,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              ObjectProvider<ShardRouter> router,
+                              ObjectProvider<KafkaHitPublisher> publisher) {
+        return new HitSender(statsClient, properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                router.getIfAvailable(), publisher.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "stats-client.sender", name = "mode", havingValue = "kafka")
+    public KafkaHitPublisher kafkaHitPublisher(KafkaProperties kafkaProperties,
+                                               HitSenderProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultKafkaProducerFactory<String, CreateHitDTO> producerFactory = new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(null),
+                new StringSerializer(),
+                new JsonSerializer<CreateHitDTO>().noTypeInfo());
+        meterRegistry.ifAvailable(registry -> producerFactory.addListener(new MicrometerProducerListener<>(registry)));
+        return new KafkaHitPublisher(producerFactory, properties.getKafka());
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.client.sender;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Настройки асинхронной отправки хитов в сервис статистики.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats-client.sender")
+public class HitSenderProperties {
+
+    /**
+     * Включена ли асинхронная отправка хитов. По умолчанию выключена.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Способ доставки хитов: запросом к сервису статистики или публикацией в топик Kafka.
+     */
+    private Mode mode = Mode.QUEUE;
+
+    /**
+     * Количество разделов спула и потоков, доставляющих их параллельно.
+     */
+    private int concurrency = 1;
+
+    /**
+     * Ёмкость очереди хитов в памяти; при переполнении хиты пишутся в спул.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Максимальное количество хитов в одном запросе к сервису статистики.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Период отправки накопленных хитов.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Пауза перед повторной попыткой после ошибки сервиса статистики.
+     */
+    private Duration retryDelay = Duration.ofSeconds(5);
+
+    /**
+     * Максимальное количество пакетов из спула, доставляемых за один период отправки.
+     */
+    private int maxReplayBatches = 20;
+
+    /**
+     * Настройки спула на локальном диске.
+     */
+    private Spool spool = new Spool();
+
+    /**
+     * Настройки публикации хитов в Kafka.
+     */
+    private Kafka kafka = new Kafka();
+
+    /**
+     * Способ доставки хитов.
+     */
+    public enum Mode {
+
+        /**
+         * Пакеты хитов отправляются запросом {@code POST /hit/batch} к сервису статистики.
+         */
+        QUEUE,
+
+        /**
+         * Пакеты хитов публикуются в топик Kafka, который читает сервис статистики.
+         * <p>
+         * Маршрутизация по владельцу URI ({@code stats-client.routing}) в этом режиме не применяется:
+         * хиты одного URI попадают в один раздел топика, а разделы распределяются между экземплярами
+         * сервиса статистики группой потребителей. Требует брокера и включённого потребителя
+         * {@code stats.ingest.kafka.enabled} на стороне сервиса статистики, поэтому включается явно.
+         */
+        KAFKA
+    }
+
+    @Getter
+    @Setter
+    public static class Kafka {
+
+        /**
+         * Топик хитов; ключ записи — URI, поэтому хиты одного URI попадают в один раздел.
+         */
+        private String topic = "stats.hits";
+
+        /**
+         * Максимальное ожидание подтверждения брокером пакета хитов.
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Spool {
+
+        /**
+         * Включён ли спул. Без спула хиты при недоступности сервиса статистики теряются.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Путь к файлу спула; у каждого экземпляра сервиса должен быть свой файл.
+         * При {@code concurrency > 1} раздел 0 хранится в этом файле, раздел i — в файле с суффиксом {@code .i}.
+         */
+        private Path path = Path.of("spool", "hits.spool");
+
+        /**
+         * Ёмкость одного раздела спула; при переполнении вытесняются самые старые хиты.
+         */
+        private DataSize capacity = DataSize.ofMegabytes(64);
+
+        /**
+         * Период сброса изменённых страниц спула на диск.
+         */
+        private Duration forceInterval = Duration.ofSeconds(1);
+    }
+}
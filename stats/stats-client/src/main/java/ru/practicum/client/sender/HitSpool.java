@@ -0,0 +1,337 @@
+package ru.practicum.client.sender;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Кольцевой файл-спул для хитов, которые не удалось отправить в сервис статистики.
+ * <p>
+ * Файл отображается в память и состоит из заголовка и кольцевой области данных. В заголовке хранятся
+ * логические смещения начала (head) и конца (tail) очереди; смещения только растут, а физическая
+ * позиция вычисляется по модулю ёмкости. Запись — это длина, CRC32 и полезная нагрузка; запись может
+ * переходить через конец области данных.
+ * <p>
+ * Новая запись сначала пишется в область данных и только затем публикуется сдвигом tail, а head
+ * сдвигается лишь после подтверждённой доставки, поэтому после аварийного завершения процесса спул
+ * содержит все неподтверждённые записи. При открытии записи между head и tail проверяются по CRC;
+ * на первой повреждённой записи очередь обрезается.
+ * <p>
+ * При переполнении вытесняются самые старые записи. Класс потокобезопасен: доступ защищён
+ * {@link ReentrantLock}, а не {@code synchronized}, поэтому виртуальный поток запроса, ожидающий
+ * сброса страниц на диск ({@link #force}), не закрепляется за несущим потоком.
+ */
+@Slf4j
+final class HitSpool implements Closeable {
+
+    private static final int MAGIC = 0x48535031;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int HEAD_OFFSET = 16;
+    private static final int TAIL_OFFSET = 24;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final long capacity;
+    private final byte[] scratch = new byte[RECORD_HEADER_SIZE];
+    private final ReentrantLock mutex = new ReentrantLock();
+
+    private long head;
+    private long tail;
+    private long records;
+    private long evicted;
+    private long corrupted;
+    private boolean dirty;
+
+    /**
+     * Пакет записей, прочитанных из начала очереди.
+     *
+     * @param payloads содержимое записей
+     * @param end      логическое смещение сразу за последней записью пакета
+     */
+    record Batch(List<byte[]> payloads, long end) {
+    }
+
+    private HitSpool(FileChannel channel, FileLock lock, MappedByteBuffer buffer, long capacity) {
+        this.channel = channel;
+        this.lock = lock;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Открывает спул, создавая файл при необходимости, и восстанавливает очередь после перезапуска.
+     *
+     * @param path     путь к файлу спула
+     * @param capacity ёмкость области данных в байтах
+     * @return открытый спул
+     * @throws IOException если файл недоступен или уже открыт другим процессом
+     */
+    static HitSpool open(Path path, int capacity) throws IOException {
+        if (capacity < RECORD_HEADER_SIZE * 2 || capacity > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Недопустимая ёмкость спула: " + capacity);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException("Файл спула уже используется другим процессом: " + path);
+            }
+            long existingSize = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+            HitSpool spool = new HitSpool(channel, lock, buffer, capacity);
+            spool.recover(existingSize >= HEADER_SIZE);
+            return spool;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Добавляет запись в конец очереди, при нехватке места вытесняя самые старые записи.
+     *
+     * @param payload содержимое записи
+     * @return false, если запись больше ёмкости спула и не может быть сохранена
+     */
+    boolean append(byte[] payload) {
+        mutex.lock();
+        try {
+            long size = RECORD_HEADER_SIZE + (long) payload.length;
+            if (size > capacity) {
+                return false;
+            }
+            while (capacity - (tail - head) < size) {
+                head += RECORD_HEADER_SIZE + readInt(head);
+                records--;
+                evicted++;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer.wrap(scratch).putInt(0, payload.length).putInt(4, (int) crc.getValue());
+            write(tail, scratch, RECORD_HEADER_SIZE);
+            write(tail + RECORD_HEADER_SIZE, payload, payload.length);
+            tail += size;
+            records++;
+            buffer.putLong(HEAD_OFFSET, head);
+            buffer.putLong(TAIL_OFFSET, tail);
+            dirty = true;
+            return true;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Читает до {@code maxRecords} записей из начала очереди, не удаляя их.
+     *
+     * @param maxRecords максимальное количество записей
+     * @return пакет записей (возможно, пустой)
+     */
+    Batch peek(int maxRecords) {
+        mutex.lock();
+        try {
+            List<byte[]> payloads = new ArrayList<>(Math.min(maxRecords, (int) Math.min(records, Integer.MAX_VALUE)));
+            long position = head;
+            while (position < tail && payloads.size() < maxRecords) {
+                int length = readInt(position);
+                byte[] payload = new byte[length];
+                read(position + RECORD_HEADER_SIZE, payload);
+                payloads.add(payload);
+                position += RECORD_HEADER_SIZE + length;
+            }
+            return new Batch(payloads, position);
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Удаляет из начала очереди записи, доставленные в составе пакета.
+     * <p>
+     * Если часть записей пакета уже вытеснена при переполнении, удаляются только оставшиеся.
+     *
+     * @param batch доставленный пакет
+     */
+    void commit(Batch batch) {
+        mutex.lock();
+        try {
+            while (head < batch.end()) {
+                head += RECORD_HEADER_SIZE + readInt(head);
+                records--;
+            }
+            buffer.putLong(HEAD_OFFSET, head);
+            dirty = true;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Сбрасывает изменённые страницы файла на диск.
+     */
+    void force() {
+        mutex.lock();
+        try {
+            if (dirty) {
+                buffer.force();
+                dirty = false;
+            }
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    long records() {
+        mutex.lock();
+        try {
+            return records;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    long usedBytes() {
+        mutex.lock();
+        try {
+            return tail - head;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    long evicted() {
+        mutex.lock();
+        try {
+            return evicted;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    long corrupted() {
+        mutex.lock();
+        try {
+            return corrupted;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        mutex.lock();
+        try {
+            force();
+            lock.release();
+            channel.close();
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Восстанавливает состояние очереди из заголовка и проверяет записи между head и tail.
+     */
+    private void recover(boolean existing) {
+        boolean valid = existing
+                && buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == VERSION
+                && buffer.getLong(CAPACITY_OFFSET) == capacity;
+        if (existing && !valid) {
+            log.warn("Заголовок спула хитов не распознан или изменилась ёмкость, спул очищен");
+        }
+        head = valid ? buffer.getLong(HEAD_OFFSET) : 0;
+        tail = valid ? buffer.getLong(TAIL_OFFSET) : 0;
+        if (head < 0 || tail < head || tail - head > capacity) {
+            log.warn("Некорректные смещения спула хитов (head={}, tail={}), спул очищен", head, tail);
+            head = 0;
+            tail = 0;
+        }
+
+        long position = head;
+        CRC32 crc = new CRC32();
+        while (position < tail) {
+            if (!isValidRecord(position, crc)) {
+                corrupted++;
+                log.warn("Спул хитов обрезан на повреждённой записи: потеряно {} байт", tail - position);
+                tail = position;
+                break;
+            }
+            position += RECORD_HEADER_SIZE + readInt(position);
+            records++;
+        }
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        buffer.putLong(HEAD_OFFSET, head);
+        buffer.putLong(TAIL_OFFSET, tail);
+        dirty = true;
+        force();
+        if (records > 0) {
+            log.info("Спул хитов восстановлен: записей={}, байт={}", records, tail - head);
+        }
+    }
+
+    private boolean isValidRecord(long position, CRC32 crc) {
+        if (tail - position < RECORD_HEADER_SIZE) {
+            return false;
+        }
+        read(position, scratch);
+        ByteBuffer header = ByteBuffer.wrap(scratch);
+        int length = header.getInt(0);
+        if (length < 0 || RECORD_HEADER_SIZE + (long) length > tail - position) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        read(position + RECORD_HEADER_SIZE, payload);
+        crc.reset();
+        crc.update(payload);
+        return (int) crc.getValue() == header.getInt(4);
+    }
+
+    private int readInt(long position) {
+        byte[] bytes = new byte[Integer.BYTES];
+        read(position, bytes);
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+    private void read(long position, byte[] dst) {
+        int offset = (int) (position % capacity);
+        int first = (int) Math.min(dst.length, capacity - offset);
+        buffer.get(HEADER_SIZE + offset, dst, 0, first);
+        if (first < dst.length) {
+            buffer.get(HEADER_SIZE, dst, first, dst.length - first);
+        }
+    }
+
+    private void write(long position, byte[] src, int length) {
+        int offset = (int) (position % capacity);
+        int first = (int) Math.min(length, capacity - offset);
+        buffer.put(HEADER_SIZE + offset, src, 0, first);
+        if (first < length) {
+            buffer.put(HEADER_SIZE, src, first, length - first);
+        }
+    }
+}
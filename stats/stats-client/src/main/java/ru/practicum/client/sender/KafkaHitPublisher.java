@@ -0,0 +1,68 @@
+package ru.practicum.client.sender;
+
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import ru.practicum.dto.CreateHitDTO;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Публикация пакетов хитов в топик Kafka.
+ * <p>
+ * Ключ записи — URI хита, значение — {@link CreateHitDTO} в JSON. Пакет считается доставленным,
+ * когда брокер подтвердил все его записи; иначе {@link HitSender} повторяет пакет целиком,
+ * а уже записанные хиты сервис статистики отбрасывает как повторы по идентификатору.
+ */
+public class KafkaHitPublisher implements AutoCloseable {
+
+    private final DefaultKafkaProducerFactory<String, CreateHitDTO> producerFactory;
+    private final KafkaTemplate<String, CreateHitDTO> kafkaTemplate;
+    private final String topic;
+    private final Duration sendTimeout;
+
+    public KafkaHitPublisher(DefaultKafkaProducerFactory<String, CreateHitDTO> producerFactory,
+                             HitSenderProperties.Kafka properties) {
+        this.producerFactory = producerFactory;
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.topic = properties.getTopic();
+        this.sendTimeout = properties.getSendTimeout();
+    }
+
+    /**
+     * Публикует пакет хитов и ждёт подтверждения брокера.
+     *
+     * @param hits хиты пакета
+     * @throws KafkaException если брокер не подтвердил пакет за {@code send-timeout}
+     */
+    public void publish(List<CreateHitDTO> hits) {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            CreateHitDTO hit = hits.get(i);
+            results[i] = kafkaTemplate.send(topic, hit.getUri(), hit);
+        }
+        try {
+            CompletableFuture.allOf(results).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Публикация хитов прервана", e);
+        } catch (ExecutionException e) {
+            throw new KafkaException("Брокер не принял пакет хитов: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new KafkaException("Брокер не подтвердил пакет хитов за " + sendTimeout, e);
+        }
+    }
+
+    /**
+     * Закрывает продюсер, дожидаясь отправки буферизованных записей.
+     */
+    @Override
+    public void close() {
+        producerFactory.destroy();
+    }
+}
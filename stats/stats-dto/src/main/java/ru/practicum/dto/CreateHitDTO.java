@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 /**
  * DTO для создания новой записи просмотра (hit).
  * <p>
- * Содержит данные о приложении, URI, IP-адресе и времени запроса.
+ * Содержит данные о приложении, URI, IP-адресе и времени запроса, а также необязательный
+ * идентификатор хита, по которому сервис статистики отбрасывает повторную доставку.
  */
 @Setter
 @Getter
@@ -58,4 +60,12 @@ public class CreateHitDTO {
     @JsonFormat(shape = Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     @NotNull(message = "Дата и время не могут быть null")
     private LocalDateTime timestamp;
+
+    /**
+     * Идентификатор хита, назначаемый клиентом (например, ULID).
+     * Необязательное поле: хит с уже принятым идентификатором повторно не сохраняется,
+     * что позволяет клиенту безопасно повторять отправку.
+     */
+    @Size(max = 64, message = "Идентификатор хита не может быть длиннее 64 символов")
+    private String hitId;
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Колоночное представление статистики просмотров (hits).
+ * <p>
+ * В отличие от списка {@link HitsStatDTO}, не повторяет название приложения в каждой строке
+ * и хранит количество просмотров в примитивном массиве. Строка {@code i} описывается тройкой
+ * {@code apps[appIndexes[i]]}, {@code uris[i]}, {@code hits[i]}; порядок строк совпадает с порядком
+ * списочного ответа (по убыванию количества просмотров).
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HitsStatColumnsDTO {
+
+    /**
+     * Словарь названий приложений, встречающихся в ответе.
+     */
+    private List<String> apps;
+
+    /**
+     * Индексы приложений в словаре {@link #apps} для каждой строки.
+     */
+    private int[] appIndexes;
+
+    /**
+     * URI для каждой строки.
+     */
+    private String[] uris;
+
+    /**
+     * Количество просмотров (или уникальных IP-адресов) для каждой строки.
+     */
+    private long[] hits;
+
+    /**
+     * Возвращает количество строк в ответе.
+     *
+     * @return количество строк
+     */
+    public int size() {
+        return hits == null ? 0 : hits.length;
+    }
+}
@@ -44,4 +44,21 @@ public class HitsStatDTO {
      */
     @NotNull(message = "Количество просмотров не может быть null")
     private Long hits;
+
+    /**
+     * Полуширина 95%-го доверительного интервала для {@link #hits}.
+     * Заполняется только в приближённом режиме (по выборке); для точной статистики — null.
+     */
+    private Long hitsError;
+
+    /**
+     * Создаёт DTO точной статистики (без оценки погрешности).
+     *
+     * @param app  название приложения
+     * @param uri  URI
+     * @param hits количество просмотров
+     */
+    public HitsStatDTO(String app, String uri, Long hits) {
+        this(app, uri, hits, null);
+    }
 }
\ No newline at end of file
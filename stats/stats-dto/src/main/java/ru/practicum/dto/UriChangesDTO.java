@@ -0,0 +1,40 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO URI, по которым были сохранены хиты после заданной позиции журнала хитов.
+ * <p>
+ * Позволяет клиенту обновлять производные данные (например, количество просмотров событий)
+ * только для изменившихся URI: следующий запрос передаёт полученный {@link #cursor}.
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class UriChangesDTO {
+
+    /**
+     * Позиция журнала хитов, до которой (включительно) просмотрены изменения.
+     */
+    private long cursor;
+
+    /**
+     * URI, по которым сохранены хиты после переданной позиции.
+     */
+    private List<String> uris;
+
+    /**
+     * Просмотрены не все хиты после переданной позиции: следует повторить запрос с новой позицией.
+     */
+    private boolean more;
+}
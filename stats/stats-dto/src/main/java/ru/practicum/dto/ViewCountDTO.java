@@ -0,0 +1,30 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * DTO текущего количества просмотров URI, передаваемое подписчикам потока {@code /stats/live}.
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ViewCountDTO {
+
+    /**
+     * URI, для которого передаётся количество просмотров.
+     */
+    private String uri;
+
+    /**
+     * Количество просмотров (или уникальных IP-адресов) по всем приложениям.
+     */
+    private long views;
+}
@@ -21,21 +21,19 @@ public class IpAddressValidator implements ConstraintValidator<ValidIpAddress, S
             "(25[0-5]|2[0-4][0-9]|1[0-9]{2}|[1-9][0-9]|[0-9])" +
             "$";
 
-    // Паттерн для IPv6 с поддержкой сжатия (::)
+    // Паттерн для IPv6 с поддержкой сжатия (::), группы из 1-4 шестнадцатеричных цифр
     private static final String IPV6_PATTERN =
-            "^" +
+            "^(" +
             "([0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}|" +             // Полный адрес
-            "([0-9a-fA-F]{1,4}:){1,7}:|" +                            // Сжатие в начале
-            "(:[0-9a-fA-F]{1,4}){1,7}$|" +                            // Сжатие в конце
-            "([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|" +            // Сжатие посередине
-            "([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|" +     // Два сегмента
+            "([0-9a-fA-F]{1,4}:){1,7}:|" +                            // Сжатие в конце
+            "([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|" +            // Сжатие перед одним сегментом
+            "([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|" +     // Два сегмента после сжатия
             "([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|" +     // Три сегмента
             "([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|" +     // Четыре сегмента
             "([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|" +     // Пять сегментов
-            "([0-9a-fA-F]{1,4}:){1}(:[0-9a-fA-F]{1,4}){1,6}|" +       // Шесть сегментов
-            ":((:[0-9a-fA-F]{1,4}){1,7}|:)|" +                        // Только сжатие
-            "[0-9a-fA-F]{1,4}((:[0-9a-fA-F]{1,4}){1,6}:)?)" +         // Сжатие в середине
-            "(:[0-9a-fA-F]{1,4})?$";
+            "[0-9a-fA-F]{1,4}:(:[0-9a-fA-F]{1,4}){1,6}|" +            // Шесть сегментов
+            ":((:[0-9a-fA-F]{1,4}){1,7}|:)" +                         // Сжатие в начале и только сжатие
+            ")$";
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
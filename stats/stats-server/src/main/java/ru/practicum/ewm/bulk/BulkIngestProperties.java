@@ -0,0 +1,25 @@
+package ru.practicum.ewm.bulk;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки пакетной записи хитов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingest.bulk")
+public class BulkIngestProperties {
+
+    /**
+     * Минимальный размер пакета, начиная с которого используется COPY (только PostgreSQL).
+     * Меньшие пакеты записываются пакетным INSERT.
+     */
+    private int copyThreshold = 1000;
+
+    /**
+     * Размер JDBC-пакета для пакетного INSERT.
+     */
+    private int jdbcBatchSize = 500;
+}
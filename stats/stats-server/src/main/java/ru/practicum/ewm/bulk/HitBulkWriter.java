@@ -0,0 +1,153 @@
+package ru.practicum.ewm.bulk;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.dto.CreateHitDTO;
+
+import javax.sql.DataSource;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Пакетная запись хитов в таблицу hits в обход Hibernate.
+ * <p>
+ * Крупные пакеты в PostgreSQL передаются потоком через {@code COPY ... FROM STDIN (FORMAT BINARY)}.
+ * Пакеты с идентификаторами хитов сначала копируются во временную таблицу hits_staging и переносятся
+ * в hits одним {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}, чтобы повторная доставка
+ * не прерывала COPY нарушением уникальности. Небольшие пакеты и другие СУБД записываются пакетным
+ * INSERT. Время записи публикуется в метрике {@code stats.hits.bulk.write} с тегом {@code method}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HitBulkWriter {
+
+    static final String COLUMNS = "app, uri, ip, timestamp, hit_id";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO hits (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String COPY_HITS_SQL =
+            "COPY hits (" + COLUMNS + ") FROM STDIN (FORMAT BINARY)";
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS hits_staging
+            (
+                app       VARCHAR(255),
+                uri       TEXT,
+                ip        VARCHAR(45),
+                timestamp TIMESTAMP,
+                hit_id    VARCHAR(64)
+            ) ON COMMIT DELETE ROWS
+            """;
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE hits_staging";
+    private static final String COPY_STAGING_SQL =
+            "COPY hits_staging (" + COLUMNS + ") FROM STDIN (FORMAT BINARY)";
+    private static final String MOVE_STAGING_SQL =
+            "INSERT INTO hits (" + COLUMNS + ") SELECT " + COLUMNS + " FROM hits_staging ON CONFLICT DO NOTHING";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final BulkIngestProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Записывает пакет хитов, выбирая способ записи по размеру пакета и СУБД.
+     *
+     * @param hits хиты, прошедшие фильтры приёма
+     * @return количество сохранённых хитов (без повторов по идентификатору)
+     */
+    @Transactional
+    public long write(List<CreateHitDTO> hits) {
+        if (hits.isEmpty()) {
+            return 0;
+        }
+        if (hits.size() >= properties.getCopyThreshold()) {
+            PGConnection connection = pgConnection();
+            if (connection != null) {
+                return copy(connection, hits);
+            }
+        }
+        return insert(hits);
+    }
+
+    /**
+     * Записывает хиты пакетным INSERT.
+     */
+    long insert(List<CreateHitDTO> hits) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long inserted = 0;
+        for (int[] batch : jdbcTemplate.batchUpdate(INSERT_SQL, hits, properties.getJdbcBatchSize(), (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setString(3, hit.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()));
+            ps.setString(5, hit.getHitId());
+        })) {
+            for (int count : batch) {
+                // драйвер может не сообщать точное количество строк в пакете
+                inserted += count >= 0 ? count : 1;
+            }
+        }
+        sample.stop(meterRegistry.timer("stats.hits.bulk.write", "method", "insert"));
+        return inserted;
+    }
+
+    /**
+     * Записывает хиты через COPY в двоичном формате.
+     */
+    long copy(PGConnection connection, List<CreateHitDTO> hits) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean staged = hits.stream().anyMatch(hit -> hit.getHitId() != null);
+        long inserted;
+        if (staged) {
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+            jdbcTemplate.execute(TRUNCATE_STAGING_SQL);
+            copyIn(connection, COPY_STAGING_SQL, hits);
+            inserted = jdbcTemplate.update(MOVE_STAGING_SQL);
+        } else {
+            inserted = copyIn(connection, COPY_HITS_SQL, hits);
+        }
+        sample.stop(meterRegistry.timer("stats.hits.bulk.write", "method", "copy"));
+        log.debug("COPY записал {} из {} хитов", inserted, hits.size());
+        return inserted;
+    }
+
+    /**
+     * Возвращает соединение PostgreSQL текущей транзакции или null для других СУБД.
+     */
+    PGConnection pgConnection() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.isWrapperFor(PGConnection.class) ? connection.unwrap(PGConnection.class) : null;
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Не удалось получить соединение PostgreSQL", e);
+        }
+    }
+
+    private long copyIn(PGConnection connection, String sql, List<CreateHitDTO> hits) {
+        try (PGCopyOutputStream copy = new PGCopyOutputStream(connection, sql, 1 << 16);
+             DataOutputStream out = new DataOutputStream(copy)) {
+            PgBinaryCopyEncoder.writeHeader(out);
+            for (CreateHitDTO hit : hits) {
+                PgBinaryCopyEncoder.writeHit(out, hit);
+            }
+            PgBinaryCopyEncoder.writeTrailer(out);
+            out.flush();
+            return copy.endCopy();
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Ошибка записи хитов через COPY", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.ewm.bulk;
+
+import ru.practicum.dto.CreateHitDTO;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Кодировщик хитов в двоичный формат команды {@code COPY ... FROM STDIN (FORMAT BINARY)} PostgreSQL.
+ * <p>
+ * Поток состоит из сигнатуры и заголовка, кортежей (количество полей, затем длина и значение
+ * каждого поля, длина -1 означает NULL) и завершающего слова -1. Текстовые поля передаются
+ * в UTF-8, TIMESTAMP — количеством микросекунд от 2000-01-01 00:00:00.
+ * Порядок полей соответствует {@link HitBulkWriter#COLUMNS}.
+ */
+final class PgBinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELDS = 5;
+    private static final long PG_EPOCH_SECONDS = LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private PgBinaryCopyEncoder() {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    static void writeHit(DataOutputStream out, CreateHitDTO hit) throws IOException {
+        out.writeShort(FIELDS);
+        writeText(out, hit.getApp());
+        writeText(out, hit.getUri());
+        writeText(out, hit.getIp());
+        writeTimestamp(out, hit.getTimestamp());
+        writeText(out, hit.getHitId());
+    }
+
+    static void writeTrailer(DataOutputStream out) throws IOException {
+        out.writeShort(-1);
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        long micros = (value.toEpochSecond(ZoneOffset.UTC) - PG_EPOCH_SECONDS) * 1_000_000L + value.getNano() / 1_000;
+        out.writeInt(Long.BYTES);
+        out.writeLong(micros);
+    }
+}
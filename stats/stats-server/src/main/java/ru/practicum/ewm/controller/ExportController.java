@@ -0,0 +1,99 @@
+package ru.practicum.ewm.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.client.StatsClient;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
+import ru.practicum.ewm.exception.model.StartAfterEndException;
+import ru.practicum.ewm.export.HitExporter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Потоковая выгрузка статистики для аналитики.
+ * <p>
+ * Заменяет многократные вызовы {@code /stats}: данные за период читаются одним курсором
+ * и отдаются в CSV по мере чтения.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final HitExporter hitExporter;
+
+    /**
+     * Выгружает сырые хиты за период.
+     * <p>
+     * Для продолжения прерванной выгрузки передаются время и идентификатор последней полученной строки:
+     * выгрузка начнётся со следующего хита.
+     *
+     * @param start   начальная дата диапазона (включительно)
+     * @param end     конечная дата диапазона (включительно)
+     * @param after   время последнего полученного хита (опционально)
+     * @param afterId идентификатор последнего полученного хита (опционально, только вместе с after)
+     * @return CSV с колонками id, app, uri, ip, timestamp, hit_id
+     */
+    @GetMapping("/stats/export/hits")
+    public ResponseEntity<StreamingResponseBody> exportHits(
+            @RequestParam @DateTimeFormat(pattern = StatsClient.DATE_TIME_FORMAT) LocalDateTime start,
+            @RequestParam @DateTimeFormat(pattern = StatsClient.DATE_TIME_FORMAT) LocalDateTime end,
+            @RequestParam(required = false) @DateTimeFormat(pattern = StatsClient.DATE_TIME_FORMAT) LocalDateTime after,
+            @RequestParam(required = false) Long afterId) {
+        log.info("GET /stats/export/hits?start={}&end={}&after={}&afterId={} - Получен запрос на выгрузку хитов",
+                start, end, after, afterId);
+        if (start.isAfter(end)) {
+            throw new StartAfterEndException("Начальная дата не может быть позже конечной");
+        }
+        if (afterId != null && after == null) {
+            throw new InvalidParameterException("Параметр afterId передаётся только вместе с after");
+        }
+        return csv("hits.csv", out -> hitExporter.exportHits(start, end, after, afterId, out));
+    }
+
+    /**
+     * Выгружает дневные агрегаты за период.
+     * <p>
+     * Строки упорядочены по дням; для продолжения прерванной выгрузки передаётся последний
+     * полностью полученный день — выгрузка начнётся со следующего.
+     *
+     * @param start первый день диапазона (включительно)
+     * @param end   последний день диапазона (включительно)
+     * @param after последний полностью полученный день (опционально)
+     * @return CSV с колонками date, app, uri, hits
+     */
+    @GetMapping("/stats/export/daily")
+    public ResponseEntity<StreamingResponseBody> exportDaily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after) {
+        log.info("GET /stats/export/daily?start={}&end={}&after={} - Получен запрос на выгрузку агрегатов",
+                start, end, after);
+        if (start.isAfter(end)) {
+            throw new StartAfterEndException("Начальная дата не может быть позже конечной");
+        }
+        LocalDate from = after != null && !after.isBefore(start) ? after.plusDays(1) : start;
+        return csv("hits-daily.csv", out -> hitExporter.exportDaily(from, end, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
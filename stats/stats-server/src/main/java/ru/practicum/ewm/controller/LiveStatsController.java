@@ -0,0 +1,49 @@
+package ru.practicum.ewm.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.client.StatsClient;
+import ru.practicum.ewm.live.LiveViewsHub;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Поток текущего количества просмотров.
+ * <p>
+ * Не входит в {@link StatsClient}: Feign-клиент не поддерживает Server-Sent Events,
+ * поток предназначен для браузеров и проксируется шлюзом по маршруту {@code /stats/**}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class LiveStatsController {
+
+    private final LiveViewsHub liveViewsHub;
+
+    /**
+     * Оформляет подписку на количество просмотров URI.
+     * <p>
+     * Сервер отправляет события {@code views} с массивом {@code ViewCountDTO} не чаще одного раза
+     * в период рассылки и только для изменившихся URI; первое событие содержит текущие значения.
+     *
+     * @param uris   список URI (обязательный)
+     * @param start  начало периода подсчёта (опционально)
+     * @param unique флаг, указывающий, нужно ли учитывать уникальных пользователей
+     * @return поток Server-Sent Events
+     */
+    @GetMapping(path = "/stats/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam List<String> uris,
+                                @RequestParam(required = false)
+                                @DateTimeFormat(pattern = StatsClient.DATE_TIME_FORMAT) LocalDateTime start,
+                                @RequestParam(defaultValue = "false") boolean unique) {
+        log.info("GET /stats/live?uris={}&start={}&unique={} - Получен запрос на подписку", uris, start, unique);
+        return liveViewsHub.subscribe(uris, start, unique);
+    }
+}
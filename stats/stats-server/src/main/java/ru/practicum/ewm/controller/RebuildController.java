@@ -0,0 +1,61 @@
+package ru.practicum.ewm.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.ewm.rebuild.RebuildStatus;
+import ru.practicum.ewm.rebuild.UniqueIndexRebuild;
+
+/**
+ * Административное управление перестроением агрегатов.
+ * <p>
+ * Не проксируется шлюзом: вызывается напрямую по адресу экземпляра сервиса статистики.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/rebuild/unique-index")
+public class RebuildController {
+
+    private final UniqueIndexRebuild uniqueIndexRebuild;
+
+    /**
+     * Запускает перестроение индекса уникальных посетителей.
+     *
+     * @param resume продолжить прерванное перестроение с необработанных диапазонов
+     * @return состояние перестроения (202 Accepted)
+     */
+    @PostMapping
+    public ResponseEntity<RebuildStatus> start(@RequestParam(defaultValue = "true") boolean resume) {
+        log.info("POST /admin/rebuild/unique-index?resume={} - Получен запрос на перестроение индекса", resume);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(uniqueIndexRebuild.start(resume));
+    }
+
+    /**
+     * Возвращает ход перестроения индекса уникальных посетителей.
+     *
+     * @return состояние перестроения
+     */
+    @GetMapping
+    public ResponseEntity<RebuildStatus> status() {
+        return ResponseEntity.ok(uniqueIndexRebuild.status());
+    }
+
+    /**
+     * Останавливает перестроение; обработанные диапазоны сохраняются для продолжения.
+     *
+     * @return состояние перестроения
+     */
+    @DeleteMapping
+    public ResponseEntity<RebuildStatus> cancel() {
+        log.info("DELETE /admin/rebuild/unique-index - Получен запрос на остановку перестроения");
+        return ResponseEntity.ok(uniqueIndexRebuild.cancel());
+    }
+}
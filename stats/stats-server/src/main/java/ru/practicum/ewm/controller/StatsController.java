@@ -1,6 +1,9 @@
 package ru.practicum.ewm.controller;
 
 import feign.FeignException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -8,12 +11,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.client.StatsClient;
 import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.dto.HitsStatColumnsDTO;
 import ru.practicum.dto.HitsStatDTO;
+import ru.practicum.dto.UriChangesDTO;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
 import ru.practicum.ewm.service.HitService;
 import ru.practicum.ewm.service.StatsService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -22,25 +31,72 @@ public class StatsController implements StatsClient {
 
     private final StatsService statsService;
     private final HitService hitService;
+    private final Validator validator;
 
     /**
      * Получает статистику за определённый период времени.
      *
+     * @param start        начальная дата диапазона (включительно)
+     * @param end          конечная дата диапазона (включительно)
+     * @param uris         список URI для фильтрации (опционально)
+     * @param unique       флаг, указывающий, нужно ли учитывать уникальных пользователей
+     * @param approx       флаг приближённого режима (по выборке)
+     * @param sampleRate   доля выборки (опционально)
+     * @param targetMillis целевое время выполнения запроса (опционально)
+     * @return коллекция DTO статистики (HitsStatDTO)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @Override
+    public ResponseEntity<List<HitsStatDTO>> getStats(LocalDateTime start,
+                                                      LocalDateTime end,
+                                                      List<String> uris,
+                                                      boolean unique,
+                                                      boolean approx,
+                                                      Double sampleRate,
+                                                      Long targetMillis) throws FeignException {
+        log.info("GET /stats?start={}&end={}&uris={}&unique={}&approx={}&sampleRate={}&targetMillis={} - "
+                 + "Получен запрос на получение статистики",
+                start, end, uris, unique, approx, sampleRate, targetMillis);
+        List<HitsStatDTO> stats = approx
+                ? statsService.getApproxStats(start, end, uris, unique, sampleRate, targetMillis)
+                : statsService.getStats(start, end, uris, unique);
+        return ResponseEntity.ok().body(stats);
+    }
+
+    /**
+     * Получает статистику за определённый период времени в колоночном формате.
+     *
      * @param start  начальная дата диапазона (включительно)
      * @param end    конечная дата диапазона (включительно)
      * @param uris   список URI для фильтрации (опционально)
      * @param unique флаг, указывающий, нужно ли учитывать уникальных пользователей
-     * @return коллекция DTO статистики (HitsStatDTO)
+     * @return колоночное DTO статистики (HitsStatColumnsDTO)
      * @throws FeignException при ошибке запроса к микросервису
      */
     @Override
-    public ResponseEntity<List<HitsStatDTO>> getStats(LocalDateTime start,
-                                                            LocalDateTime end,
-                                                            List<String> uris,
-                                                            boolean unique) throws FeignException {
-        log.info("GET /stats?start={}&end={}&uris={}&unique={} - Получен запрос на получение статистики",
+    public ResponseEntity<HitsStatColumnsDTO> getStatsColumns(LocalDateTime start,
+                                                              LocalDateTime end,
+                                                              List<String> uris,
+                                                              boolean unique) throws FeignException {
+        log.info("GET /stats/columns?start={}&end={}&uris={}&unique={} - Получен запрос на получение статистики",
                 start, end, uris, unique);
-        return ResponseEntity.ok().body(statsService.getStats(start, end, uris, unique));
+        return ResponseEntity.ok().body(statsService.getStatsColumns(start, end, uris, unique));
+    }
+
+    /**
+     * Получает URI, по которым сохранены хиты после заданной позиции журнала хитов.
+     *
+     * @param after  позиция журнала, полученная в предыдущем ответе
+     * @param prefix префикс URI для фильтрации (опционально)
+     * @param limit  максимальное количество просматриваемых хитов
+     * @return DTO изменившихся URI (UriChangesDTO)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @Override
+    public ResponseEntity<UriChangesDTO> getChangedUris(long after, String prefix, int limit) throws FeignException {
+        log.debug("GET /stats/changes?after={}&prefix={}&limit={} - Получен запрос на получение изменившихся URI",
+                after, prefix, limit);
+        return ResponseEntity.ok().body(statsService.getChangedUris(after, prefix, limit));
     }
 
     /**
@@ -56,4 +112,47 @@ public class StatsController implements StatsClient {
         hitService.createHit(createHitDTO);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
+
+    /**
+     * Отправляет пакет записей о просмотрах (hits).
+     * <p>
+     * Каждый хит пакета проверяется ограничениями {@link CreateHitDTO}; пакет с некорректным хитом
+     * отклоняется целиком со статусом 400, и ни один хит пакета не сохраняется.
+     *
+     * @param hits данные для создания hits
+     * @return ответ без тела (201 Created)
+     * @throws FeignException при ошибке запроса к микросервису
+     */
+    @Override
+    public ResponseEntity<Void> createHits(List<CreateHitDTO> hits) throws FeignException {
+        log.info("POST /hit/batch - Получен пакет из {} hits", hits.size());
+        validate(hits);
+        hitService.createHits(hits);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    /**
+     * Проверяет хиты пакета. Ограничения элементов списка объявлены в {@link StatsClient}
+     * ({@code List<@Valid CreateHitDTO>}), но к реализации метода контроллера Spring их не применяет.
+     *
+     * @throws InvalidParameterException если пакет содержит пустой элемент
+     * @throws ConstraintViolationException если хит нарушает ограничения DTO
+     */
+    private void validate(List<CreateHitDTO> hits) {
+        Set<ConstraintViolation<CreateHitDTO>> violations = new LinkedHashSet<>();
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < hits.size(); i++) {
+            CreateHitDTO hit = hits.get(i);
+            if (hit == null) {
+                throw new InvalidParameterException("Хит [{0}] пакета не может быть null", i);
+            }
+            for (ConstraintViolation<CreateHitDTO> violation : validator.validate(hit)) {
+                violations.add(violation);
+                messages.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(String.join("; ", messages), violations);
+        }
+    }
 }
@@ -1,13 +1,22 @@
 package ru.practicum.ewm.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import ru.practicum.ewm.exception.model.ApiError;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
+import ru.practicum.ewm.exception.model.QueryLimitException;
+import ru.practicum.ewm.exception.model.RebuildInProgressException;
 import ru.practicum.ewm.exception.model.StartAfterEndException;
+import ru.practicum.ewm.exception.model.SubscriptionLimitException;
 
 /**
  * Глобальный обработчик исключений для приложения.
@@ -71,4 +80,119 @@ public class GlobalExceptionHandler {
                 "Дата начала не может быть позже даты окончания"
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Обрабатывает недопустимое значение параметра запроса.
+     * Возвращает статус 400 и текст ошибки.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleInvalidParameter(final InvalidParameterException e) {
+        log.warn("Недопустимый параметр: {}", e.getMessage(), e);
+        return new ApiError(
+                HttpStatus.BAD_REQUEST,
+                "Недопустимый параметр",
+                e.getMessage()
+        );
+    }
+
+    /**
+     * Обрабатывает ошибки валидации тела запроса, в том числе элементов пакета хитов.
+     * Возвращает статус 400 и текст ошибки.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler({
+            MethodArgumentNotValidException.class,
+            HandlerMethodValidationException.class,
+            ConstraintViolationException.class
+    })
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleValidation(final Exception e) {
+        log.warn("Ошибка валидации: {}", e.getMessage(), e);
+        return new ApiError(
+                HttpStatus.BAD_REQUEST,
+                "Ошибка валидации входных данных",
+                e.getMessage()
+        );
+    }
+
+    /**
+     * Обрабатывает превышение количества подписок на поток просмотров.
+     * Возвращает статус 503: клиенту следует повторить подписку позже.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiError handleSubscriptionLimit(final SubscriptionLimitException e) {
+        log.warn("Подписка отклонена: {}", e.getMessage());
+        return new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Превышено количество подписок",
+                e.getMessage()
+        );
+    }
+
+    /**
+     * Обрабатывает повторный запуск уже выполняющегося перестроения.
+     * Возвращает статус 409 и текст ошибки.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiError handleRebuildInProgress(final RebuildInProgressException e) {
+        log.warn("Перестроение уже выполняется: {}", e.getMessage());
+        return new ApiError(
+                HttpStatus.CONFLICT,
+                "Перестроение уже выполняется",
+                e.getMessage()
+        );
+    }
+
+    /**
+     * Обрабатывает отказ ограничителя одновременных запросов статистики.
+     * Возвращает статус 503: клиенту следует повторить запрос позже.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiError handleQueryLimit(final QueryLimitException e) {
+        log.warn("Запрос статистики отклонён: {}", e.getMessage());
+        return new ApiError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Сервис статистики перегружен",
+                e.getMessage()
+        );
+    }
+
+    /**
+     * Обрабатывает запрос статистики, не уложившийся в срок.
+     * Возвращает статус 504 и текст ошибки.
+     *
+     * @param e исключение
+     * @return объект ошибки
+     */
+    @ExceptionHandler({
+            QueryTimeoutException.class,
+            TransactionTimedOutException.class
+    })
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ApiError handleQueryTimeout(final Exception e) {
+        log.warn("Запрос статистики прерван по сроку: {}", e.getMessage());
+        return new ApiError(
+                HttpStatus.GATEWAY_TIMEOUT,
+                "Превышено время выполнения запроса",
+                "Сократите диапазон дат или укажите список URI"
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.exception.model;
+
+import java.text.MessageFormat;
+
+public class InvalidParameterException extends RuntimeException {
+
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+
+    public InvalidParameterException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.exception.model;
+
+import java.text.MessageFormat;
+
+public class QueryLimitException extends RuntimeException {
+
+    public QueryLimitException(String message) {
+        super(message);
+    }
+
+    public QueryLimitException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.exception.model;
+
+import java.text.MessageFormat;
+
+public class RebuildInProgressException extends RuntimeException {
+
+    public RebuildInProgressException(String message) {
+        super(message);
+    }
+
+    public RebuildInProgressException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
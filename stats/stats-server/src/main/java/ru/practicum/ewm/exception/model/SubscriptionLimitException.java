@@ -0,0 +1,14 @@
+package ru.practicum.ewm.exception.model;
+
+import java.text.MessageFormat;
+
+public class SubscriptionLimitException extends RuntimeException {
+
+    public SubscriptionLimitException(String message) {
+        super(message);
+    }
+
+    public SubscriptionLimitException(String message, Object... args) {
+        super(MessageFormat.format(message, args));
+    }
+}
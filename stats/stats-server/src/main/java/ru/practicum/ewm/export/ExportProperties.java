@@ -0,0 +1,19 @@
+package ru.practicum.ewm.export;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки потоковой выгрузки хитов ({@code GET /stats/export/*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.export")
+public class ExportProperties {
+
+    /**
+     * Количество строк, получаемых из курсора базы за одно обращение.
+     */
+    private int fetchSize = 5000;
+}
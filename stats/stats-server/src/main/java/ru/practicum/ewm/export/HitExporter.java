@@ -0,0 +1,155 @@
+package ru.practicum.ewm.export;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.StatsClient;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Потоковая выгрузка сырых хитов и дневных агрегатов в CSV.
+ * <p>
+ * Запрос читается серверным курсором порциями по {@code stats.export.fetch-size} строк
+ * (в PostgreSQL курсор открывается только внутри транзакции, поэтому выгрузка идёт в транзакции
+ * только для чтения), и каждая строка сразу пишется в выходной поток — результат целиком
+ * в памяти не собирается.
+ * <p>
+ * Строки упорядочены по времени, поэтому прерванную выгрузку можно продолжить:
+ * сырые хиты — с последней полученной пары (timestamp, id), дневные агрегаты — со дня,
+ * следующего за последним полностью полученным.
+ */
+@Slf4j
+@Component
+public class HitExporter {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(StatsClient.DATE_TIME_FORMAT);
+
+    private static final String HITS_SQL = """
+            SELECT h.id, h.app, h.uri, h.ip, h.timestamp, h.hit_id
+            FROM hits h
+            WHERE h.timestamp BETWEEN ? AND ?
+            """;
+    private static final String HITS_AFTER_SQL = """
+              AND (h.timestamp > ? OR (h.timestamp = ? AND h.id > ?))
+            """;
+    private static final String HITS_ORDER_SQL = "ORDER BY h.timestamp, h.id";
+
+    private static final String DAILY_SQL = """
+            SELECT u.hit_date, u.app, u.uri, CAST(SUM(u.hits) AS BIGINT) AS hits
+            FROM (SELECT CAST(h.timestamp AS DATE) AS hit_date, h.app AS app, h.uri AS uri, COUNT(*) AS hits
+                  FROM hits h
+                  WHERE h.timestamp >= ? AND h.timestamp < ?
+                  GROUP BY CAST(h.timestamp AS DATE), h.app, h.uri
+                  UNION ALL
+                  SELECT d.hit_date, d.app, d.uri, d.hits
+                  FROM hits_daily d
+                  WHERE d.hit_date BETWEEN ? AND ?) u
+            GROUP BY u.hit_date, u.app, u.uri
+            ORDER BY u.hit_date, u.app, u.uri
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public HitExporter(DataSource dataSource,
+                       PlatformTransactionManager transactionManager,
+                       ExportProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Выгружает сырые хиты за период в порядке (timestamp, id).
+     *
+     * @param start          начало периода (включительно)
+     * @param end            конец периода (включительно)
+     * @param afterTimestamp время последнего полученного хита при продолжении выгрузки (опционально)
+     * @param afterId        идентификатор последнего полученного хита при продолжении выгрузки (опционально)
+     * @param out            выходной поток
+     * @return количество выгруженных строк
+     */
+    public long exportHits(LocalDateTime start,
+                           LocalDateTime end,
+                           LocalDateTime afterTimestamp,
+                           Long afterId,
+                           OutputStream out) {
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        StringBuilder sql = new StringBuilder(HITS_SQL);
+        if (afterTimestamp != null) {
+            sql.append(HITS_AFTER_SQL);
+            args.add(Timestamp.valueOf(afterTimestamp));
+            args.add(Timestamp.valueOf(afterTimestamp));
+            args.add(afterId == null ? Long.MAX_VALUE : afterId);
+        }
+        sql.append(HITS_ORDER_SQL);
+
+        CsvRowWriter csv = new CsvRowWriter(out);
+        csv.row("id", "app", "uri", "ip", "timestamp", "hit_id");
+        long rows = stream(sql.toString(), args, rs -> csv.row(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getTimestamp(5).toLocalDateTime().format(TIMESTAMP_FORMAT),
+                rs.getString(6)));
+        csv.flush();
+        meterRegistry.counter("stats.export.rows", "kind", "hits").increment(rows);
+        log.info("Выгружено {} хитов за период {} — {}", rows, start, end);
+        return rows;
+    }
+
+    /**
+     * Выгружает дневные агрегаты (сырые хиты и прореженная история) в порядке (день, app, uri).
+     *
+     * @param startDay первый день периода (включительно)
+     * @param endDay   последний день периода (включительно)
+     * @param out      выходной поток
+     * @return количество выгруженных строк
+     */
+    public long exportDaily(LocalDate startDay, LocalDate endDay, OutputStream out) {
+        List<Object> args = List.of(
+                Timestamp.valueOf(startDay.atStartOfDay()),
+                Timestamp.valueOf(endDay.plusDays(1).atStartOfDay()),
+                Date.valueOf(startDay),
+                Date.valueOf(endDay));
+
+        CsvRowWriter csv = new CsvRowWriter(out);
+        csv.row("date", "app", "uri", "hits");
+        long rows = stream(DAILY_SQL, args, rs -> csv.row(
+                rs.getDate(1).toLocalDate(),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getLong(4)));
+        csv.flush();
+        meterRegistry.counter("stats.export.rows", "kind", "daily").increment(rows);
+        log.info("Выгружено {} дневных агрегатов за период {} — {}", rows, startDay, endDay);
+        return rows;
+    }
+
+    private long stream(String sql, List<Object> args, RowCallbackHandler handler) {
+        long[] rows = {0};
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+            handler.processRow(rs);
+            rows[0]++;
+        }, args.toArray()));
+        return rows[0];
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.ewm.ingest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки фильтрации ботов и злоупотреблений при приёме хитов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingest.abuse")
+public class AbuseFilterProperties {
+
+    /**
+     * Включена ли фильтрация. По умолчанию выключена.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Что делать с помеченными хитами: отбросить ({@code DROP}) или сохранить в таблицу flagged_hits
+     * ({@code DIVERT}). Значение {@code PASS} не допускается.
+     */
+    private HitVerdict.Action action = HitVerdict.Action.DIVERT;
+
+    /**
+     * Длительность окна подсчёта частоты запросов с одного IP.
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Максимальное количество хитов с одного IP в окне; сверх порога хиты помечаются.
+     */
+    private long maxHitsPerWindow = 600;
+
+    /**
+     * Количество ячеек в каждой строке счётчика частоты.
+     */
+    private int stripes = 65_536;
+
+    /**
+     * Сети (CIDR), хиты из которых всегда помечаются.
+     */
+    private List<String> deny = new ArrayList<>();
+
+    /**
+     * Сети (CIDR), хиты из которых не проверяются на частоту.
+     */
+    private List<String> allow = new ArrayList<>();
+
+    public void setAction(HitVerdict.Action action) {
+        if (action == HitVerdict.Action.PASS) {
+            throw new IllegalArgumentException("Действие над помеченными хитами должно быть DROP или DIVERT, получено: " + action);
+        }
+        this.action = action;
+    }
+}
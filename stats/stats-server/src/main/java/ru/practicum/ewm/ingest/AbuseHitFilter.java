@@ -0,0 +1,63 @@
+package ru.practicum.ewm.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.CreateHitDTO;
+
+/**
+ * Фильтр ботов и злоупотреблений.
+ * <p>
+ * Проверяет адрес по спискам запрещённых и разрешённых сетей, затем — частоту запросов с адреса
+ * в текущем окне. Хиты из запрещённых сетей и сверх порога частоты помечаются и, в зависимости
+ * от настроек, отбрасываются или направляются в таблицу flagged_hits.
+ */
+@Slf4j
+@Component
+@Order(100)
+public class AbuseHitFilter implements HitFilter {
+
+    private final boolean enabled;
+    private final HitVerdict.Action action;
+    private final long maxHitsPerWindow;
+    private final IpPrefixTrie denyList = new IpPrefixTrie();
+    private final IpPrefixTrie allowList = new IpPrefixTrie();
+    private final IpRateCounter rateCounter;
+
+    public AbuseHitFilter(AbuseFilterProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.action = properties.getAction();
+        this.maxHitsPerWindow = properties.getMaxHitsPerWindow();
+        properties.getDeny().forEach(denyList::add);
+        properties.getAllow().forEach(allowList::add);
+        this.rateCounter = enabled
+                ? new IpRateCounter(properties.getStripes(), properties.getWindow().toMillis())
+                : null;
+        if (enabled) {
+            log.info("Фильтрация ботов включена: порог={} за {}, действие={}, запрещённых сетей={}, разрешённых сетей={}",
+                    maxHitsPerWindow, properties.getWindow(), action,
+                    properties.getDeny().size(), properties.getAllow().size());
+        }
+    }
+
+    @Override
+    public HitVerdict check(CreateHitDTO dto) {
+        if (!enabled) {
+            return HitVerdict.PASS;
+        }
+        if (denyList.matches(dto.getIp())) {
+            return flag("deny-list");
+        }
+        if (allowList.matches(dto.getIp())) {
+            return HitVerdict.PASS;
+        }
+        if (rateCounter.incrementAndEstimate(dto.getIp(), System.currentTimeMillis()) > maxHitsPerWindow) {
+            return flag("rate-limit");
+        }
+        return HitVerdict.PASS;
+    }
+
+    private HitVerdict flag(String reason) {
+        return action == HitVerdict.Action.DROP ? HitVerdict.drop(reason) : HitVerdict.divert(reason);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.ewm.ingest;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Точное множество недавних ключей с ограниченным объёмом памяти.
+ * <p>
+ * Хранит два поколения: текущее и предыдущее. Поколения сменяются по истечении заданного времени
+ * или при переполнении текущего, поэтому ключ помнится не меньше одного поколения и не больше двух,
+ * а количество ключей ограничено {@code 2 * maxEntries}. В отличие от фильтра Блума, ложных
+ * срабатываний нет: {@link #contains} возвращает true только для действительно добавленных ключей.
+ *
+ * @param <K> тип ключа
+ */
+public class GenerationalSet<K> {
+
+    private final long generationMillis;
+    private final int maxEntries;
+
+    private volatile Set<K> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<K> previous = ConcurrentHashMap.newKeySet();
+    private volatile long generationStart = System.currentTimeMillis();
+
+    /**
+     * @param generationMillis длительность одного поколения в миллисекундах
+     * @param maxEntries       максимальное количество ключей в одном поколении
+     */
+    public GenerationalSet(long generationMillis, int maxEntries) {
+        this.generationMillis = Math.max(1L, generationMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean contains(K key) {
+        return current.contains(key) || previous.contains(key);
+    }
+
+    public void add(K key) {
+        if (System.currentTimeMillis() - generationStart >= generationMillis || current.size() >= maxEntries) {
+            rotate();
+        }
+        current.add(key);
+    }
+
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    private synchronized void rotate() {
+        long now = System.currentTimeMillis();
+        if (now - generationStart < generationMillis && current.size() < maxEntries) {
+            return;
+        }
+        previous = current;
+        current = ConcurrentHashMap.newKeySet();
+        generationStart = now;
+    }
+}
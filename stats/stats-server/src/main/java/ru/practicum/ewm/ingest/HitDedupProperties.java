@@ -0,0 +1,43 @@
+package ru.practicum.ewm.ingest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки подавления повторных хитов при приёме.
+ * <p>
+ * Хит считается повтором, если хит с тем же (app, uri, ip) уже был принят в пределах окна.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingest.dedup")
+public class HitDedupProperties {
+
+    /**
+     * Включено ли подавление повторов. По умолчанию выключено.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Длительность окна, в пределах которого повторы отбрасываются.
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * Количество временных корзин, на которое делится окно.
+     */
+    private int buckets = 4;
+
+    /**
+     * Ожидаемое количество уникальных (app, uri, ip) в одной корзине.
+     */
+    private long expectedHitsPerBucket = 100_000;
+
+    /**
+     * Допустимая вероятность ложного срабатывания фильтра.
+     */
+    private double falsePositiveRate = 0.001;
+}
@@ -0,0 +1,132 @@
+package ru.practicum.ewm.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.dto.CreateHitDTO;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Компонент подавления повторных хитов (обновления страницы, повторные запросы клиента).
+ * <p>
+ * Использует {@link RotatingBloomFilter} с ограниченным объёмом памяти. Количество отброшенных
+ * и пропущенных хитов публикуется в метриках {@code stats.hits.dedup}.
+ * <p>
+ * Стоит в цепочке после {@link AbuseHitFilter}, чтобы повторы ботов учитывались в частоте запросов.
+ * <p>
+ * Ключи принятых хитов добавляются в фильтр только после фиксации транзакции, в которой хиты
+ * сохранены: иначе повторная доставка хитов, запись которых откатилась, была бы отброшена как повтор.
+ * До фиксации повторы внутри той же транзакции (например, в одном пакете) отсекаются по ключам транзакции.
+ */
+@Slf4j
+@Component
+@Order(200)
+public class HitDeduplicator implements HitFilter {
+
+    private final boolean enabled;
+    private final RotatingBloomFilter filter;
+    private final Counter dropped;
+    private final Counter passed;
+
+    public HitDeduplicator(HitDedupProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.filter = enabled
+                ? new RotatingBloomFilter(properties.getWindow().toMillis(),
+                                          properties.getBuckets(),
+                                          properties.getExpectedHitsPerBucket(),
+                                          properties.getFalsePositiveRate())
+                : null;
+        this.dropped = Counter.builder("stats.hits.dedup")
+                .tag("result", "dropped")
+                .description("Количество хитов, отброшенных как повторы")
+                .register(meterRegistry);
+        this.passed = Counter.builder("stats.hits.dedup")
+                .tag("result", "passed")
+                .description("Количество хитов, прошедших проверку на повтор")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Подавление повторных хитов включено: окно={}, корзин={}, память={} байт",
+                    properties.getWindow(), properties.getBuckets(), filter.sizeInBytes());
+        }
+    }
+
+    /**
+     * Проверяет, является ли хит повтором в пределах окна.
+     * <p>
+     * Если подавление выключено, всегда возвращает false.
+     *
+     * @param dto данные хита
+     * @return true, если хит следует отбросить
+     */
+    public boolean isDuplicate(CreateHitDTO dto) {
+        if (!enabled) {
+            return false;
+        }
+        long key = hash(dto);
+        boolean duplicate = filter.contains(key, System.currentTimeMillis()) || !remember(key);
+        (duplicate ? dropped : passed).increment();
+        return duplicate;
+    }
+
+    /**
+     * Запоминает ключ принятого хита: вне транзакции — сразу, в транзакции — после её фиксации.
+     *
+     * @return false, если ключ уже принят в текущей транзакции
+     */
+    private boolean remember(long key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            filter.put(key, System.currentTimeMillis());
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> keys = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    long now = System.currentTimeMillis();
+                    keys.forEach(k -> filter.put(k, now));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(HitDeduplicator.this);
+                }
+            });
+            pending = keys;
+        }
+        return pending.add(key);
+    }
+
+    @Override
+    public HitVerdict check(CreateHitDTO dto) {
+        return isDuplicate(dto) ? HitVerdict.drop("duplicate") : HitVerdict.PASS;
+    }
+
+    /**
+     * Вычисляет 64-битный хеш ключа (app, uri, ip).
+     */
+    private static long hash(CreateHitDTO dto) {
+        long h = dto.getApp().hashCode();
+        h = h * 0x9E3779B97F4A7C15L + dto.getUri().hashCode();
+        h = h * 0x9E3779B97F4A7C15L + dto.getIp().hashCode();
+        return mix(h);
+    }
+
+    /**
+     * Финализатор SplitMix64 для равномерного распределения битов.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
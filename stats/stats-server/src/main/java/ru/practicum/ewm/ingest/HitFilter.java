@@ -0,0 +1,21 @@
+package ru.practicum.ewm.ingest;
+
+import ru.practicum.dto.CreateHitDTO;
+
+/**
+ * Звено цепочки фильтров, через которую проходит каждый хит перед сохранением.
+ * <p>
+ * Реализации регистрируются как Spring-компоненты; порядок в цепочке задаётся аннотацией
+ * {@link org.springframework.core.annotation.Order}. Цепочка останавливается на первом фильтре,
+ * вернувшем вердикт, отличный от {@link HitVerdict#PASS}.
+ */
+public interface HitFilter {
+
+    /**
+     * Проверяет хит.
+     *
+     * @param dto данные хита
+     * @return вердикт фильтра
+     */
+    HitVerdict check(CreateHitDTO dto);
+}
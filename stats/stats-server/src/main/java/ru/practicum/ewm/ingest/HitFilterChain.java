@@ -0,0 +1,41 @@
+package ru.practicum.ewm.ingest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.CreateHitDTO;
+
+import java.util.List;
+
+/**
+ * Цепочка фильтров приёма хитов.
+ * <p>
+ * Последовательно применяет все зарегистрированные {@link HitFilter} и возвращает первый вердикт,
+ * отличный от {@link HitVerdict#PASS}. Решения публикуются в метрике {@code stats.hits.filtered}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HitFilterChain {
+
+    private final List<HitFilter> filters;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Прогоняет хит через цепочку фильтров.
+     *
+     * @param dto данные хита
+     * @return итоговый вердикт
+     */
+    public HitVerdict evaluate(CreateHitDTO dto) {
+        for (HitFilter filter : filters) {
+            HitVerdict verdict = filter.check(dto);
+            if (verdict.action() != HitVerdict.Action.PASS) {
+                meterRegistry.counter("stats.hits.filtered",
+                        "filter", filter.getClass().getSimpleName(),
+                        "action", verdict.action().name()).increment();
+                return verdict;
+            }
+        }
+        return HitVerdict.PASS;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.ewm.ingest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.CreateHitDTO;
+
+/**
+ * Фильтр повторной доставки хитов с идентификатором, назначенным клиентом.
+ * <p>
+ * Отбрасывает хит, если хит с тем же идентификатором недавно сохранён. Стоит первым в цепочке:
+ * повторная доставка одного и того же хита не должна учитываться в частоте запросов с адреса.
+ * Хиты без идентификатора пропускаются.
+ */
+@Component
+@Order(50)
+@RequiredArgsConstructor
+public class HitIdFilter implements HitFilter {
+
+    private final RecentHitIds recentHitIds;
+
+    @Override
+    public HitVerdict check(CreateHitDTO dto) {
+        String hitId = dto.getHitId();
+        return hitId != null && recentHitIds.contains(hitId) ? HitVerdict.drop("duplicate-id") : HitVerdict.PASS;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.ewm.ingest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки идемпотентного приёма хитов по идентификатору, назначенному клиентом.
+ * <p>
+ * Окончательную защиту от повторов даёт уникальный индекс по hit_id; множество недавних
+ * идентификаторов в памяти лишь отсекает повторную доставку до обращения к базе.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingest.hit-id")
+public class HitIdProperties {
+
+    /**
+     * Сколько времени идентификатор принятого хита хранится в памяти.
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Максимальное количество идентификаторов в одном поколении множества.
+     */
+    private int maxEntries = 500_000;
+}
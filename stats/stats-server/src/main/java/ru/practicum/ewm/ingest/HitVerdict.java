@@ -0,0 +1,41 @@
+package ru.practicum.ewm.ingest;
+
+/**
+ * Решение цепочки фильтров о судьбе хита.
+ *
+ * @param action действие над хитом
+ * @param reason краткая причина решения (для отклонённых хитов)
+ */
+public record HitVerdict(Action action, String reason) {
+
+    /**
+     * Хит прошёл фильтр и передаётся следующему звену цепочки.
+     */
+    public static final HitVerdict PASS = new HitVerdict(Action.PASS, null);
+
+    public static HitVerdict drop(String reason) {
+        return new HitVerdict(Action.DROP, reason);
+    }
+
+    public static HitVerdict divert(String reason) {
+        return new HitVerdict(Action.DIVERT, reason);
+    }
+
+    /**
+     * Действие над хитом.
+     */
+    public enum Action {
+        /**
+         * Сохранить в основную таблицу hits.
+         */
+        PASS,
+        /**
+         * Отбросить без сохранения.
+         */
+        DROP,
+        /**
+         * Сохранить в отдельную таблицу flagged_hits.
+         */
+        DIVERT
+    }
+}
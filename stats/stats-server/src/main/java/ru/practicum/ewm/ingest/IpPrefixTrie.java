@@ -0,0 +1,203 @@
+package ru.practicum.ewm.ingest;
+
+/**
+ * Двоичное префиксное дерево для сопоставления IP-адресов с набором сетей (CIDR).
+ * <p>
+ * IPv4-адреса хранятся как IPv4-mapped IPv6 ({@code ::ffff:a.b.c.d}), поэтому одно дерево
+ * обслуживает оба семейства. Поиск проходит не более 128 узлов и не создаёт объектов, кроме
+ * разбора самого адреса. Дерево заполняется при старте и далее только читается.
+ */
+class IpPrefixTrie {
+
+    private static final int IPV4_MAPPED_OFFSET = 96;
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    /**
+     * Добавляет сеть в формате {@code адрес/длина} или одиночный адрес.
+     *
+     * @param cidr сеть, например {@code 10.0.0.0/8} или {@code 2001:db8::/32}
+     * @throws IllegalArgumentException если сеть задана некорректно
+     */
+    void add(String cidr) {
+        String[] parts = cidr.trim().split("/", 2);
+        byte[] address = toBytes(parts[0]);
+        if (address == null) {
+            throw new IllegalArgumentException("Некорректный адрес сети: " + cidr);
+        }
+        boolean ipv4 = parts[0].indexOf(':') < 0;
+        int maxLength = ipv4 ? 32 : 128;
+        int length = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : maxLength;
+        if (length < 0 || length > maxLength) {
+            throw new IllegalArgumentException("Некорректная длина префикса: " + cidr);
+        }
+        if (ipv4) {
+            length += IPV4_MAPPED_OFFSET;
+        }
+
+        Node node = root;
+        for (int bit = 0; bit < length; bit++) {
+            int b = bitAt(address, bit);
+            if (node.children[b] == null) {
+                node.children[b] = new Node();
+            }
+            node = node.children[b];
+        }
+        node.terminal = true;
+        empty = false;
+    }
+
+    /**
+     * Проверяет, входит ли адрес хотя бы в одну из сетей дерева.
+     *
+     * @param ip IPv4- или IPv6-адрес
+     * @return true, если адрес покрывается одной из сетей
+     */
+    boolean matches(String ip) {
+        if (empty) {
+            return false;
+        }
+        byte[] address = toBytes(ip);
+        if (address == null) {
+            return false;
+        }
+        Node node = root;
+        for (int bit = 0; bit < 128; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.children[bitAt(address, bit)];
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    private static int bitAt(byte[] address, int bit) {
+        return (address[bit >>> 3] >>> (7 - (bit & 7))) & 1;
+    }
+
+    /**
+     * Преобразует текстовый IP-адрес в 16 байт (IPv4 — в форме IPv4-mapped).
+     * <p>
+     * Разбираются только литералы IPv4 ({@code a.b.c.d}) и IPv6 (в том числе с {@code ::}
+     * и IPv4 в последних 32 битах); адрес разбирается вручную, без {@code InetAddress},
+     * поэтому строка, не являющаяся адресом, никогда не приводит к DNS-запросу.
+     *
+     * @return 16 байт адреса или null, если строка не является IP-адресом
+     */
+    static byte[] toBytes(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return null;
+        }
+        if (ip.indexOf(':') < 0) {
+            byte[] mapped = new byte[16];
+            mapped[10] = (byte) 0xff;
+            mapped[11] = (byte) 0xff;
+            return parseIpv4(ip, 0, ip.length(), mapped, 12) ? mapped : null;
+        }
+
+        int gap = ip.indexOf("::");
+        if (gap < 0) {
+            byte[] address = new byte[16];
+            return parseGroups(ip, 0, ip.length(), address, true) == 16 ? address : null;
+        }
+        if (ip.indexOf("::", gap + 1) >= 0) {
+            return null;
+        }
+        byte[] head = new byte[16];
+        byte[] tail = new byte[16];
+        int headLength = gap == 0 ? 0 : parseGroups(ip, 0, gap, head, false);
+        int tailLength = gap + 2 == ip.length() ? 0 : parseGroups(ip, gap + 2, ip.length(), tail, true);
+        if (headLength < 0 || tailLength < 0 || headLength + tailLength > 14) {
+            return null;
+        }
+        byte[] address = new byte[16];
+        System.arraycopy(head, 0, address, 0, headLength);
+        System.arraycopy(tail, 0, address, 16 - tailLength, tailLength);
+        return address;
+    }
+
+    /**
+     * Разбирает группы IPv6 {@code [from, to)}, разделённые двоеточием.
+     *
+     * @param ipv4Tail может ли последняя группа быть IPv4-адресом
+     * @return количество записанных байт или -1, если группы заданы некорректно
+     */
+    private static int parseGroups(String ip, int from, int to, byte[] out, boolean ipv4Tail) {
+        int written = 0;
+        int start = from;
+        while (true) {
+            int end = ip.indexOf(':', start);
+            if (end < 0 || end > to) {
+                end = to;
+            }
+            if (ipv4Tail && end == to && ip.lastIndexOf('.', to - 1) >= start) {
+                return written + 4 <= 16 && parseIpv4(ip, start, end, out, written) ? written + 4 : -1;
+            }
+            if (end == start || end - start > 4 || written + 2 > 16) {
+                return -1;
+            }
+            int group = 0;
+            for (int i = start; i < end; i++) {
+                char c = ip.charAt(i);
+                int digit = c < 128 ? Character.digit(c, 16) : -1;
+                if (digit < 0) {
+                    return -1;
+                }
+                group = (group << 4) | digit;
+            }
+            out[written++] = (byte) (group >>> 8);
+            out[written++] = (byte) group;
+            if (end == to) {
+                return written;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Разбирает IPv4-адрес {@code [from, to)} в четыре байта, начиная с {@code offset}.
+     *
+     * @return true, если адрес задан корректно
+     */
+    private static boolean parseIpv4(String ip, int from, int to, byte[] out, int offset) {
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || octets == 3) {
+                    return false;
+                }
+                out[offset + octets++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return false;
+        }
+        out[offset + 3] = (byte) value;
+        return true;
+    }
+
+    private static final class Node {
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.ewm.ingest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Неблокирующий счётчик частоты запросов по IP-адресам.
+ * <p>
+ * Представляет собой count-min sketch из двух строк полосатых (striped) счётчиков фиксированного
+ * размера. Каждая ячейка — одно {@code long}: старшие 32 бита хранят номер временного окна,
+ * младшие — счётчик; обновление выполняется CAS-циклом без блокировок. При смене окна ячейка
+ * сбрасывается лениво. Коллизии могут только завысить оценку, но не занизить её.
+ * <p>
+ * Ключом служат 128 бит разобранного адреса (IPv4 — в форме IPv4-mapped), а не {@link String#hashCode()}:
+ * разные адреса дают разные ключи, а ячейка каждой строки выбирается 64-битным перемешиванием со своим
+ * начальным значением, поэтому два адреса, совпавшие в одной строке, независимо расходятся в другой.
+ */
+class IpRateCounter {
+
+    private static final int ROWS = 2;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL};
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray[] rows = new AtomicLongArray[ROWS];
+    private final int mask;
+    private final long windowMillis;
+
+    /**
+     * @param stripes      количество ячеек в строке (округляется вверх до степени двойки)
+     * @param windowMillis длительность окна подсчёта в миллисекундах
+     */
+    IpRateCounter(int stripes, long windowMillis) {
+        int size = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new AtomicLongArray(size);
+        }
+        this.mask = size - 1;
+        this.windowMillis = Math.max(1L, windowMillis);
+    }
+
+    /**
+     * Учитывает ещё один запрос с адреса и возвращает оценку числа запросов в текущем окне.
+     *
+     * @param ip        IP-адрес
+     * @param nowMillis текущее время в миллисекундах
+     * @return оценка количества запросов (включая текущий)
+     */
+    long incrementAndEstimate(String ip, long nowMillis) {
+        int window = (int) (nowMillis / windowMillis);
+        byte[] address = IpPrefixTrie.toBytes(ip);
+        long high;
+        long low;
+        if (address != null) {
+            high = readLong(address, 0);
+            low = readLong(address, 8);
+        } else {
+            // строка, не являющаяся адресом (проверка DTO такого не пропускает)
+            high = hashChars(ip);
+            low = ip.length();
+        }
+        long estimate = Long.MAX_VALUE;
+        for (int r = 0; r < ROWS; r++) {
+            int index = (int) mix(mix(high ^ SEEDS[r]) ^ low) & mask;
+            estimate = Math.min(estimate, increment(rows[r], index, window));
+        }
+        return estimate;
+    }
+
+    private static long increment(AtomicLongArray row, int index, int window) {
+        while (true) {
+            long current = row.get(index);
+            long count = (int) (current >>> 32) == window ? current & COUNT_MASK : 0;
+            if (count == COUNT_MASK) {
+                return count;
+            }
+            long next = ((long) window << 32) | (count + 1);
+            if (row.compareAndSet(index, current, next)) {
+                return count + 1;
+            }
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * 64-битный FNV-1a по символам строки.
+     */
+    private static long hashChars(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.ewm.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Множество идентификаторов недавно сохранённых хитов.
+ * <p>
+ * Построено на {@link GenerationalSet} с поколениями длительностью в половину окна, поэтому
+ * идентификатор помнится не меньше половины окна и не больше всего окна, а объём памяти ограничен
+ * {@code 2 * maxEntries} строк.
+ * <p>
+ * Идентификаторы добавляются только после фиксации транзакции, в которой хит сохранён: иначе
+ * повтор хита, запись которого откатилась, был бы ошибочно отброшен.
+ */
+@Component
+public class RecentHitIds {
+
+    private final GenerationalSet<String> ids;
+    private final Counter conflicts;
+
+    public RecentHitIds(HitIdProperties properties, MeterRegistry meterRegistry) {
+        this.ids = new GenerationalSet<>(properties.getWindow().toMillis() / 2, properties.getMaxEntries());
+        this.conflicts = Counter.builder("stats.hits.hit-id.conflicts")
+                .description("Количество повторов, отсечённых уникальным индексом по hit_id")
+                .register(meterRegistry);
+        Gauge.builder("stats.hits.hit-id.recent", ids, GenerationalSet::size)
+                .description("Количество идентификаторов хитов в памяти")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Проверяет, был ли хит с указанным идентификатором недавно сохранён.
+     *
+     * @param hitId идентификатор хита
+     * @return true, если идентификатор есть в памяти
+     */
+    public boolean contains(String hitId) {
+        return ids.contains(hitId);
+    }
+
+    /**
+     * Запоминает идентификатор сохранённого хита.
+     *
+     * @param hitId идентификатор хита
+     */
+    public void remember(String hitId) {
+        ids.add(hitId);
+    }
+
+    /**
+     * Учитывает повторы, которые не были найдены в памяти и были отсечены уникальным индексом.
+     *
+     * @param count количество повторов
+     */
+    public void recordConflicts(long count) {
+        if (count > 0) {
+            conflicts.increment(count);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.ewm.ingest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Вращающийся фильтр Блума с временными корзинами.
+ * <p>
+ * Окно разбито на {@code buckets} корзин одинаковой длительности; дополнительно хранится ещё одна
+ * корзина, чтобы ключ гарантированно «помнился» не меньше всего окна. При переходе к новой корзине
+ * самая старая очищается, поэтому объём памяти фиксирован: {@code (buckets + 1) * bitsPerBucket} бит.
+ * <p>
+ * Ложноположительные срабатывания возможны с заданной вероятностью, ложноотрицательные — только
+ * при гонке с очисткой корзины (дубликат в этом случае просто не будет отброшен).
+ */
+class RotatingBloomFilter {
+
+    private final long bucketMillis;
+    private final int bitsPerBucket;
+    private final int hashFunctions;
+    private final AtomicLongArray[] slots;
+
+    private volatile long currentEpoch = Long.MIN_VALUE;
+
+    /**
+     * @param windowMillis       длительность окна в миллисекундах
+     * @param buckets            количество корзин, на которое делится окно
+     * @param expectedPerBucket  ожидаемое количество уникальных ключей в одной корзине
+     * @param falsePositiveRate  допустимая вероятность ложноположительного срабатывания
+     */
+    RotatingBloomFilter(long windowMillis, int buckets, long expectedPerBucket, double falsePositiveRate) {
+        this.bucketMillis = Math.max(1L, windowMillis / buckets);
+        long bits = (long) Math.ceil(-expectedPerBucket * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerBucket = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64L, bits));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerBucket / expectedPerBucket * Math.log(2)));
+        this.slots = new AtomicLongArray[buckets + 1];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new AtomicLongArray((bitsPerBucket + 63) / 64);
+        }
+    }
+
+    /**
+     * Проверяет, встречался ли ключ в пределах окна.
+     *
+     * @param hash      64-битный хеш ключа
+     * @param nowMillis текущее время в миллисекундах
+     * @return true, если ключ уже встречался в окне
+     */
+    boolean contains(long hash, long nowMillis) {
+        advance(nowMillis);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (AtomicLongArray slot : slots) {
+            if (mightContain(slot, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Запоминает ключ в текущей корзине.
+     *
+     * @param hash      64-битный хеш ключа
+     * @param nowMillis текущее время в миллисекундах
+     */
+    void put(long hash, long nowMillis) {
+        advance(nowMillis);
+        put(slots[Math.floorMod(currentEpoch, slots.length)], (int) hash, (int) (hash >>> 32));
+    }
+
+    /**
+     * Возвращает объём памяти, занимаемый битовыми массивами, в байтах.
+     *
+     * @return размер фильтра в байтах
+     */
+    long sizeInBytes() {
+        return (long) slots.length * slots[0].length() * Long.BYTES;
+    }
+
+    private void advance(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        if (epoch > currentEpoch) {
+            rotate(epoch);
+        }
+    }
+
+    /**
+     * Очищает корзины, которые вышли за пределы окна при переходе к эпохе {@code epoch}.
+     */
+    private synchronized void rotate(long epoch) {
+        if (epoch <= currentEpoch) {
+            return;
+        }
+        long first = currentEpoch == Long.MIN_VALUE ? epoch - slots.length + 1
+                : Math.max(currentEpoch + 1, epoch - slots.length + 1);
+        for (long e = first; e <= epoch; e++) {
+            clear(slots[Math.floorMod(e, slots.length)]);
+        }
+        currentEpoch = epoch;
+    }
+
+    private boolean mightContain(AtomicLongArray bits, int h1, int h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = index(h1, h2, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(AtomicLongArray bits, int h1, int h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = index(h1, h2, i);
+            long mask = 1L << bit;
+            bits.getAndAccumulate(bit >>> 6, mask, (current, m) -> current | m);
+        }
+    }
+
+    private int index(int h1, int h2, int i) {
+        return Math.floorMod(h1 + i * h2, bitsPerBucket);
+    }
+
+    private static void clear(AtomicLongArray bits) {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+}
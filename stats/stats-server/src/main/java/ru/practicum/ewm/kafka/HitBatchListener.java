@@ -0,0 +1,94 @@
+package ru.practicum.ewm.kafka;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.service.HitService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Потребитель топика хитов.
+ * <p>
+ * Каждая запись проверяется ограничениями {@link CreateHitDTO}, как и хиты {@code POST /hit/batch}, но пакет
+ * не отклоняется целиком: нечитаемые и некорректные хиты отбрасываются с учётом в метрике
+ * {@code stats.ingest.kafka.hits}, остальные записываются одной транзакцией через {@link HitService#createHits}.
+ * Смещения фиксируются только после фиксации этой транзакции; при ошибке записи пакет повторяется,
+ * а уже записанные хиты отбрасываются как повторы по идентификатору хита.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "stats.ingest.kafka", name = "enabled", havingValue = "true")
+public class HitBatchListener {
+
+    private final HitService hitService;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+
+    public HitBatchListener(HitService hitService, Validator validator, MeterRegistry meterRegistry) {
+        this.hitService = hitService;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("stats.ingest.kafka.batch.size")
+                .description("Количество записей в пакете, прочитанном из топика хитов")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "${stats.ingest.kafka.topic}", containerFactory = "hitBatchListenerContainerFactory")
+    public void onHits(List<ConsumerRecord<String, CreateHitDTO>> records, Acknowledgment acknowledgment) {
+        batchSize.record(records.size());
+        List<CreateHitDTO> hits = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, CreateHitDTO> record : records) {
+            CreateHitDTO hit = record.value();
+            if (hit == null) {
+                log.warn("Не удалось прочитать хит из {}-{}@{}", record.topic(), record.partition(), record.offset());
+                count("undecodable", 1);
+                continue;
+            }
+            String violation = validate(hit);
+            if (violation != null) {
+                log.warn("Некорректный хит {}-{}@{} отброшен: {}", record.topic(), record.partition(),
+                        record.offset(), violation);
+                count("invalid", 1);
+                continue;
+            }
+            hits.add(hit);
+        }
+        if (!hits.isEmpty()) {
+            hitService.createHits(hits);
+        }
+        acknowledgment.acknowledge();
+        count("accepted", hits.size());
+    }
+
+    /**
+     * Проверяет хит ограничениями DTO. Ошибка самого валидатора считается нарушением: иначе запись,
+     * на которой он падает, повторялась бы бесконечно и остановила бы чтение раздела.
+     *
+     * @return описание первого нарушения или null, если хит корректен
+     */
+    private String validate(CreateHitDTO hit) {
+        try {
+            Set<ConstraintViolation<CreateHitDTO>> violations = validator.validate(hit);
+            return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void count(String result, int hits) {
+        meterRegistry.counter("stats.ingest.kafka.hits", "result", result).increment(hits);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.ewm.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+import ru.practicum.dto.CreateHitDTO;
+
+import java.util.Map;
+
+/**
+ * Конфигурация приёма хитов из Kafka ({@code stats.ingest.kafka.enabled=true}).
+ * <p>
+ * Хиты читаются пакетами до {@code batch-size} записей в {@code concurrency} потоках. Автоматическая
+ * фиксация смещений выключена: смещения фиксирует {@link HitBatchListener} после записи пакета в базу.
+ * Пакет, запись которого не удалась, повторяется с паузой {@code retry-delay}, пока запись не пройдёт;
+ * потребитель на это время приостанавливается, но остаётся в группе.
+ * <p>
+ * Отставание потребителей публикуется клиентскими метриками Kafka
+ * {@code kafka.consumer.fetch.manager.records.lag} (по разделам) и {@code kafka.consumer.fetch.manager.records.lag.max}.
+ */
+@EnableKafka
+@Configuration
+@ConditionalOnProperty(prefix = "stats.ingest.kafka", name = "enabled", havingValue = "true")
+public class KafkaIngestConfiguration {
+
+    @Bean
+    public NewTopic hitsTopic(KafkaIngestProperties properties) {
+        return TopicBuilder.name(properties.getTopic())
+                .partitions(properties.getPartitions())
+                .build();
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CreateHitDTO> hitBatchListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            KafkaIngestProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(null);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, properties.getGroupId());
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getBatchSize());
+        DefaultKafkaConsumerFactory<String, CreateHitDTO> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(CreateHitDTO.class, false)));
+        meterRegistry.ifAvailable(registry -> consumerFactory.addListener(new MicrometerConsumerListener<>(registry)));
+
+        ConcurrentKafkaListenerContainerFactory<String, CreateHitDTO> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(properties.getConcurrency());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new FixedBackOff(properties.getRetryDelay().toMillis(), FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.ewm.kafka;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки приёма хитов из топика Kafka.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.ingest.kafka")
+public class KafkaIngestProperties {
+
+    /**
+     * Читать хиты из топика. По умолчанию выключено; {@code POST /hit} работает независимо.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Топик хитов, в который публикует stats-client.
+     */
+    private String topic = "stats.hits";
+
+    /**
+     * Группа потребителей; экземпляры сервиса в одной группе делят разделы топика.
+     */
+    private String groupId = "stats-server";
+
+    /**
+     * Количество разделов, с которым топик создаётся, если его ещё нет.
+     */
+    private int partitions = 4;
+
+    /**
+     * Количество потоков-потребителей в экземпляре; больше числа разделов не имеет смысла.
+     */
+    private int concurrency = 1;
+
+    /**
+     * Максимальное количество хитов в одном пакете записи ({@code max.poll.records}).
+     */
+    private int batchSize = 2_000;
+
+    /**
+     * Пауза перед повторной записью пакета после ошибки.
+     */
+    private Duration retryDelay = Duration.ofSeconds(5);
+}
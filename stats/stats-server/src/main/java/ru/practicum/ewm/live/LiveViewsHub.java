@@ -0,0 +1,288 @@
+package ru.practicum.ewm.live;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.dto.HitsStatDTO;
+import ru.practicum.dto.ViewCountDTO;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
+import ru.practicum.ewm.exception.model.SubscriptionLimitException;
+import ru.practicum.ewm.service.StatsService;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Рассылка текущего количества просмотров подписчикам по Server-Sent Events.
+ * <p>
+ * Приём хитов помечает URI, на которые есть подписки, как изменённые ({@link #onHitsStored}).
+ * Раз в период рассылки количество просмотров изменённых URI пересчитывается одним запросом
+ * на каждую комбинацию (начало периода, уникальность) и отправляется подписчикам, поэтому каждый URI
+ * обновляется не чаще одного раза за период независимо от частоты хитов.
+ * <p>
+ * Ожидающие подписки не занимают потоков: соединение удерживается асинхронным запросом сервлета.
+ * Запись в соединение выполняется в виртуальных потоках, поэтому медленный клиент не задерживает
+ * рассылку остальным; обновления одного подписчика отправляются последовательно, а накопившиеся
+ * за время отправки — объединяются.
+ */
+@Slf4j
+@Component
+public class LiveViewsHub {
+
+    /**
+     * Начало периода подсчёта, если подписчик его не указал.
+     */
+    private static final LocalDateTime DEFAULT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final StatsService statsService;
+    private final LiveViewsProperties properties;
+    private final Counter pushes;
+    private final Map<String, Set<Subscription>> subscriptionsByUri = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<String> changedUris = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LiveViewsHub(StatsService statsService, LiveViewsProperties properties, MeterRegistry meterRegistry) {
+        this.statsService = statsService;
+        this.properties = properties;
+        this.pushes = Counter.builder("stats.live.pushes")
+                .description("Количество отправленных подписчикам обновлений")
+                .register(meterRegistry);
+        Gauge.builder("stats.live.subscribers", subscriptions, Set::size)
+                .description("Количество подписчиков потока просмотров")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Оформляет подписку на количество просмотров указанных URI.
+     * <p>
+     * Текущие значения отправляются в ближайший период рассылки, далее — при изменении.
+     *
+     * @param uris   URI, на которые оформляется подписка
+     * @param start  начало периода подсчёта (опционально)
+     * @param unique считать только уникальные IP-адреса
+     * @return поток событий {@code views}
+     * @throws InvalidParameterException  если список URI пуст или слишком велик
+     * @throws SubscriptionLimitException если достигнуто максимальное количество подписок
+     */
+    public SseEmitter subscribe(List<String> uris, LocalDateTime start, boolean unique) {
+        if (uris == null || uris.isEmpty() || uris.size() > properties.getMaxUrisPerSubscription()) {
+            throw new InvalidParameterException("Количество URI в подписке должно быть от 1 до {0}",
+                    properties.getMaxUrisPerSubscription());
+        }
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new SubscriptionLimitException("Достигнуто максимальное количество подписок: {0}",
+                    properties.getMaxSubscribers());
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getSubscriptionTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, new LinkedHashSet<>(uris),
+                start == null ? DEFAULT_START : start, unique);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        subscriptions.add(subscription);
+        for (String uri : subscription.uris) {
+            subscriptionsByUri.computeIfAbsent(uri, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        changedUris.addAll(subscription.uris);
+        return emitter;
+    }
+
+    /**
+     * Помечает URI сохранённых хитов как изменённые. Вызывается после фиксации транзакции.
+     *
+     * @param uris URI сохранённых хитов
+     */
+    public void onHitsStored(Collection<String> uris) {
+        for (String uri : uris) {
+            if (subscriptionsByUri.containsKey(uri)) {
+                changedUris.add(uri);
+            }
+        }
+    }
+
+    /**
+     * Пересчитывает количество просмотров изменённых URI и рассылает его подписчикам.
+     */
+    @Scheduled(fixedDelayString = "${stats.live.push-interval:1s}")
+    public void push() {
+        Map<CountKey, Set<String>> queries = new HashMap<>();
+        for (Iterator<String> it = changedUris.iterator(); it.hasNext(); ) {
+            String uri = it.next();
+            it.remove();
+            for (Subscription subscription : subscriptionsByUri.getOrDefault(uri, Set.of())) {
+                queries.computeIfAbsent(subscription.countKey(), key -> new LinkedHashSet<>()).add(uri);
+            }
+        }
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Subscription> touched = new LinkedHashSet<>();
+        queries.forEach((key, uris) -> {
+            Map<String, Long> views = count(key, uris, now);
+            for (String uri : uris) {
+                long value = views.getOrDefault(uri, 0L);
+                for (Subscription subscription : subscriptionsByUri.getOrDefault(uri, Set.of())) {
+                    if (subscription.countKey().equals(key)) {
+                        subscription.offer(uri, value);
+                        touched.add(subscription);
+                    }
+                }
+            }
+        });
+        touched.forEach(this::dispatch);
+    }
+
+    /**
+     * Отправляет подписчикам комментарий-пульс, чтобы обнаружить закрытые соединения.
+     */
+    @Scheduled(fixedDelayString = "${stats.live.heartbeat-interval:30s}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            senders.execute(() -> send(subscription, SseEmitter.event().comment("ping")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private Map<String, Long> count(CountKey key, Set<String> uris, LocalDateTime now) {
+        Map<String, Long> views = new HashMap<>();
+        if (!key.start().isBefore(now)) {
+            return views;
+        }
+        try {
+            for (HitsStatDTO row : statsService.getStats(key.start(), now, new ArrayList<>(uris), key.unique())) {
+                views.merge(row.getUri(), row.getHits(), Long::sum);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось пересчитать просмотры для подписчиков: {}", e.getMessage());
+            changedUris.addAll(uris);
+        }
+        return views;
+    }
+
+    private void dispatch(Subscription subscription) {
+        List<ViewCountDTO> batch = subscription.take();
+        if (batch != null) {
+            senders.execute(() -> drain(subscription, batch));
+        }
+    }
+
+    private void drain(Subscription subscription, List<ViewCountDTO> first) {
+        for (List<ViewCountDTO> batch = first; batch != null; batch = subscription.next()) {
+            if (!send(subscription, SseEmitter.event().name("views").data(batch, MediaType.APPLICATION_JSON))) {
+                return;
+            }
+            pushes.increment();
+        }
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscription);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (String uri : subscription.uris) {
+            subscriptionsByUri.computeIfPresent(uri, (key, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Параметры подсчёта, общие для нескольких подписчиков.
+     */
+    private record CountKey(LocalDateTime start, boolean unique) {
+    }
+
+    /**
+     * Подписка одного клиента с буфером ещё не отправленных значений.
+     */
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<String> uris;
+        private final CountKey countKey;
+        private final Map<String, Long> pending = new LinkedHashMap<>();
+        private boolean sending;
+
+        private Subscription(SseEmitter emitter, Set<String> uris, LocalDateTime start, boolean unique) {
+            this.emitter = emitter;
+            this.uris = uris;
+            this.countKey = new CountKey(start, unique);
+        }
+
+        private CountKey countKey() {
+            return countKey;
+        }
+
+        private synchronized void offer(String uri, long views) {
+            pending.put(uri, views);
+        }
+
+        /**
+         * Забирает накопленные значения, если отправка ещё не идёт.
+         */
+        private synchronized List<ViewCountDTO> take() {
+            if (sending || pending.isEmpty()) {
+                return null;
+            }
+            sending = true;
+            return drainPending();
+        }
+
+        /**
+         * Забирает значения, накопленные во время отправки, или завершает отправку.
+         */
+        private synchronized List<ViewCountDTO> next() {
+            if (pending.isEmpty()) {
+                sending = false;
+                return null;
+            }
+            return drainPending();
+        }
+
+        private List<ViewCountDTO> drainPending() {
+            List<ViewCountDTO> batch = new ArrayList<>(pending.size());
+            pending.forEach((uri, views) -> batch.add(new ViewCountDTO(uri, views)));
+            pending.clear();
+            return batch;
+        }
+    }
+}
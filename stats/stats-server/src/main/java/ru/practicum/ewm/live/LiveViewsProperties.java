@@ -0,0 +1,41 @@
+package ru.practicum.ewm.live;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки потока текущего количества просмотров ({@code GET /stats/live}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.live")
+public class LiveViewsProperties {
+
+    /**
+     * Период рассылки обновлений: не чаще одного обновления URI за период.
+     */
+    private Duration pushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Период отправки комментария-пульса, по которому обнаруживаются отключившиеся клиенты.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * Время жизни подписки; по истечении клиент переподключается.
+     */
+    private Duration subscriptionTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Максимальное количество одновременных подписок.
+     */
+    private int maxSubscribers = 50_000;
+
+    /**
+     * Максимальное количество URI в одной подписке.
+     */
+    private int maxUrisPerSubscription = 100;
+}
@@ -4,10 +4,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.model.FlaggedHit;
 import ru.practicum.ewm.model.Hit;
 
 /**
- * Mapper для преобразования между DTO {@link CreateHitDTO} и сущностью {@link Hit}.
+ * Mapper для преобразования между DTO {@link CreateHitDTO} и сущностями {@link Hit} и {@link FlaggedHit}.
  * <p>
  * Используется MapStruct для автоматической генерации логики преобразования.
  */
@@ -23,4 +24,14 @@ public interface HitMapper {
      */
     @Mapping(target = "id", ignore = true)
     Hit mapToHit(CreateHitDTO createHitDTO);
+
+    /**
+     * Преобразует DTO {@link CreateHitDTO} в модель помеченного хита {@link FlaggedHit}.
+     *
+     * @param createHitDTO данные хита
+     * @param reason       причина пометки
+     * @return модель помеченного хита
+     */
+    @Mapping(target = "id", ignore = true)
+    FlaggedHit mapToFlaggedHit(CreateHitDTO createHitDTO, String reason);
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package ru.practicum.ewm.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сущность FlaggedHit (помеченный просмотр).
+ * <p>
+ * Хит, отклонённый фильтром ботов и злоупотреблений. Хранится отдельно от основной таблицы hits
+ * и не участвует в подсчёте статистики.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "flagged_hits", schema = "public")
+public class FlaggedHit {
+
+    /**
+     * Уникальный идентификатор записи.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Название приложения.
+     */
+    @Column(nullable = false)
+    private String app;
+
+    /**
+     * URI, который был посещён.
+     */
+    @Column(nullable = false)
+    private String uri;
+
+    /**
+     * IP-адрес пользователя, совершившего запрос.
+     */
+    @Column(nullable = false, length = 45)
+    private String ip;
+
+    /**
+     * Дата и время, когда произошёл просмотр.
+     */
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    /**
+     * Причина, по которой хит был помечен (например, deny-list или rate-limit).
+     */
+    @Column(nullable = false, length = 32)
+    private String reason;
+}
@@ -63,4 +63,11 @@ public class Hit {
      */
     @Column(nullable = false)
     private LocalDateTime timestamp;
+
+    /**
+     * Идентификатор хита, назначенный клиентом.
+     * Необязательное поле, уникально среди непустых значений.
+     */
+    @Column(name = "hit_id", unique = true, length = 64)
+    private String hitId;
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package ru.practicum.ewm.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки ограничения запросов статистики.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.query")
+public class QueryGuardProperties {
+
+    /**
+     * Предельное время выполнения запроса статистики; клиент может уменьшить его заголовком
+     * {@code X-Stats-Deadline-Millis}.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное количество одновременно выполняемых запросов статистики; остальные соединения
+     * пула остаются приёму хитов.
+     */
+    private int maxConcurrent = 4;
+
+    /**
+     * Сколько запрос ждёт свободного места, прежде чем будет отклонён.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,157 @@
+package ru.practicum.ewm.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.client.StatsClient;
+import ru.practicum.ewm.exception.model.QueryLimitException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ограничение запросов статистики по времени и количеству.
+ * <p>
+ * Каждый запрос выполняется в транзакции только для чтения с таймаутом: Hibernate передаёт его
+ * в {@code Statement.setQueryTimeout}, а в PostgreSQL дополнительно устанавливается
+ * {@code statement_timeout} с точностью до миллисекунд, и база сама прерывает запрос по истечении срока.
+ * Срок — меньшее из {@code stats.query.timeout} и заголовка {@link StatsClient#DEADLINE_HEADER}:
+ * клиент передаёт в нём своё время ожидания ответа, поэтому запрос не продолжается после того,
+ * как клиент перестал его ждать.
+ * <p>
+ * Одновременно выполняется не больше {@code stats.query.max-concurrent} запросов, чтобы всплеск
+ * аналитических запросов не занял все соединения пула, нужные приёму хитов.
+ * Вложенные вызовы (например, приближённая статистика, перешедшая на точную) выполняются
+ * в рамках уже полученного разрешения.
+ */
+@Slf4j
+@Component
+public class StatsQueryGuard {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryGuardProperties properties;
+    private final Semaphore permits;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    private volatile Boolean postgres;
+
+    public StatsQueryGuard(PlatformTransactionManager transactionManager,
+                           JdbcTemplate jdbcTemplate,
+                           QueryGuardProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.transactionManager = transactionManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrent(), true);
+        this.rejected = Counter.builder("stats.query.rejected")
+                .description("Количество запросов статистики, отклонённых ограничителем")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("stats.query.timeouts")
+                .description("Количество запросов статистики, прерванных по сроку")
+                .register(meterRegistry);
+        Gauge.builder("stats.query.active", permits, p -> properties.getMaxConcurrent() - p.availablePermits())
+                .description("Количество выполняемых запросов статистики")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполняет запрос статистики с ограничением по сроку и количеству.
+     *
+     * @param query запрос
+     * @return результат запроса
+     * @throws QueryLimitException   если свободное место не освободилось за {@code acquire-timeout}
+     * @throws QueryTimeoutException если запрос не уложился в срок
+     */
+    public <T> T execute(Supplier<T> query) {
+        if (ACTIVE.get() != null) {
+            return query.get();
+        }
+        long deadlineMillis = deadlineMillis();
+        acquire();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(deadlineMillis + 999)));
+            return transaction.execute(status -> {
+                if (isPostgres()) {
+                    jdbcTemplate.execute("SET LOCAL statement_timeout = " + deadlineMillis);
+                }
+                ACTIVE.set(Boolean.TRUE);
+                try {
+                    return query.get();
+                } finally {
+                    ACTIVE.remove();
+                }
+            });
+        } catch (QueryTimeoutException | TransactionTimedOutException e) {
+            timedOut.increment();
+            log.warn("Запрос статистики прерван по сроку {} мс", deadlineMillis);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new QueryLimitException("Превышено количество одновременных запросов статистики: {0}",
+                properties.getMaxConcurrent());
+    }
+
+    /**
+     * Срок запроса: настроенный или меньший, переданный клиентом.
+     */
+    private long deadlineMillis() {
+        long deadline = properties.getTimeout().toMillis();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String header = servletAttributes.getRequest().getHeader(StatsClient.DEADLINE_HEADER);
+            if (header != null) {
+                try {
+                    deadline = Math.min(deadline, Math.max(1, Long.parseLong(header.trim())));
+                } catch (NumberFormatException e) {
+                    log.debug("Некорректный заголовок {}: {}", StatsClient.DEADLINE_HEADER, header);
+                }
+            }
+        }
+        return deadline;
+    }
+
+    /**
+     * Проверяет, работает ли сервис с PostgreSQL; результат запоминается после первого обращения.
+     *
+     * @return true для PostgreSQL, false для других СУБД (H2 в тестах)
+     */
+    public boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.ewm.rebuild;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки перестроения агрегатов ({@code POST /admin/rebuild/unique-index}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.rebuild")
+public class RebuildProperties {
+
+    /**
+     * Количество диапазонов, обрабатываемых одновременно.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Длина одного диапазона в днях; диапазон обрабатывается одной транзакцией.
+     */
+    private int rangeDays = 1;
+
+    /**
+     * Пауза каждого обработчика между диапазонами, чтобы не вытеснять рабочую нагрузку.
+     */
+    private Duration pause = Duration.ofMillis(100);
+}
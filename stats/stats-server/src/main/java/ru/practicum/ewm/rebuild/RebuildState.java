@@ -0,0 +1,37 @@
+package ru.practicum.ewm.rebuild;
+
+/**
+ * Состояние перестроения агрегата.
+ */
+public enum RebuildState {
+
+    /**
+     * Перестроение не запускалось.
+     */
+    IDLE,
+
+    /**
+     * Диапазоны истории обрабатываются в теневую таблицу.
+     */
+    RUNNING,
+
+    /**
+     * Теневая таблица дополняется хитами, пришедшими во время перестроения, и подменяет рабочую.
+     */
+    SWAPPING,
+
+    /**
+     * Перестроение завершено, рабочая таблица заменена.
+     */
+    COMPLETED,
+
+    /**
+     * Перестроение остановлено; обработанные диапазоны сохранены для продолжения.
+     */
+    CANCELLED,
+
+    /**
+     * Перестроение завершилось ошибкой; обработанные диапазоны сохранены для продолжения.
+     */
+    FAILED
+}
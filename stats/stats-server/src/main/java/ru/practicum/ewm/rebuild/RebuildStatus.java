@@ -0,0 +1,56 @@
+package ru.practicum.ewm.rebuild;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ход перестроения агрегата.
+ */
+@Getter
+@Builder
+@ToString
+public class RebuildStatus {
+
+    /**
+     * Перестраиваемая таблица.
+     */
+    private String target;
+
+    /**
+     * Текущее состояние.
+     */
+    private RebuildState state;
+
+    /**
+     * Количество диапазонов истории.
+     */
+    private long totalRanges;
+
+    /**
+     * Количество обработанных диапазонов, включая обработанные до продолжения.
+     */
+    private long completedRanges;
+
+    /**
+     * Количество строк, записанных в теневую таблицу в текущем запуске.
+     */
+    private long insertedRows;
+
+    /**
+     * Время запуска.
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Время завершения (успешного или нет).
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Текст ошибки, если перестроение завершилось ошибкой.
+     */
+    private String error;
+}
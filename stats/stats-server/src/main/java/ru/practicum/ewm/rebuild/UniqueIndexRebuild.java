@@ -0,0 +1,324 @@
+package ru.practicum.ewm.rebuild;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.exception.model.RebuildInProgressException;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Перестроение индекса уникальных посетителей hits_daily_ips по сырым хитам.
+ * <p>
+ * Порядок работы:
+ * <ol>
+ *     <li>фиксируется граница — наибольший id сырого хита; хиты до границы обрабатываются
+ *     по диапазонам дней, хиты после неё — при подмене;</li>
+ *     <li>история делится на диапазоны по {@code stats.rebuild.range-days} дней, которые
+ *     {@code stats.rebuild.parallelism} обработчиков в виртуальных потоках записывают в теневую таблицу
+ *     hits_daily_ips_rebuild. Каждый диапазон — отдельная транзакция, в которой он отмечается
+ *     в aggregate_rebuild_ranges, поэтому прерванное перестроение продолжается с необработанных диапазонов;</li>
+ *     <li>при подмене запись хитов на время блокируется, теневая таблица дополняется хитами после границы
+ *     и днями, сырые хиты которых уже прорежены, и одной транзакцией переименовывается в hits_daily_ips.</li>
+ * </ol>
+ * В PostgreSQL подмена атомарна: переименование таблиц выполняется в той же транзакции.
+ */
+@Slf4j
+@Component
+public class UniqueIndexRebuild {
+
+    static final String TARGET = "hits_daily_ips";
+
+    private static final String SHADOW = "hits_daily_ips_rebuild";
+    private static final String CREATE_SHADOW_SQL = """
+            CREATE TABLE IF NOT EXISTS hits_daily_ips_rebuild
+            (
+                app      VARCHAR(255) NOT NULL,
+                uri      TEXT         NOT NULL,
+                hit_date DATE         NOT NULL,
+                ip       VARCHAR(45)  NOT NULL,
+                PRIMARY KEY (app, uri, hit_date, ip)
+            )
+            """;
+    private static final String FILL_RANGE_SQL = """
+            INSERT INTO hits_daily_ips_rebuild (app, uri, hit_date, ip)
+            SELECT DISTINCT h.app, h.uri, CAST(h.timestamp AS DATE), h.ip
+            FROM hits h
+            WHERE h.timestamp >= ? AND h.timestamp < ? AND h.id <= ?
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String CATCH_UP_SQL = """
+            INSERT INTO hits_daily_ips_rebuild (app, uri, hit_date, ip)
+            SELECT DISTINCT h.app, h.uri, CAST(h.timestamp AS DATE), h.ip
+            FROM hits h
+            WHERE h.id > ?
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String KEEP_DOWNSAMPLED_SQL = """
+            INSERT INTO hits_daily_ips_rebuild (app, uri, hit_date, ip)
+            SELECT d.app, d.uri, d.hit_date, d.ip
+            FROM hits_daily_ips d
+            WHERE d.hit_date < ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RebuildProperties properties;
+    private final AtomicLong completedRanges = new AtomicLong();
+    private final AtomicLong insertedRows = new AtomicLong();
+
+    private volatile RebuildState state = RebuildState.IDLE;
+    private volatile boolean cancelled;
+    private volatile long totalRanges;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public UniqueIndexRebuild(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              RebuildProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        Gauge.builder("stats.rebuild.ranges.completed", completedRanges, AtomicLong::get)
+                .tag("target", TARGET)
+                .description("Количество обработанных диапазонов перестроения")
+                .register(meterRegistry);
+        Gauge.builder("stats.rebuild.ranges.total", this, rebuild -> rebuild.totalRanges)
+                .tag("target", TARGET)
+                .description("Количество диапазонов перестроения")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запускает перестроение в фоне.
+     *
+     * @param resume продолжить прерванное перестроение с необработанных диапазонов
+     * @return состояние на момент запуска
+     * @throws RebuildInProgressException если перестроение уже выполняется
+     */
+    public synchronized RebuildStatus start(boolean resume) {
+        if (state == RebuildState.RUNNING || state == RebuildState.SWAPPING) {
+            throw new RebuildInProgressException("Перестроение {0} уже выполняется", TARGET);
+        }
+        cancelled = false;
+        completedRanges.set(0);
+        insertedRows.set(0);
+        totalRanges = 0;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        state = RebuildState.RUNNING;
+        Thread.ofVirtual().name("unique-index-rebuild").start(() -> run(resume));
+        return status();
+    }
+
+    /**
+     * Останавливает перестроение после обработки текущих диапазонов. Подмена, если уже началась,
+     * не прерывается.
+     *
+     * @return текущее состояние
+     */
+    public RebuildStatus cancel() {
+        cancelled = true;
+        return status();
+    }
+
+    /**
+     * Возвращает ход перестроения.
+     *
+     * @return текущее состояние
+     */
+    public RebuildStatus status() {
+        return RebuildStatus.builder()
+                .target(TARGET)
+                .state(state)
+                .totalRanges(totalRanges)
+                .completedRanges(completedRanges.get())
+                .insertedRows(insertedRows.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    private void run(boolean resume) {
+        try {
+            boolean postgres = isPostgres();
+            long fence = prepare(resume, postgres);
+            LocalDate firstDay = buildRanges(fence);
+            if (cancelled) {
+                finish(RebuildState.CANCELLED, null);
+                log.info("Перестроение {} остановлено: обработано {} из {} диапазонов",
+                        TARGET, completedRanges.get(), totalRanges);
+                return;
+            }
+            state = RebuildState.SWAPPING;
+            swap(fence, firstDay, postgres);
+            finish(RebuildState.COMPLETED, null);
+            log.info("Перестроение {} завершено: записано {} строк", TARGET, insertedRows.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(RebuildState.CANCELLED, null);
+        } catch (RuntimeException | ExecutionException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            finish(RebuildState.FAILED, cause.getMessage());
+            log.error("Ошибка перестроения {}, обработанные диапазоны сохранены для продолжения", TARGET, cause);
+        }
+    }
+
+    /**
+     * Готовит теневую таблицу и возвращает границу сырых хитов: при продолжении — сохранённую,
+     * иначе — новую. Новая граница фиксируется под блокировкой записи в hits, поэтому все хиты
+     * с меньшим id к этому моменту уже зафиксированы.
+     */
+    private long prepare(boolean resume, boolean postgres) {
+        if (resume) {
+            List<Long> fences = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT fence_id FROM aggregate_rebuild_ranges WHERE target = ?", Long.class, TARGET);
+            if (fences.size() == 1) {
+                jdbcTemplate.execute(CREATE_SHADOW_SQL);
+                log.info("Продолжение перестроения {} с границей id {}", TARGET, fences.getFirst());
+                return fences.getFirst();
+            }
+        }
+        jdbcTemplate.update("DELETE FROM aggregate_rebuild_ranges WHERE target = ?", TARGET);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW);
+        jdbcTemplate.execute(CREATE_SHADOW_SQL);
+        Long fence = transactionTemplate.execute(status -> {
+            if (postgres) {
+                jdbcTemplate.execute("LOCK TABLE hits IN SHARE MODE");
+            }
+            return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM hits", Long.class);
+        });
+        log.info("Перестроение {} с границей id {}", TARGET, fence);
+        return fence == null ? 0 : fence;
+    }
+
+    /**
+     * Обрабатывает диапазоны истории до границы.
+     *
+     * @return первый день сырой истории или null, если сырых хитов нет
+     */
+    private LocalDate buildRanges(long fence) throws InterruptedException, ExecutionException {
+        List<LocalDate> bounds = jdbcTemplate.query(
+                "SELECT MIN(h.timestamp), MAX(h.timestamp) FROM hits h WHERE h.id <= ?",
+                (rs, rowNum) -> {
+                    Timestamp min = rs.getTimestamp(1);
+                    Timestamp max = rs.getTimestamp(2);
+                    return min == null ? null : List.of(min.toLocalDateTime().toLocalDate(),
+                            max.toLocalDateTime().toLocalDate());
+                }, fence).getFirst();
+        if (bounds == null) {
+            return null;
+        }
+
+        Set<LocalDate> done = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT range_start FROM aggregate_rebuild_ranges WHERE target = ?", LocalDate.class, TARGET));
+        int rangeDays = Math.max(1, properties.getRangeDays());
+        Queue<LocalDate> pending = new ConcurrentLinkedQueue<>();
+        long total = 0;
+        for (LocalDate day = bounds.getFirst(); !day.isAfter(bounds.getLast()); day = day.plusDays(rangeDays)) {
+            total++;
+            if (!done.contains(day)) {
+                pending.add(day);
+            }
+        }
+        totalRanges = total;
+        completedRanges.set(total - pending.size());
+        log.info("Перестроение {}: {} диапазонов, осталось {}", TARGET, total, pending.size());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, properties.getParallelism()); i++) {
+                futures.add(workers.submit(() -> {
+                    work(pending, fence, rangeDays);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return bounds.getFirst();
+    }
+
+    private void work(Queue<LocalDate> pending, long fence, int rangeDays) throws InterruptedException {
+        try {
+            for (LocalDate day = pending.poll(); day != null && !cancelled; day = pending.poll()) {
+                LocalDate rangeStart = day;
+                Integer rows = transactionTemplate.execute(status -> {
+                    int inserted = jdbcTemplate.update(FILL_RANGE_SQL,
+                            Timestamp.valueOf(rangeStart.atStartOfDay()),
+                            Timestamp.valueOf(rangeStart.plusDays(rangeDays).atStartOfDay()),
+                            fence);
+                    jdbcTemplate.update("INSERT INTO aggregate_rebuild_ranges (target, range_start, fence_id) "
+                                        + "VALUES (?, ?, ?)", TARGET, Date.valueOf(rangeStart), fence);
+                    return inserted;
+                });
+                insertedRows.addAndGet(rows == null ? 0 : rows);
+                long completed = completedRanges.incrementAndGet();
+                if (completed % 100 == 0) {
+                    log.info("Перестроение {}: обработано {} из {} диапазонов", TARGET, completed, totalRanges);
+                }
+                Thread.sleep(properties.getPause().toMillis());
+            }
+        } catch (RuntimeException e) {
+            cancelled = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Дополняет теневую таблицу и подменяет ею рабочую. Запись хитов (и прореживание) на время
+     * подмены блокируется, поэтому ни один хит не попадает в старую таблицу после дополнения.
+     */
+    private void swap(long fence, LocalDate firstDay, boolean postgres) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (postgres) {
+                jdbcTemplate.execute("LOCK TABLE hits IN SHARE MODE");
+                jdbcTemplate.execute("LOCK TABLE hits_daily_ips IN EXCLUSIVE MODE");
+            }
+            insertedRows.addAndGet(jdbcTemplate.update(CATCH_UP_SQL, fence));
+            LocalDate keepBefore = firstDay == null ? LocalDate.now().plusDays(1) : firstDay;
+            jdbcTemplate.update(KEEP_DOWNSAMPLED_SQL, Date.valueOf(keepBefore));
+            jdbcTemplate.execute("ALTER TABLE hits_daily_ips RENAME TO hits_daily_ips_old");
+            jdbcTemplate.execute("ALTER TABLE " + SHADOW + " RENAME TO hits_daily_ips");
+            jdbcTemplate.execute("DROP TABLE hits_daily_ips_old");
+            jdbcTemplate.update("DELETE FROM aggregate_rebuild_ranges WHERE target = ?", TARGET);
+        });
+    }
+
+    private void finish(RebuildState finalState, String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        state = finalState;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
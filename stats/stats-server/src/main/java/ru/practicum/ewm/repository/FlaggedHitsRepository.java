@@ -0,0 +1,10 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.ewm.model.FlaggedHit;
+
+/**
+ * Репозиторий для работы с помеченными хитами.
+ */
+public interface FlaggedHitsRepository extends JpaRepository<FlaggedHit, Long> {
+}
@@ -1,90 +1,238 @@
 package ru.practicum.ewm.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.dto.HitsStatDTO;
 import ru.practicum.ewm.model.Hit;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для работы с сущностью Hit.
  * <p>
- * Предоставляет методы для получения статистики по просмотрам (hit) за определённый период.
+ * Предоставляет методы для приближённой статистики, прореживания и журнала хитов.
+ * Точная статистика по просмотрам читается через {@link HitsStatReader}.
  */
 public interface HitsRepository extends JpaRepository<Hit, Long> {
 
     /**
-     * Получает общую статистику по всем URI в указанном временном диапазоне.
+     * Возвращает идентификаторы самых старых хитов, созданных раньше указанного момента.
      *
-     * @param start начальная дата диапазона
-     * @param end   конечная дата диапазона
-     * @return список DTO со статистикой (app, uri, количество просмотров)
+     * @param before граница по времени (не включительно)
+     * @param limit  максимальное количество идентификаторов
+     * @return список идентификаторов хитов
      */
-    @Query("""
-           SELECT new ru.practicum.dto.HitsStatDTO(h.app, h.uri, COUNT(h))
-           FROM Hit h
-           WHERE h.timestamp BETWEEN :start AND :end
-           GROUP BY h.app, h.uri
-           ORDER BY COUNT(h) DESC
-           """)
-    List<HitsStatDTO> findAllStats(@Param("start") LocalDateTime start,
-                                   @Param("end") LocalDateTime end);
+    @Query(value = """
+           SELECT h.id
+           FROM hits h
+           WHERE h.timestamp < :before
+           ORDER BY h.timestamp
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<Long> findOldestIdsBefore(@Param("before") LocalDateTime before,
+                                   @Param("limit") int limit);
+
+    /**
+     * Добавляет хиты с указанными идентификаторами к дневным агрегатам hits_daily.
+     *
+     * @param ids идентификаторы хитов
+     * @return количество затронутых строк агрегатов
+     */
+    @Modifying
+    @Query(value = """
+           MERGE INTO hits_daily d
+           USING (SELECT h.app AS app, h.uri AS uri, CAST(h.timestamp AS DATE) AS hit_date, COUNT(*) AS hits
+                  FROM hits h
+                  WHERE h.id IN :ids
+                  GROUP BY h.app, h.uri, CAST(h.timestamp AS DATE)) s
+           ON d.app = s.app AND d.uri = s.uri AND d.hit_date = s.hit_date
+           WHEN MATCHED THEN UPDATE SET hits = d.hits + s.hits
+           WHEN NOT MATCHED THEN INSERT (app, uri, hit_date, hits) VALUES (s.app, s.uri, s.hit_date, s.hits)
+           """, nativeQuery = true)
+    int mergeIntoDaily(@Param("ids") List<Long> ids);
+
+    /**
+     * Добавляет IP-адреса хитов с указанными идентификаторами к дневным множествам hits_daily_ips.
+     *
+     * @param ids идентификаторы хитов
+     * @return количество добавленных строк
+     */
+    @Modifying
+    @Query(value = """
+           MERGE INTO hits_daily_ips d
+           USING (SELECT DISTINCT h.app AS app, h.uri AS uri, CAST(h.timestamp AS DATE) AS hit_date, h.ip AS ip
+                  FROM hits h
+                  WHERE h.id IN :ids) s
+           ON d.app = s.app AND d.uri = s.uri AND d.hit_date = s.hit_date AND d.ip = s.ip
+           WHEN NOT MATCHED THEN INSERT (app, uri, hit_date, ip) VALUES (s.app, s.uri, s.hit_date, s.ip)
+           """, nativeQuery = true)
+    int mergeIntoDailyIps(@Param("ids") List<Long> ids);
+
+    /**
+     * Возвращает время самого старого сырого хита.
+     *
+     * @return время самого старого хита или пустое значение, если хитов нет
+     */
+    @Query("SELECT MIN(h.timestamp) FROM Hit h")
+    Optional<LocalDateTime> findOldestTimestamp();
+
+    /**
+     * Добавляет в индекс уникальных посетителей hits_daily_ips ключи сырых хитов за период.
+     *
+     * @param from начало периода (включительно)
+     * @param to   конец периода (не включительно)
+     * @return количество добавленных строк
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO hits_daily_ips (app, uri, hit_date, ip)
+           SELECT DISTINCT h.app, h.uri, CAST(h.timestamp AS DATE), h.ip
+           FROM hits h
+           WHERE h.timestamp >= :from AND h.timestamp < :to
+           ON CONFLICT DO NOTHING
+           """, nativeQuery = true)
+    int backfillDailyIps(@Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to);
+
+    /**
+     * Сохраняет хит с идентификатором, назначенным клиентом, если хит с таким идентификатором
+     * ещё не сохранён.
+     * <p>
+     * Конфликт по уникальному индексу не прерывает транзакцию, а просто не вставляет строку.
+     *
+     * @param app       название приложения
+     * @param uri       URI
+     * @param ip        IP-адрес пользователя
+     * @param timestamp время просмотра
+     * @param hitId     идентификатор хита
+     * @return 1, если хит сохранён, 0 — если он уже был принят ранее
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO hits (app, uri, ip, timestamp, hit_id)
+           VALUES (:app, :uri, :ip, :timestamp, :hitId)
+           ON CONFLICT DO NOTHING
+           """, nativeQuery = true)
+    int insertIfAbsent(@Param("app") String app,
+                       @Param("uri") String uri,
+                       @Param("ip") String ip,
+                       @Param("timestamp") LocalDateTime timestamp,
+                       @Param("hitId") String hitId);
 
     /**
-     * Получает статистику с учётом уникальных IP-адресов в указанном временном диапазоне.
+     * Получает общую статистику по выборке Бернулли из хитов (только PostgreSQL, TABLESAMPLE).
+     * <p>
+     * Возвращает количество хитов в выборке; масштабирование выполняется на стороне сервиса.
      *
-     * @param start начальная дата диапазона
-     * @param end   конечная дата диапазона
-     * @return список DTO со статистикой (app, uri, количество уникальных IP)
+     * @param start   начальная дата диапазона
+     * @param end     конечная дата диапазона
+     * @param percent доля выборки в процентах (0, 100]
+     * @return список строк статистики (app, uri, количество хитов в выборке)
      */
-    @Query("""
-           SELECT new ru.practicum.dto.HitsStatDTO(h.app, h.uri, COUNT(DISTINCT h.ip))
-           FROM Hit h
+    @Query(value = """
+           SELECT h.app AS app, h.uri AS uri, COUNT(*) AS hits
+           FROM hits h TABLESAMPLE BERNOULLI (CAST(:percent AS REAL))
            WHERE h.timestamp BETWEEN :start AND :end
            GROUP BY h.app, h.uri
-           ORDER BY COUNT(DISTINCT h.ip) DESC
-           """)
-    List<HitsStatDTO> findUniqueIpStats(@Param("start") LocalDateTime start,
-                                        @Param("end") LocalDateTime end);
+           ORDER BY hits DESC
+           """, nativeQuery = true)
+    List<HitsStatView> findSampledStats(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        @Param("percent") double percent);
 
     /**
-     * Получает общую статистику по указанным URI в указанном временном диапазоне.
+     * Получает общую статистику по указанным URI по выборке Бернулли из хитов (только PostgreSQL).
      *
-     * @param start начальная дата диапазона
-     * @param end   конечная дата диапазона
-     * @param uris  список URI для фильтрации
-     * @return список DTO со статистикой (app, uri, количество просмотров)
+     * @param start   начальная дата диапазона
+     * @param end     конечная дата диапазона
+     * @param uris    список URI для фильтрации
+     * @param percent доля выборки в процентах (0, 100]
+     * @return список строк статистики (app, uri, количество хитов в выборке)
      */
-    @Query("""
-           SELECT new ru.practicum.dto.HitsStatDTO(h.app, h.uri, COUNT(h))
-           FROM Hit h
+    @Query(value = """
+           SELECT h.app AS app, h.uri AS uri, COUNT(*) AS hits
+           FROM hits h TABLESAMPLE BERNOULLI (CAST(:percent AS REAL))
            WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris
            GROUP BY h.app, h.uri
-           ORDER BY COUNT(h) DESC
-           """)
-    List<HitsStatDTO> findAllStatsForUris(@Param("start") LocalDateTime start,
-                                          @Param("end") LocalDateTime end,
-                                          @Param("uris") List<String> uris);
+           ORDER BY hits DESC
+           """, nativeQuery = true)
+    List<HitsStatView> findSampledStatsForUris(@Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end,
+                                               @Param("uris") List<String> uris,
+                                               @Param("percent") double percent);
+
+    /**
+     * Получает статистику уникальных IP-адресов по выборке адресов (только PostgreSQL).
+     * <p>
+     * Выборка делается по хешу IP, а не по строкам: каждый адрес попадает в неё целиком с вероятностью
+     * {@code threshold / 1 000 000}, поэтому число различных адресов в выборке масштабируется без смещения.
+     *
+     * @param start     начальная дата диапазона
+     * @param end       конечная дата диапазона
+     * @param threshold порог хеша в диапазоне [0, 1 000 000]
+     * @return список строк статистики (app, uri, количество уникальных IP в выборке)
+     */
+    @Query(value = """
+           SELECT h.app AS app, h.uri AS uri, COUNT(DISTINCT h.ip) AS hits
+           FROM hits h
+           WHERE h.timestamp BETWEEN :start AND :end
+             AND (hashtext(h.ip) & 2147483647) % 1000000 < :threshold
+           GROUP BY h.app, h.uri
+           ORDER BY hits DESC
+           """, nativeQuery = true)
+    List<HitsStatView> findSampledUniqueIpStats(@Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end,
+                                                @Param("threshold") int threshold);
 
     /**
-     * Получает статистику с учётом уникальных IP-адресов по указанным URI в указанном временном диапазоне.
+     * Получает статистику уникальных IP-адресов по указанным URI по выборке адресов (только PostgreSQL).
      *
-     * @param start начальная дата диапазона
-     * @param end   конечная дата диапазона
-     * @param uris  список URI для фильтрации
-     * @return список DTO со статистикой (app, uri, количество уникальных IP)
+     * @param start     начальная дата диапазона
+     * @param end       конечная дата диапазона
+     * @param uris      список URI для фильтрации
+     * @param threshold порог хеша в диапазоне [0, 1 000 000]
+     * @return список строк статистики (app, uri, количество уникальных IP в выборке)
      */
-    @Query("""
-           SELECT new ru.practicum.dto.HitsStatDTO(h.app, h.uri, COUNT(DISTINCT h.ip))
-           FROM Hit h
+    @Query(value = """
+           SELECT h.app AS app, h.uri AS uri, COUNT(DISTINCT h.ip) AS hits
+           FROM hits h
            WHERE h.timestamp BETWEEN :start AND :end AND h.uri IN :uris
+             AND (hashtext(h.ip) & 2147483647) % 1000000 < :threshold
            GROUP BY h.app, h.uri
-           ORDER BY COUNT(DISTINCT h.ip) DESC
-           """)
-    List<HitsStatDTO> findUniqueIpStatsForUris(@Param("start") LocalDateTime start,
-                                               @Param("end") LocalDateTime end,
-                                               @Param("uris") List<String> uris);
-}
\ No newline at end of file
+           ORDER BY hits DESC
+           """, nativeQuery = true)
+    List<HitsStatView> findSampledUniqueIpStatsForUris(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       @Param("uris") List<String> uris,
+                                                       @Param("threshold") int threshold);
+
+    /**
+     * Возвращает URI хитов из окна журнала: не более {@code limit} хитов с идентификатором больше {@code after}.
+     *
+     * @param after идентификатор хита, после которого начинается окно
+     * @param limit размер окна
+     * @return строки окна, сгруппированные по URI
+     */
+    @Query(value = """
+           SELECT w.uri AS uri, MAX(w.id) AS "lastId", COUNT(*) AS hits
+           FROM (SELECT h.id, h.uri
+                 FROM hits h
+                 WHERE h.id > :after
+                 ORDER BY h.id
+                 LIMIT :limit) w
+           GROUP BY w.uri
+           """, nativeQuery = true)
+    List<UriChangeView> findChangedUris(@Param("after") long after,
+                                        @Param("limit") int limit);
+
+    /**
+     * Возвращает наибольший идентификатор хита.
+     *
+     * @return наибольший идентификатор или 0, если хитов нет
+     */
+    @Query(value = "SELECT COALESCE(MAX(h.id), 0) FROM hits h", nativeQuery = true)
+    long findMaxId();
+}
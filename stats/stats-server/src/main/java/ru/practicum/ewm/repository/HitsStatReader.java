@@ -0,0 +1,199 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Чтение статистики просмотров (hits) через JDBC.
+ * <p>
+ * Строки результата не преобразуются в объекты: значения столбцов каждой строки сразу передаются
+ * {@link HitsStatRowHandler}, поэтому один и тот же запрос заполняет и список DTO, и колоночный ответ.
+ * Строки упорядочены по убыванию количества просмотров. Если список URI пуст или не задан,
+ * фильтр по URI не применяется.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HitsStatReader {
+
+    private static final String URI_FILTER = " AND h.uri IN (:uris)";
+    private static final String DAILY_URI_FILTER = " AND d.uri IN (:uris)";
+
+    private static final String STATS_SQL = """
+            SELECT h.app, h.uri, %s AS hits
+            FROM hits h
+            WHERE h.timestamp BETWEEN :start AND :end%s
+            GROUP BY h.app, h.uri
+            ORDER BY hits DESC
+            """;
+
+    private static final String STATS_WITH_DAILY_SQL = """
+            SELECT u.app, u.uri, CAST(SUM(u.hits) AS BIGINT) AS hits
+            FROM (SELECT h.app AS app, h.uri AS uri, COUNT(*) AS hits
+                  FROM hits h
+                  WHERE h.timestamp BETWEEN :start AND :end%s
+                  GROUP BY h.app, h.uri
+                  UNION ALL
+                  SELECT d.app, d.uri, d.hits
+                  FROM hits_daily d
+                  WHERE d.hit_date BETWEEN :startDate AND :endDate%s) u
+            GROUP BY u.app, u.uri
+            ORDER BY hits DESC
+            """;
+
+    private static final String UNIQUE_IP_STATS_WITH_DAILY_SQL = """
+            SELECT u.app, u.uri, COUNT(DISTINCT u.ip) AS hits
+            FROM (SELECT h.app AS app, h.uri AS uri, h.ip AS ip
+                  FROM hits h
+                  WHERE h.timestamp BETWEEN :start AND :end%s
+                  UNION ALL
+                  SELECT d.app, d.uri, d.ip
+                  FROM hits_daily_ips d
+                  WHERE d.hit_date BETWEEN :startDate AND :endDate%s) u
+            GROUP BY u.app, u.uri
+            ORDER BY hits DESC
+            """;
+
+    private static final String UNIQUE_IP_STATS_FOR_DAY_SQL = """
+            SELECT d.app, d.uri, COUNT(*) AS hits
+            FROM hits_daily_ips d
+            WHERE d.hit_date = :day%s
+            GROUP BY d.app, d.uri
+            ORDER BY hits DESC
+            """;
+
+    private static final String UNIQUE_IP_STATS_INDEXED_SQL = """
+            SELECT u.app, u.uri, COUNT(DISTINCT u.ip) AS hits
+            FROM (SELECT h.app AS app, h.uri AS uri, h.ip AS ip
+                  FROM hits h
+                  WHERE h.timestamp BETWEEN :start AND :end
+                    AND (h.timestamp < :fullFrom OR h.timestamp >= :fullTo)%s
+                  UNION ALL
+                  SELECT d.app, d.uri, d.ip
+                  FROM hits_daily_ips d
+                  WHERE d.hit_date >= :fromDay AND d.hit_date < :toDay%s) u
+            GROUP BY u.app, u.uri
+            ORDER BY hits DESC
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Читает статистику по сырым хитам.
+     *
+     * @param start   начальная дата диапазона
+     * @param end     конечная дата диапазона
+     * @param uris    список URI для фильтрации (опционально)
+     * @param unique  учитывать только уникальные IP-адреса
+     * @param handler обработчик строк (app, uri, количество)
+     */
+    public void readStats(LocalDateTime start,
+                          LocalDateTime end,
+                          List<String> uris,
+                          boolean unique,
+                          HitsStatRowHandler handler) {
+        boolean hasUris = hasUris(uris);
+        String sql = STATS_SQL.formatted(unique ? "COUNT(DISTINCT h.ip)" : "COUNT(*)", hasUris ? URI_FILTER : "");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end);
+        read(sql, params, uris, handler);
+    }
+
+    /**
+     * Читает статистику, объединяя сырые хиты и прореженную историю (hits_daily, hits_daily_ips).
+     * <p>
+     * Прореженные данные учитываются с точностью до дня: включаются дни с {@code startDate} по {@code endDate}.
+     *
+     * @param start     начальная дата диапазона для сырых хитов
+     * @param end       конечная дата диапазона для сырых хитов
+     * @param startDate первый день диапазона для прореженных данных
+     * @param endDate   последний день диапазона для прореженных данных
+     * @param uris      список URI для фильтрации (опционально)
+     * @param unique    учитывать только уникальные IP-адреса
+     * @param handler   обработчик строк (app, uri, количество)
+     */
+    public void readStatsWithDaily(LocalDateTime start,
+                                   LocalDateTime end,
+                                   LocalDate startDate,
+                                   LocalDate endDate,
+                                   List<String> uris,
+                                   boolean unique,
+                                   HitsStatRowHandler handler) {
+        boolean hasUris = hasUris(uris);
+        String sql = (unique ? UNIQUE_IP_STATS_WITH_DAILY_SQL : STATS_WITH_DAILY_SQL)
+                .formatted(hasUris ? URI_FILTER : "", hasUris ? DAILY_URI_FILTER : "");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+        read(sql, params, uris, handler);
+    }
+
+    /**
+     * Читает точную статистику уникальных IP-адресов за один полный день по индексу hits_daily_ips.
+     *
+     * @param day     день
+     * @param uris    список URI для фильтрации (опционально)
+     * @param handler обработчик строк (app, uri, количество уникальных IP)
+     */
+    public void readUniqueIpStatsForDay(LocalDate day, List<String> uris, HitsStatRowHandler handler) {
+        String sql = UNIQUE_IP_STATS_FOR_DAY_SQL.formatted(hasUris(uris) ? DAILY_URI_FILTER : "");
+        read(sql, new MapSqlParameterSource("day", day), uris, handler);
+    }
+
+    /**
+     * Читает точную статистику уникальных IP-адресов по индексу hits_daily_ips.
+     * <p>
+     * Полные дни [{@code fromDay}, {@code toDay}) берутся из индекса, неполные граничные дни —
+     * из сырых хитов диапазона [{@code start}, {@code end}] вне [{@code fullFrom}, {@code fullTo}).
+     *
+     * @param start    начальная дата диапазона
+     * @param end      конечная дата диапазона
+     * @param fullFrom начало первого полного дня
+     * @param fullTo   начало дня, следующего за последним полным днём
+     * @param fromDay  первый полный день
+     * @param toDay    день, следующий за последним полным днём
+     * @param uris     список URI для фильтрации (опционально)
+     * @param handler  обработчик строк (app, uri, количество уникальных IP)
+     */
+    public void readUniqueIpStatsIndexed(LocalDateTime start,
+                                         LocalDateTime end,
+                                         LocalDateTime fullFrom,
+                                         LocalDateTime fullTo,
+                                         LocalDate fromDay,
+                                         LocalDate toDay,
+                                         List<String> uris,
+                                         HitsStatRowHandler handler) {
+        boolean hasUris = hasUris(uris);
+        String sql = UNIQUE_IP_STATS_INDEXED_SQL
+                .formatted(hasUris ? URI_FILTER : "", hasUris ? DAILY_URI_FILTER : "");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", start)
+                .addValue("end", end)
+                .addValue("fullFrom", fullFrom)
+                .addValue("fullTo", fullTo)
+                .addValue("fromDay", fromDay)
+                .addValue("toDay", toDay);
+        read(sql, params, uris, handler);
+    }
+
+    private void read(String sql, MapSqlParameterSource params, List<String> uris, HitsStatRowHandler handler) {
+        if (hasUris(uris)) {
+            params.addValue("uris", uris);
+        }
+        jdbcTemplate.query(sql, params, (RowCallbackHandler) rs ->
+                handler.accept(rs.getString(1), rs.getString(2), rs.getLong(3)));
+    }
+
+    private static boolean hasUris(List<String> uris) {
+        return uris != null && !uris.isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.ewm.repository;
+
+/**
+ * Обработчик строки статистики, получающий значения столбцов без промежуточного объекта строки.
+ */
+@FunctionalInterface
+public interface HitsStatRowHandler {
+
+    /**
+     * Обрабатывает строку статистики.
+     *
+     * @param app  название приложения
+     * @param uri  URI
+     * @param hits количество просмотров (или уникальных IP-адресов)
+     */
+    void accept(String app, String uri, long hits);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.repository;
+
+/**
+ * Проекция строки статистики для нативных запросов.
+ * <p>
+ * Используется запросами приближённой статистики по выборке.
+ */
+public interface HitsStatView {
+
+    String getApp();
+
+    String getUri();
+
+    Long getHits();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.ewm.repository;
+
+/**
+ * Проекция URI, по которому сохранены хиты в просмотренном окне журнала хитов.
+ */
+public interface UriChangeView {
+
+    String getUri();
+
+    /**
+     * Наибольший идентификатор хита URI в окне.
+     */
+    Long getLastId();
+
+    /**
+     * Количество хитов URI в окне.
+     */
+    Long getHits();
+}
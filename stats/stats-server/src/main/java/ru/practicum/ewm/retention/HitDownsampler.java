@@ -0,0 +1,41 @@
+package ru.practicum.ewm.retention;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.repository.HitsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сворачивает порцию сырых хитов в дневные агрегаты.
+ * <p>
+ * Агрегирование и удаление порции выполняются в одной короткой транзакции, поэтому каждый хит
+ * в любой момент учтён ровно в одном месте: либо в hits, либо в hits_daily/hits_daily_ips.
+ */
+@Component
+@RequiredArgsConstructor
+public class HitDownsampler {
+
+    private final HitsRepository hitsRepository;
+
+    /**
+     * Переносит до {@code limit} самых старых хитов, созданных раньше {@code before}, в дневные агрегаты.
+     *
+     * @param before граница по времени (не включительно)
+     * @param limit  размер порции
+     * @return количество перенесённых хитов (0, если переносить нечего)
+     */
+    @Transactional
+    public int downsampleChunk(LocalDateTime before, int limit) {
+        List<Long> ids = hitsRepository.findOldestIdsBefore(before, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        hitsRepository.mergeIntoDaily(ids);
+        hitsRepository.mergeIntoDailyIps(ids);
+        hitsRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
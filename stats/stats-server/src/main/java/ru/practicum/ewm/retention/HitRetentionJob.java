@@ -0,0 +1,59 @@
+package ru.practicum.ewm.retention;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плановая задача прореживания сырых хитов.
+ * <p>
+ * Сворачивает хиты старше {@code stats.retention.raw-retention} в дневные агрегаты небольшими порциями
+ * с паузами, чтобы избежать длинных блокировок и раздувания таблицы.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stats.retention", name = "enabled", havingValue = "true")
+public class HitRetentionJob {
+
+    private final RetentionProperties properties;
+    private final HitDownsampler downsampler;
+
+    /**
+     * Запускает прореживание по расписанию.
+     */
+    @Scheduled(cron = "${stats.retention.cron:0 30 3 * * *}")
+    public void run() {
+        LocalDateTime cutoff = properties.cutoff(LocalDateTime.now());
+        log.info("Запуск прореживания хитов старше {}", cutoff);
+
+        long moved = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            int count = downsampler.downsampleChunk(cutoff, properties.getChunkSize());
+            moved += count;
+            if (count < properties.getChunkSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.info("Прореживание завершено: перенесено {} хитов", moved);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getChunkPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Прореживание прервано");
+            return false;
+        }
+    }
+}
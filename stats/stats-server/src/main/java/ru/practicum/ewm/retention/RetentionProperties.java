@@ -0,0 +1,58 @@
+package ru.practicum.ewm.retention;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Настройки хранения и прореживания сырых хитов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.retention")
+public class RetentionProperties {
+
+    /**
+     * Включена ли задача прореживания. По умолчанию выключена.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Сколько хранить сырые хиты; более старые сворачиваются в дневные агрегаты.
+     */
+    private Duration rawRetention = Duration.ofDays(90);
+
+    /**
+     * Расписание запуска задачи (cron).
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Количество хитов, обрабатываемых в одной транзакции.
+     */
+    private int chunkSize = 5_000;
+
+    /**
+     * Пауза между порциями, чтобы не мешать приёму хитов.
+     */
+    private Duration chunkPause = Duration.ofMillis(100);
+
+    /**
+     * Максимальное количество порций за один запуск.
+     */
+    private int maxChunksPerRun = 10_000;
+
+    /**
+     * Возвращает границу прореживания: начало дня, раньше которого сырые хиты сворачиваются.
+     *
+     * @param now текущий момент
+     * @return граница прореживания
+     */
+    public LocalDateTime cutoff(LocalDateTime now) {
+        return LocalDate.from(now.minus(rawRetention)).atStartOfDay();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.ewm.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки приближённого (выборочного) режима статистики.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.approx")
+public class ApproxProperties {
+
+    /**
+     * Доля выборки, если клиент не указал ни sampleRate, ни targetMillis.
+     */
+    private double defaultSampleRate = 0.01;
+
+    /**
+     * Минимально допустимая доля выборки.
+     */
+    private double minSampleRate = 0.0001;
+
+    /**
+     * Коэффициент сглаживания оценки стоимости полного запроса (0, 1].
+     */
+    private double costSmoothing = 0.2;
+}
@@ -2,6 +2,8 @@ package ru.practicum.ewm.service;
 
 import ru.practicum.dto.CreateHitDTO;
 
+import java.util.List;
+
 /**
  * Интерфейс сервиса для работы с хитами (просмотрами).
  * <p>
@@ -14,4 +16,11 @@ public interface HitService {
      * @param createHitDTO данные для создания хита
      */
     void createHit(CreateHitDTO createHitDTO);
+
+    /**
+     * Создаёт записи о просмотрах из пакета в одной транзакции.
+     *
+     * @param hits данные для создания хитов
+     */
+    void createHits(List<CreateHitDTO> hits);
 }
\ No newline at end of file
@@ -4,10 +4,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.bulk.HitBulkWriter;
+import ru.practicum.ewm.ingest.HitFilterChain;
+import ru.practicum.ewm.ingest.HitVerdict;
+import ru.practicum.ewm.ingest.RecentHitIds;
+import ru.practicum.ewm.live.LiveViewsHub;
 import ru.practicum.ewm.mapper.HitMapper;
 import ru.practicum.ewm.model.Hit;
+import ru.practicum.ewm.repository.FlaggedHitsRepository;
 import ru.practicum.ewm.repository.HitsRepository;
+import ru.practicum.ewm.unique.UniqueVisitorIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для работы с хитами (просмотрами).
@@ -20,18 +35,117 @@ import ru.practicum.ewm.repository.HitsRepository;
 public class HitServiceImpl implements HitService {
 
     private final HitsRepository hitsRepository;
+    private final FlaggedHitsRepository flaggedHitsRepository;
     private final HitMapper hitMapper;
+    private final HitFilterChain hitFilterChain;
+    private final RecentHitIds recentHitIds;
+    private final HitBulkWriter hitBulkWriter;
+    private final UniqueVisitorIndex uniqueVisitorIndex;
+    private final LiveViewsHub liveViewsHub;
 
     /**
      * Создаёт новую запись о просмотре события.
+     * <p>
+     * Перед сохранением хит проходит цепочку фильтров приёма: отброшенные хиты не сохраняются,
+     * помеченные — сохраняются в отдельную таблицу flagged_hits. Хит с идентификатором, назначенным
+     * клиентом, сохраняется не более одного раза: повторная доставка молча игнорируется.
+     * Сохранённый хит учитывается в индексе уникальных посетителей, а после фиксации транзакции —
+     * в потоке текущего количества просмотров.
      *
      * @param dto данные для создания хита
      */
     @Override
     @Transactional
     public void createHit(CreateHitDTO dto) {
-        Hit newHit = hitMapper.mapToHit(dto);
-        log.info("Создан новый хит: {}", dto);
-        hitsRepository.save(newHit);
+        if (!admit(dto)) {
+            return;
+        }
+        if (dto.getHitId() != null) {
+            createHitOnce(dto);
+        } else {
+            Hit newHit = hitMapper.mapToHit(dto);
+            log.info("Создан новый хит: {}", dto);
+            hitsRepository.save(newHit);
+        }
+        uniqueVisitorIndex.record(List.of(dto));
+        afterCommit(() -> liveViewsHub.onHitsStored(List.of(dto.getUri())));
+    }
+
+    /**
+     * Создаёт записи о просмотрах из пакета в одной транзакции.
+     * <p>
+     * Каждый хит проходит ту же цепочку фильтров, что и при одиночной отправке; принятые хиты
+     * записываются одним пакетом через {@link HitBulkWriter}.
+     *
+     * @param hits данные для создания хитов
+     */
+    @Override
+    @Transactional
+    public void createHits(List<CreateHitDTO> hits) {
+        List<CreateHitDTO> accepted = new ArrayList<>(hits.size());
+        for (CreateHitDTO dto : hits) {
+            if (admit(dto)) {
+                accepted.add(dto);
+            }
+        }
+        long inserted = hitBulkWriter.write(accepted);
+        uniqueVisitorIndex.record(accepted);
+        List<String> hitIds = accepted.stream()
+                .map(CreateHitDTO::getHitId)
+                .filter(Objects::nonNull)
+                .toList();
+        recentHitIds.recordConflicts(accepted.size() - inserted);
+        Set<String> uris = accepted.stream()
+                .map(CreateHitDTO::getUri)
+                .collect(Collectors.toSet());
+        afterCommit(() -> {
+            hitIds.forEach(recentHitIds::remember);
+            liveViewsHub.onHitsStored(uris);
+        });
+        log.info("Сохранено {} из {} хитов пакета", inserted, hits.size());
+    }
+
+    /**
+     * Прогоняет хит через цепочку фильтров приёма.
+     *
+     * @return true, если хит нужно сохранить в hits
+     */
+    private boolean admit(CreateHitDTO dto) {
+        HitVerdict verdict = hitFilterChain.evaluate(dto);
+        if (verdict.action() == HitVerdict.Action.DROP) {
+            log.debug("Хит отброшен ({}): {}", verdict.reason(), dto);
+            return false;
+        }
+        if (verdict.action() == HitVerdict.Action.DIVERT) {
+            flaggedHitsRepository.save(hitMapper.mapToFlaggedHit(dto, verdict.reason()));
+            log.debug("Хит помечен ({}): {}", verdict.reason(), dto);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Сохраняет хит с идентификатором, если он ещё не сохранён, и после фиксации транзакции
+     * запоминает идентификатор, чтобы следующие повторы отсекались без обращения к базе.
+     */
+    private void createHitOnce(CreateHitDTO dto) {
+        int inserted = hitsRepository.insertIfAbsent(dto.getApp(), dto.getUri(), dto.getIp(),
+                dto.getTimestamp(), dto.getHitId());
+        if (inserted == 0) {
+            recentHitIds.recordConflicts(1);
+            log.debug("Хит с идентификатором {} уже сохранён", dto.getHitId());
+        } else {
+            log.info("Создан новый хит: {}", dto);
+        }
+        afterCommit(() -> recentHitIds.remember(dto.getHitId()));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package ru.practicum.ewm.service;
+
+import ru.practicum.dto.HitsStatColumnsDTO;
+import ru.practicum.ewm.repository.HitsStatRowHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сборка колоночного ответа {@link HitsStatColumnsDTO} из строк результата запроса.
+ * <p>
+ * Значения столбцов дописываются в растущие массивы, названия приложений — в словарь,
+ * поэтому объект на строку не создаётся.
+ */
+final class HitsStatColumnsCollector implements HitsStatRowHandler {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<String> apps = new ArrayList<>();
+    private final Map<String, Integer> appIndexByName = new HashMap<>();
+    private int[] appIndexes = new int[INITIAL_CAPACITY];
+    private String[] uris = new String[INITIAL_CAPACITY];
+    private long[] hits = new long[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(String app, String uri, long count) {
+        if (size == hits.length) {
+            int capacity = size * 2;
+            appIndexes = Arrays.copyOf(appIndexes, capacity);
+            uris = Arrays.copyOf(uris, capacity);
+            hits = Arrays.copyOf(hits, capacity);
+        }
+        Integer appIndex = appIndexByName.get(app);
+        if (appIndex == null) {
+            appIndex = apps.size();
+            apps.add(app);
+            appIndexByName.put(app, appIndex);
+        }
+        appIndexes[size] = appIndex;
+        uris[size] = uri;
+        hits[size] = count;
+        size++;
+    }
+
+    /**
+     * Возвращает колоночный ответ из собранных строк.
+     *
+     * @return колоночное DTO статистики
+     */
+    HitsStatColumnsDTO build() {
+        return HitsStatColumnsDTO.builder()
+                .apps(apps)
+                .appIndexes(Arrays.copyOf(appIndexes, size))
+                .uris(Arrays.copyOf(uris, size))
+                .hits(Arrays.copyOf(hits, size))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.ewm.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Подбирает долю выборки для приближённых запросов статистики.
+ * <p>
+ * Если клиент задал целевое время ответа, доля выбирается по самообучающейся оценке стоимости:
+ * после каждого выборочного запроса наблюдаемое время пересчитывается в «стоимость полного запроса
+ * за сутки окна» и сглаживается экспоненциальным средним отдельно для обычного и уникального режимов.
+ */
+@Component
+@RequiredArgsConstructor
+public class SampleRatePlanner {
+
+    private static final double MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private final ApproxProperties properties;
+
+    /**
+     * Сглаженная стоимость полного запроса в миллисекундах на сутки окна (биты double),
+     * индекс 0 — обычный режим, 1 — уникальный.
+     */
+    private final AtomicLong[] fullCostPerDay = {new AtomicLong(-1L), new AtomicLong(-1L)};
+
+    /**
+     * Определяет долю выборки для запроса.
+     *
+     * @param start        начальная дата диапазона
+     * @param end          конечная дата диапазона
+     * @param unique       флаг уникального режима
+     * @param sampleRate   явно заданная доля выборки (может быть null)
+     * @param targetMillis целевое время ответа (может быть null)
+     * @return доля выборки в диапазоне [minSampleRate, 1]
+     */
+    public double plan(LocalDateTime start, LocalDateTime end, boolean unique,
+                       Double sampleRate, Long targetMillis) {
+        double rate;
+        if (sampleRate != null) {
+            rate = sampleRate;
+        } else if (targetMillis != null && targetMillis > 0 && estimatedCostPerDay(unique) > 0) {
+            double fullCost = estimatedCostPerDay(unique) * windowDays(start, end);
+            rate = targetMillis / fullCost;
+        } else {
+            rate = properties.getDefaultSampleRate();
+        }
+        return Math.min(1.0, Math.max(properties.getMinSampleRate(), rate));
+    }
+
+    /**
+     * Учитывает фактическое время выполнения выборочного запроса.
+     *
+     * @param start         начальная дата диапазона
+     * @param end           конечная дата диапазона
+     * @param unique        флаг уникального режима
+     * @param rate          использованная доля выборки
+     * @param elapsedMillis фактическое время выполнения
+     */
+    public void record(LocalDateTime start, LocalDateTime end, boolean unique, double rate, long elapsedMillis) {
+        double observed = elapsedMillis / rate / windowDays(start, end);
+        AtomicLong cell = fullCostPerDay[unique ? 1 : 0];
+        cell.getAndUpdate(bits -> {
+            if (bits == -1L) {
+                return Double.doubleToLongBits(observed);
+            }
+            double previous = Double.longBitsToDouble(bits);
+            double alpha = properties.getCostSmoothing();
+            return Double.doubleToLongBits(previous + alpha * (observed - previous));
+        });
+    }
+
+    private double estimatedCostPerDay(boolean unique) {
+        long bits = fullCostPerDay[unique ? 1 : 0].get();
+        return bits == -1L ? -1 : Double.longBitsToDouble(bits);
+    }
+
+    private static double windowDays(LocalDateTime start, LocalDateTime end) {
+        return Math.max(1.0 / 24, Duration.between(start, end).toMillis() / MILLIS_PER_DAY);
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.ewm.service;
 
+import ru.practicum.dto.HitsStatColumnsDTO;
 import ru.practicum.dto.HitsStatDTO;
+import ru.practicum.dto.UriChangesDTO;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
 import ru.practicum.ewm.exception.model.StartAfterEndException;
 
 import java.time.LocalDateTime;
@@ -28,4 +31,58 @@ public interface StatsService {
                                LocalDateTime end,
                                List<String> uris,
                                boolean unique) throws StartAfterEndException;
-}
\ No newline at end of file
+
+    /**
+     * Получает статистику просмотров в колоночном формате.
+     * <p>
+     * Содержит те же строки и в том же порядке, что и {@link #getStats}.
+     *
+     * @param start  начальная дата диапазона (включительно)
+     * @param end    конечная дата диапазона (включительно)
+     * @param uris   список URI для фильтрации (опционально)
+     * @param unique флаг, указывающий, нужно ли учитывать уникальные IP-адреса
+     * @return колоночное DTO со статистикой просмотров
+     * @throws StartAfterEndException если начальная дата позже или равна конечной
+     */
+    HitsStatColumnsDTO getStatsColumns(LocalDateTime start,
+                                       LocalDateTime end,
+                                       List<String> uris,
+                                       boolean unique) throws StartAfterEndException;
+
+    /**
+     * Получает приближённую статистику просмотров по случайной выборке хитов.
+     * <p>
+     * Значения масштабируются на долю выборки, в поле hitsError возвращается полуширина
+     * 95%-го доверительного интервала. Если доля выборки равна 1, диапазон захватывает
+     * прореженную историю или СУБД не PostgreSQL, возвращается точная статистика.
+     *
+     * @param start        начальная дата диапазона (включительно)
+     * @param end          конечная дата диапазона (включительно)
+     * @param uris         список URI для фильтрации (опционально)
+     * @param unique       флаг, указывающий, нужно ли учитывать уникальные IP-адреса
+     * @param sampleRate   доля выборки (опционально)
+     * @param targetMillis целевое время ответа в миллисекундах (опционально)
+     * @return список DTO со статистикой просмотров
+     * @throws StartAfterEndException если начальная дата позже или равна конечной
+     */
+    List<HitsStatDTO> getApproxStats(LocalDateTime start,
+                                     LocalDateTime end,
+                                     List<String> uris,
+                                     boolean unique,
+                                     Double sampleRate,
+                                     Long targetMillis) throws StartAfterEndException;
+
+    /**
+     * Получает URI, по которым сохранены хиты после заданной позиции журнала хитов.
+     * <p>
+     * Позиция журнала — идентификатор хита. Хиты просматриваются в порядке идентификаторов, не более
+     * {@code limit} за запрос. При отрицательной позиции возвращается текущая позиция журнала без URI.
+     *
+     * @param after  позиция журнала, полученная в предыдущем ответе
+     * @param prefix префикс URI для фильтрации (опционально)
+     * @param limit  максимальное количество просматриваемых хитов
+     * @return DTO изменившихся URI
+     * @throws InvalidParameterException если limit вне допустимого диапазона
+     */
+    UriChangesDTO getChangedUris(long after, String prefix, int limit) throws InvalidParameterException;
+}
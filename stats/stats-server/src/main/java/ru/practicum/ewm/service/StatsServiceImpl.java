@@ -1,12 +1,26 @@
 package ru.practicum.ewm.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.dto.HitsStatColumnsDTO;
 import ru.practicum.dto.HitsStatDTO;
+import ru.practicum.dto.UriChangesDTO;
+import ru.practicum.ewm.exception.model.InvalidParameterException;
 import ru.practicum.ewm.exception.model.StartAfterEndException;
+import ru.practicum.ewm.query.StatsQueryGuard;
 import ru.practicum.ewm.repository.HitsRepository;
+import ru.practicum.ewm.repository.HitsStatReader;
+import ru.practicum.ewm.repository.HitsStatRowHandler;
+import ru.practicum.ewm.repository.HitsStatView;
+import ru.practicum.ewm.repository.UriChangeView;
+import ru.practicum.ewm.retention.RetentionProperties;
+import ru.practicum.ewm.unique.UniqueVisitorIndex;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,14 +28,42 @@ import java.util.List;
  * <p>
  * Обрабатывает запросы на получение статистики с учётом временных рамок, URI и флага уникальности IP.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
 
+    /**
+     * Квантиль нормального распределения для 95%-го доверительного интервала.
+     */
+    private static final double Z_95 = 1.96;
+
+    /**
+     * Время, начиная с которого конечная дата диапазона считается концом дня (точность API — секунды).
+     */
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    /**
+     * Максимальный размер окна журнала хитов в запросе изменившихся URI.
+     */
+    private static final int MAX_CHANGES_LIMIT = 100_000;
+
     private final HitsRepository hitsRepository;
+    private final HitsStatReader hitsStatReader;
+    private final RetentionProperties retentionProperties;
+    private final SampleRatePlanner sampleRatePlanner;
+    private final UniqueVisitorIndex uniqueVisitorIndex;
+    private final StatsQueryGuard queryGuard;
 
     /**
      * Получает статистику просмотров за указанный период.
+     * <p>
+     * Если прореживание включено и диапазон захватывает период, сырые хиты которого уже свёрнуты
+     * в дневные агрегаты, результат объединяет сырые и прореженные данные (последние — с точностью до дня).
+     * Уникальные IP за полные дни диапазона считаются по индексу уникальных посетителей,
+     * за неполные граничные дни — по сырым хитам.
+     * <p>
+     * Запрос выполняется с ограничением по сроку и количеству одновременных запросов ({@link StatsQueryGuard}).
      *
      * @param start  начальная дата диапазона (включительно)
      * @param end    конечная дата диапазона (включительно)
@@ -35,17 +77,241 @@ public class StatsServiceImpl implements StatsService {
                                       List<String> uris,
                                       boolean unique) {
         validateDateRange(start, end);
+        return queryGuard.execute(() -> {
+            List<HitsStatDTO> rows = new ArrayList<>();
+            queryStats(start, end, uris, unique, (app, uri, hits) -> rows.add(new HitsStatDTO(app, uri, hits)));
+            return rows;
+        });
+    }
+
+    /**
+     * Выбирает запрос статистики по диапазону и передаёт его строки обработчику.
+     */
+    private void queryStats(LocalDateTime start,
+                            LocalDateTime end,
+                            List<String> uris,
+                            boolean unique,
+                            HitsStatRowHandler handler) {
+        LocalDateTime cutoff = downsamplingCutoff();
+
+        if (unique && uniqueVisitorIndex.isReady() && readUniqueIpStatsIndexed(start, end, uris, cutoff, handler)) {
+            return;
+        }
+
+        if (start.isBefore(cutoff)) {
+            readStatsWithDaily(start, end, uris, unique, cutoff, handler);
+            return;
+        }
+
+        hitsStatReader.readStats(start, end, uris, unique, handler);
+    }
+
+    /**
+     * Получает приближённую статистику просмотров по выборке.
+     * <p>
+     * Для обычного режима используется выборка Бернулли по строкам (TABLESAMPLE BERNOULLI),
+     * для уникального — выборка по хешу IP-адреса. Оценка количества {@code n / p},
+     * стандартная ошибка {@code sqrt(n * (1 - p)) / p}. Выборка доступна только в PostgreSQL;
+     * на других СУБД (H2 в тестах) возвращается точная статистика.
+     *
+     * @param start        начальная дата диапазона (включительно)
+     * @param end          конечная дата диапазона (включительно)
+     * @param uris         список URI для фильтрации (опционально)
+     * @param unique       флаг, указывающий, нужно ли учитывать уникальные IP-адреса
+     * @param sampleRate   доля выборки (опционально)
+     * @param targetMillis целевое время ответа в миллисекундах (опционально)
+     * @return список DTO статистики с оценкой погрешности
+     * @throws StartAfterEndException если start > end
+     */
+    @Override
+    public List<HitsStatDTO> getApproxStats(LocalDateTime start,
+                                            LocalDateTime end,
+                                            List<String> uris,
+                                            boolean unique,
+                                            Double sampleRate,
+                                            Long targetMillis) {
+        validateDateRange(start, end);
+        if (sampleRate != null && (sampleRate <= 0 || sampleRate > 1)) {
+            throw new InvalidParameterException("Доля выборки должна быть в диапазоне (0, 1], получено: {0}", sampleRate);
+        }
+        double rate = sampleRatePlanner.plan(start, end, unique, sampleRate, targetMillis);
+        if (rate >= 1.0 || start.isBefore(downsamplingCutoff()) || !queryGuard.isPostgres()) {
+            return getStats(start, end, uris, unique);
+        }
+        return queryGuard.execute(() -> queryApproxStats(start, end, uris, unique, rate));
+    }
+
+    private List<HitsStatDTO> queryApproxStats(LocalDateTime start,
+                                               LocalDateTime end,
+                                               List<String> uris,
+                                               boolean unique,
+                                               double rate) {
         boolean hasUris = uris != null && !uris.isEmpty();
+        long startedAt = System.nanoTime();
+        List<HitsStatView> rows;
+        if (unique) {
+            int threshold = (int) Math.round(rate * 1_000_000);
+            rows = hasUris
+                    ? hitsRepository.findSampledUniqueIpStatsForUris(start, end, uris, threshold)
+                    : hitsRepository.findSampledUniqueIpStats(start, end, threshold);
+        } else {
+            double percent = rate * 100;
+            rows = hasUris
+                    ? hitsRepository.findSampledStatsForUris(start, end, uris, percent)
+                    : hitsRepository.findSampledStats(start, end, percent);
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        sampleRatePlanner.record(start, end, unique, rate, elapsedMillis);
+        log.debug("Приближённая статистика: доля выборки={}, строк={}, время={} мс", rate, rows.size(), elapsedMillis);
+
+        return rows.stream()
+                .map(row -> scale(row, rate))
+                .toList();
+    }
+
+    /**
+     * Масштабирует количество из выборки и вычисляет полуширину 95%-го доверительного интервала.
+     */
+    private static HitsStatDTO scale(HitsStatView row, double rate) {
+        long sampled = row.getHits();
+        long estimate = Math.round(sampled / rate);
+        long error = Math.round(Z_95 * Math.sqrt(sampled * (1 - rate)) / rate);
+        return new HitsStatDTO(row.getApp(), row.getUri(), estimate, error);
+    }
+
+    /**
+     * Получает статистику просмотров за указанный период в колоночном формате.
+     * <p>
+     * Названия приложений выносятся в словарь, количество просмотров — в примитивный массив.
+     * Строки запроса записываются сразу в массивы ответа, без списка DTO.
+     *
+     * @param start  начальная дата диапазона (включительно)
+     * @param end    конечная дата диапазона (включительно)
+     * @param uris   список URI для фильтрации (опционально)
+     * @param unique флаг, указывающий, нужно ли учитывать уникальные IP-адреса
+     * @return колоночное DTO статистики
+     * @throws StartAfterEndException если start > end
+     */
+    @Override
+    public HitsStatColumnsDTO getStatsColumns(LocalDateTime start,
+                                              LocalDateTime end,
+                                              List<String> uris,
+                                              boolean unique) {
+        validateDateRange(start, end);
+        return queryGuard.execute(() -> {
+            HitsStatColumnsCollector columns = new HitsStatColumnsCollector();
+            queryStats(start, end, uris, unique, columns);
+            return columns.build();
+        });
+    }
+
+    /**
+     * Получает URI, по которым сохранены хиты после заданной позиции журнала хитов.
+     * <p>
+     * Окно журнала ограничивается до фильтрации по префиксу, поэтому позиция продвигается и по хитам
+     * других URI. Хиты, зафиксированные позже хитов с большими идентификаторами, могут быть пропущены —
+     * клиенту следует периодически выполнять полную сверку.
+     *
+     * @param after  позиция журнала, полученная в предыдущем ответе
+     * @param prefix префикс URI для фильтрации (опционально)
+     * @param limit  максимальное количество просматриваемых хитов
+     * @return DTO изменившихся URI
+     * @throws InvalidParameterException если limit вне допустимого диапазона
+     */
+    @Override
+    public UriChangesDTO getChangedUris(long after, String prefix, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new InvalidParameterException("Параметр limit должен быть от 1 до {0}", MAX_CHANGES_LIMIT);
+        }
+        if (after < 0) {
+            return UriChangesDTO.builder()
+                    .cursor(hitsRepository.findMaxId())
+                    .uris(List.of())
+                    .build();
+        }
 
-        if (hasUris) {
-            return unique
-                    ? hitsRepository.findUniqueIpStatsForUris(start, end, uris)
-                    : hitsRepository.findAllStatsForUris(start, end, uris);
+        long cursor = after;
+        long scanned = 0;
+        List<String> uris = new ArrayList<>();
+        for (UriChangeView row : hitsRepository.findChangedUris(after, limit)) {
+            cursor = Math.max(cursor, row.getLastId());
+            scanned += row.getHits();
+            if (prefix == null || row.getUri().startsWith(prefix)) {
+                uris.add(row.getUri());
+            }
+        }
+        return UriChangesDTO.builder()
+                .cursor(cursor)
+                .uris(uris)
+                .more(scanned >= limit)
+                .build();
+    }
+
+    /**
+     * Читает статистику, объединяя сырые хиты и дневные агрегаты прореженной истории.
+     */
+    private void readStatsWithDaily(LocalDateTime start,
+                                    LocalDateTime end,
+                                    List<String> uris,
+                                    boolean unique,
+                                    LocalDateTime cutoff,
+                                    HitsStatRowHandler handler) {
+        LocalDate startDate = start.toLocalDate();
+        // индекс hits_daily_ips ведётся и для свежих дней, поэтому дневные данные берутся только до границы
+        LocalDate endDate = min(end.toLocalDate(), cutoff.toLocalDate().minusDays(1));
+        hitsStatReader.readStatsWithDaily(start, end, startDate, endDate, uris, unique, handler);
+    }
+
+    /**
+     * Читает точную статистику уникальных IP-адресов по индексу уникальных посетителей.
+     * <p>
+     * Полные дни диапазона берутся из индекса, неполные граничные дни — из сырых хитов. Граничные
+     * дни, сырые хиты которых уже прорежены, учитываются целиком, как и при запросе без индекса.
+     * Для одного полного дня количество уникальных IP — это просто количество строк индекса;
+     * для нескольких дней IP, заходивший в разные дни, учитывается один раз.
+     *
+     * @return false, если в диапазоне нет полных дней и индекс неприменим
+     */
+    private boolean readUniqueIpStatsIndexed(LocalDateTime start,
+                                             LocalDateTime end,
+                                             List<String> uris,
+                                             LocalDateTime cutoff,
+                                             HitsStatRowHandler handler) {
+        boolean startsAtMidnight = start.toLocalTime().equals(LocalTime.MIDNIGHT);
+        boolean endsAtEndOfDay = !end.toLocalTime().isBefore(END_OF_DAY);
+        LocalDate fromDay = startsAtMidnight || start.isBefore(cutoff)
+                ? start.toLocalDate()
+                : start.toLocalDate().plusDays(1);
+        LocalDate toDay = endsAtEndOfDay || end.isBefore(cutoff)
+                ? end.toLocalDate().plusDays(1)
+                : end.toLocalDate();
+        if (!fromDay.isBefore(toDay)) {
+            return false;
+        }
+
+        LocalDateTime fullFrom = fromDay.atStartOfDay();
+        LocalDateTime fullTo = toDay.atStartOfDay();
+        boolean dayAligned = !start.isAfter(fullFrom) && end.isBefore(fullTo);
+        if (dayAligned && fromDay.plusDays(1).equals(toDay)) {
+            hitsStatReader.readUniqueIpStatsForDay(fromDay, uris, handler);
         } else {
-            return unique
-                    ? hitsRepository.findUniqueIpStats(start, end)
-                    : hitsRepository.findAllStats(start, end);
+            hitsStatReader.readUniqueIpStatsIndexed(start, end, fullFrom, fullTo, fromDay, toDay, uris, handler);
         }
+        return true;
+    }
+
+    /**
+     * Возвращает границу, раньше которой сырые хиты свёрнуты в дневные агрегаты.
+     * Если прореживание выключено, границы нет и дневные агрегаты в запросах не участвуют.
+     */
+    private LocalDateTime downsamplingCutoff() {
+        return retentionProperties.isEnabled()
+                ? retentionProperties.cutoff(LocalDateTime.now())
+                : LocalDateTime.MIN;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
     }
 
     /**
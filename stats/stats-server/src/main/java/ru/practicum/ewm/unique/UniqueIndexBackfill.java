@@ -0,0 +1,71 @@
+package ru.practicum.ewm.unique;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.repository.HitsRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Дозаполнение индекса уникальных посетителей по сырым хитам при старте.
+ * <p>
+ * Проходит по дням от самого старого сырого хита до текущего дня, каждый день — отдельной
+ * транзакцией. Повторный запуск безопасен: уже существующие строки индекса пропускаются.
+ * После завершения индекс помечается готовым к использованию в запросах.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueIndexBackfill {
+
+    private final UniqueIndexProperties properties;
+    private final UniqueVisitorIndex index;
+    private final HitsRepository hitsRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!index.isEnabled()) {
+            return;
+        }
+        if (!properties.isBackfillOnStartup()) {
+            index.markReady();
+            return;
+        }
+        Thread.ofPlatform().name("unique-index-backfill").daemon().start(this::backfill);
+    }
+
+    private void backfill() {
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate day = hitsRepository.findOldestTimestamp()
+                    .map(LocalDateTime::toLocalDate)
+                    .orElse(today);
+            log.info("Дозаполнение индекса уникальных посетителей с {}", day);
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            long added = 0;
+            for (; !day.isAfter(today); day = day.plusDays(1)) {
+                LocalDateTime from = day.atStartOfDay();
+                Integer count = transaction.execute(status ->
+                        hitsRepository.backfillDailyIps(from, from.plusDays(1)));
+                added += count == null ? 0 : count;
+                Thread.sleep(properties.getBackfillPause().toMillis());
+            }
+
+            log.info("Дозаполнение индекса уникальных посетителей завершено: добавлено {} строк", added);
+            index.markReady();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Дозаполнение индекса уникальных посетителей прервано");
+        } catch (RuntimeException e) {
+            log.error("Ошибка дозаполнения индекса уникальных посетителей, уникальные IP считаются по сырым хитам", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.ewm.unique;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки индекса уникальных посетителей по дням (таблица hits_daily_ips).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.unique-index")
+public class UniqueIndexProperties {
+
+    /**
+     * Вести индекс при приёме хитов и использовать его для точной статистики уникальных IP.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Сколько помнить в памяти ключи (app, uri, ip, день), уже записанные в индекс.
+     */
+    private Duration cacheWindow = Duration.ofHours(2);
+
+    /**
+     * Максимальное количество ключей в одном поколении кэша.
+     */
+    private int cacheMaxEntries = 1_000_000;
+
+    /**
+     * Дозаполнять индекс по сырым хитам при старте. Пока дозаполнение не завершено,
+     * статистика уникальных IP считается по сырым хитам.
+     */
+    private boolean backfillOnStartup = true;
+
+    /**
+     * Пауза между днями при дозаполнении.
+     */
+    private Duration backfillPause = Duration.ofMillis(50);
+}
@@ -0,0 +1,123 @@
+package ru.practicum.ewm.unique;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.ingest.GenerationalSet;
+
+import java.sql.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индекс уникальных посетителей: множество (app, uri, день, ip) в таблице hits_daily_ips.
+ * <p>
+ * Строка добавляется при первом хите IP-адреса на URI за день, поэтому точное количество уникальных
+ * IP за полные дни считается по этой таблице, а не по всем сырым хитам. Ключи, уже записанные
+ * в таблицу, запоминаются в {@link GenerationalSet}, и повторные хиты не создают запросов к базе.
+ * <p>
+ * Индекс используется для запросов только после дозаполнения по сырым хитам ({@link #isReady()}).
+ */
+@Slf4j
+@Component
+public class UniqueVisitorIndex {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO hits_daily_ips (app, uri, hit_date, ip) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final GenerationalSet<String> recentKeys;
+    private final Counter cached;
+    private final Counter written;
+
+    private volatile boolean ready;
+
+    public UniqueVisitorIndex(JdbcTemplate jdbcTemplate,
+                              UniqueIndexProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+        this.recentKeys = new GenerationalSet<>(properties.getCacheWindow().toMillis() / 2,
+                properties.getCacheMaxEntries());
+        this.cached = Counter.builder("stats.unique.index.upserts")
+                .tag("result", "cached")
+                .description("Количество хитов, для которых запись в индекс пропущена по кэшу")
+                .register(meterRegistry);
+        this.written = Counter.builder("stats.unique.index.upserts")
+                .tag("result", "written")
+                .description("Количество ключей, отправленных в индекс уникальных посетителей")
+                .register(meterRegistry);
+        Gauge.builder("stats.unique.index.cache", recentKeys, GenerationalSet::size)
+                .description("Количество ключей индекса уникальных посетителей в памяти")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Записывает в индекс ключи сохранённых хитов. Вызывается в транзакции, сохраняющей хиты;
+     * ключи попадают в кэш только после её фиксации.
+     *
+     * @param hits сохранённые хиты
+     */
+    public void record(List<CreateHitDTO> hits) {
+        if (!enabled || hits.isEmpty()) {
+            return;
+        }
+        Map<String, CreateHitDTO> pending = new LinkedHashMap<>();
+        for (CreateHitDTO hit : hits) {
+            String key = key(hit);
+            if (recentKeys.contains(key)) {
+                cached.increment();
+            } else {
+                pending.putIfAbsent(key, hit);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, pending.values(), JDBC_BATCH_SIZE, (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setDate(3, Date.valueOf(hit.getTimestamp().toLocalDate()));
+            ps.setString(4, hit.getIp());
+        });
+        written.increment(pending.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.keySet().forEach(recentKeys::add);
+            }
+        });
+    }
+
+    /**
+     * Проверяет, можно ли считать уникальных посетителей по индексу.
+     *
+     * @return true, если индекс ведётся и дозаполнен по сырым хитам
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void markReady() {
+        ready = true;
+        log.info("Индекс уникальных посетителей готов к использованию");
+    }
+
+    private static String key(CreateHitDTO hit) {
+        return hit.getApp() + '\n' + hit.getUri() + '\n' + hit.getIp() + '\n' + hit.getTimestamp().toLocalDate();
+    }
+}
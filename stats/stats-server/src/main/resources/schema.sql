@@ -5,5 +5,55 @@ CREATE TABLE IF NOT EXISTS hits
     app       VARCHAR(255) NOT NULL,                              -- Имя сервиса (приложения), к которому относится запрос
     uri       TEXT         NOT NULL,                              -- URI, по которому был выполнен запрос
     ip        VARCHAR(45)  NOT NULL,                              -- IP-адрес пользователя (IPv4 или IPv6)
-    timestamp TIMESTAMP    NOT NULL                               -- Временная метка запроса
-);
\ No newline at end of file
+    timestamp TIMESTAMP    NOT NULL,                              -- Временная метка запроса
+    hit_id    VARCHAR(64)                                         -- Идентификатор хита, назначенный клиентом
+);
+
+-- Колонка идентификатора хита для баз, созданных до её появления
+ALTER TABLE hits ADD COLUMN IF NOT EXISTS hit_id VARCHAR(64);
+
+-- Уникальный индекс идентификатора хита: повторная доставка того же хита не создаёт новую запись
+CREATE UNIQUE INDEX IF NOT EXISTS ux_hits_hit_id ON hits (hit_id);
+
+-- Таблица для хитов, помеченных фильтром ботов и злоупотреблений (не участвуют в статистике)
+CREATE TABLE IF NOT EXISTS flagged_hits
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, -- Уникальный идентификатор записи
+    app       VARCHAR(255) NOT NULL,                              -- Имя сервиса (приложения)
+    uri       TEXT         NOT NULL,                              -- URI, по которому был выполнен запрос
+    ip        VARCHAR(45)  NOT NULL,                              -- IP-адрес пользователя (IPv4 или IPv6)
+    timestamp TIMESTAMP    NOT NULL,                              -- Временная метка запроса
+    reason    VARCHAR(32)  NOT NULL                               -- Причина пометки (deny-list, rate-limit)
+);
+
+-- Индекс по времени хита: используется запросами статистики и задачей прореживания
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp);
+
+-- Дневные агрегаты хитов, перенесённых из hits задачей прореживания
+CREATE TABLE IF NOT EXISTS hits_daily
+(
+    app      VARCHAR(255) NOT NULL, -- Имя сервиса (приложения)
+    uri      TEXT         NOT NULL, -- URI
+    hit_date DATE         NOT NULL, -- День, за который агрегированы хиты
+    hits     BIGINT       NOT NULL, -- Количество хитов за день
+    PRIMARY KEY (app, uri, hit_date)
+);
+
+-- Индекс уникальных посетителей: множества IP-адресов по дням (ведётся при приёме хитов и пополняется при прореживании)
+CREATE TABLE IF NOT EXISTS hits_daily_ips
+(
+    app      VARCHAR(255) NOT NULL, -- Имя сервиса (приложения)
+    uri      TEXT         NOT NULL, -- URI
+    hit_date DATE         NOT NULL, -- День
+    ip       VARCHAR(45)  NOT NULL, -- IP-адрес пользователя
+    PRIMARY KEY (app, uri, hit_date, ip)
+);
+
+-- Контрольные точки перестроения агрегатов: обработанные диапазоны и граница сырых хитов на момент запуска
+CREATE TABLE IF NOT EXISTS aggregate_rebuild_ranges
+(
+    target      VARCHAR(64) NOT NULL, -- Перестраиваемая таблица
+    range_start DATE        NOT NULL, -- Первый день обработанного диапазона
+    fence_id    BIGINT      NOT NULL, -- Наибольший id сырого хита на момент запуска перестроения
+    PRIMARY KEY (target, range_start)
+);
@@ -0,0 +1,167 @@
+package ru.practicum.ewm.bulk;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.Ulid;
+import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.mapper.HitMapper;
+import ru.practicum.ewm.mapper.HitMapperImpl;
+import ru.practicum.ewm.repository.HitsRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * Замер скорости записи хитов тремя способами: {@code hitsRepository.saveAll} через Hibernate,
+ * пакетный INSERT и COPY в двоичном формате.
+ * <p>
+ * Не входит в обычную сборку; запускается явно и пишет результаты в лог:
+ * <pre>
+ * mvn test -pl stats/stats-server -am -Dtest=HitIngestBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbenchmark=true [-Dbenchmark.rows=100000] [-Dbenchmark.batch-size=5000] [-Dbenchmark.rounds=4] \
+ *     [-Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/ewm-stats -Dbenchmark.datasource.username=...
+ *      -Dbenchmark.datasource.password=...]
+ * </pre>
+ * По умолчанию запись идёт в H2 в памяти со схемой {@code schema.sql}; COPY замеряется только на PostgreSQL,
+ * где схема должна уже существовать. Каждый замер выполняется в транзакции, которая затем откатывается,
+ * поэтому в базе не остаётся тестовых данных.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:hit-ingest-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH}",
+        "spring.datasource.username=${benchmark.datasource.username:ewm-stats}",
+        "spring.datasource.password=${benchmark.datasource.password:ewm-stats}",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HitIngestBenchmark.BenchmarkConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HitIngestBenchmark {
+
+    /**
+     * Количество хитов в одном замере.
+     */
+    private final int rows = Integer.getInteger("benchmark.rows", 100_000);
+
+    /**
+     * Размер пакета, передаваемого в запись.
+     */
+    private final int batchSize = Integer.getInteger("benchmark.batch-size", 5_000);
+
+    /**
+     * Количество замеров каждого способа (первый считается прогревом и не учитывается).
+     */
+    private final int rounds = Integer.getInteger("benchmark.rounds", 4);
+
+    @Autowired
+    private HitBulkWriter hitBulkWriter;
+
+    @Autowired
+    private HitsRepository hitsRepository;
+
+    @Autowired
+    private HitMapper hitMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writeHits() {
+        List<CreateHitDTO> hits = generate(rows);
+        log.info("Замер записи хитов: {} хитов пакетами по {}, замеров {}", rows, batchSize, rounds);
+
+        measure("hibernate-save", hits, batch -> {
+            hitsRepository.saveAll(batch.stream().map(hitMapper::mapToHit).toList());
+            hitsRepository.flush();
+            entityManager.clear();
+            return batch.size();
+        });
+        measure("jdbc-batch-insert", hits, hitBulkWriter::insert);
+        measure("copy-binary", hits, batch -> {
+            PGConnection connection = hitBulkWriter.pgConnection();
+            return connection == null ? -1 : hitBulkWriter.copy(connection, batch);
+        });
+    }
+
+    private void measure(String method, List<CreateHitDTO> hits, ToLongFunction<List<CreateHitDTO>> writer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        double totalRate = 0;
+        for (int round = 0; round < rounds; round++) {
+            Long elapsed = transaction.execute(status -> {
+                status.setRollbackOnly();
+                long start = System.nanoTime();
+                for (int from = 0; from < hits.size(); from += batchSize) {
+                    List<CreateHitDTO> batch = hits.subList(from, Math.min(hits.size(), from + batchSize));
+                    if (writer.applyAsLong(batch) < 0) {
+                        return null;
+                    }
+                }
+                return System.nanoTime() - start;
+            });
+            if (elapsed == null) {
+                log.info("Замер {}: не поддерживается текущей СУБД", method);
+                return;
+            }
+            double rate = hits.size() * 1e9 / elapsed;
+            // первый замер — прогрев
+            if (round > 0) {
+                totalRate += rate;
+            }
+            log.info("Замер {}: проход {} — {} хитов/с", method, round, Math.round(rate));
+        }
+        if (rounds > 1) {
+            log.info("Замер {}: в среднем {} хитов/с", method, Math.round(totalRate / (rounds - 1)));
+        }
+    }
+
+    private static List<CreateHitDTO> generate(int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        List<CreateHitDTO> hits = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            hits.add(CreateHitDTO.builder()
+                    .app("main-service")
+                    .uri("/events/" + random.nextInt(10_000))
+                    .ip("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256))
+                    .timestamp(now.minusSeconds(random.nextInt(86_400)))
+                    .hitId(Ulid.next())
+                    .build());
+        }
+        return hits;
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(BulkIngestProperties.class)
+    @Import({HitBulkWriter.class, HitMapperImpl.class})
+    static class BenchmarkConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.ewm.controller;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.ewm.exception.GlobalExceptionHandler;
+import ru.practicum.ewm.service.HitService;
+import ru.practicum.ewm.service.StatsService;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatsControllerTest {
+
+    private static final String VALID_HIT = """
+            {"app":"ewm-main-service","uri":"/events/1","ip":"192.163.0.1","timestamp":"2025-01-01 10:00:00"}""";
+    private static final String INVALID_IP_HIT = """
+            {"app":"ewm-main-service","uri":"/events/2","ip":"bad","timestamp":"2025-01-01 10:00:01"}""";
+
+    private final HitService hitService = mock(HitService.class);
+    private ValidatorFactory validatorFactory;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        StatsController controller = new StatsController(mock(StatsService.class), hitService,
+                validatorFactory.getValidator());
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void batchWithValidHitsIsStored() throws Exception {
+        mvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_HIT + "]"))
+                .andExpect(status().isCreated());
+
+        verify(hitService).createHits(anyList());
+    }
+
+    @Test
+    void batchWithInvalidHitIsRejected() throws Exception {
+        mvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_HIT + "," + INVALID_IP_HIT + "]"))
+                .andExpect(status().isBadRequest());
+
+        verify(hitService, never()).createHits(anyList());
+    }
+
+    @Test
+    void batchWithNullHitIsRejected() throws Exception {
+        mvc.perform(post("/hit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_HIT + ",null]"))
+                .andExpect(status().isBadRequest());
+
+        verify(hitService, never()).createHits(anyList());
+    }
+}
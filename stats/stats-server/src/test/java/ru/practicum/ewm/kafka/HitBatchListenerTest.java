@@ -0,0 +1,171 @@
+package ru.practicum.ewm.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.practicum.dto.CreateHitDTO;
+import ru.practicum.ewm.service.HitService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(
+        classes = {KafkaIngestConfiguration.class, HitBatchListener.class, HitBatchListenerTest.TestConfig.class},
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "stats.ingest.kafka.enabled=true",
+                "stats.ingest.kafka.topic=" + HitBatchListenerTest.TOPIC,
+                "stats.ingest.kafka.group-id=" + HitBatchListenerTest.GROUP,
+                "stats.ingest.kafka.concurrency=2",
+                "stats.ingest.kafka.retry-delay=100ms"
+        })
+@EmbeddedKafka(partitions = 2, topics = HitBatchListenerTest.TOPIC)
+class HitBatchListenerTest {
+
+    static final String TOPIC = "stats.hits";
+    static final String GROUP = "stats-server-test";
+
+    @MockitoBean
+    private HitService hitService;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private KafkaTemplate<String, CreateHitDTO> producer;
+    private AdminClient admin;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            attempts.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("База недоступна");
+            }
+            List<CreateHitDTO> hits = invocation.getArgument(0);
+            hits.forEach(hit -> stored.add(hit.getHitId()));
+            return null;
+        }).when(hitService).createHits(anyList());
+
+        producer = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(),
+                new JsonSerializer<CreateHitDTO>().noTypeInfo()));
+        admin = AdminClient.create(Map.of("bootstrap.servers", broker.getBrokersAsString()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        admin.close();
+        producer.destroy();
+    }
+
+    @Test
+    void storesValidHitsAndSkipsInvalid() {
+        for (int i = 0; i < 10; i++) {
+            publish(hit("valid-" + i, "/events/" + i, "10.0.0." + i));
+        }
+        publish(hit("invalid", "/events/1", "not-an-ip"));
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            assertThat(stored).contains("valid-0", "valid-9");
+            assertThat(committedOffsets()).isEqualTo(endOffsets());
+        });
+        assertThat(stored).doesNotContain("invalid");
+    }
+
+    @Test
+    void commitsOffsetsOnlyAfterWrite() throws Exception {
+        failing.set(true);
+        for (int i = 0; i < 3; i++) {
+            publish(hit("retried-" + i, "/events/" + i, "10.0.1." + i));
+        }
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> attempts.get() >= 2);
+        assertThat(stored).noneMatch(id -> id.startsWith("retried-"));
+        assertThat(committedOffsets()).isNotEqualTo(endOffsets());
+
+        failing.set(false);
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            assertThat(stored).contains("retried-0", "retried-1", "retried-2");
+            assertThat(committedOffsets()).isEqualTo(endOffsets());
+        });
+    }
+
+    private void publish(CreateHitDTO hit) {
+        producer.send(TOPIC, hit.getUri(), hit).join();
+    }
+
+    private static CreateHitDTO hit(String hitId, String uri, String ip) {
+        return CreateHitDTO.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(LocalDateTime.now().withNano(0))
+                .hitId(hitId)
+                .build();
+    }
+
+    private Map<TopicPartition, Long> committedOffsets() throws Exception {
+        return admin.listConsumerGroupOffsets(GROUP).partitionsToOffsetAndMetadata().get().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().offset()));
+    }
+
+    private Map<TopicPartition, Long> endOffsets() throws Exception {
+        Map<TopicPartition, OffsetSpec> partitions = admin.describeTopics(List.of(TOPIC)).allTopicNames().get()
+                .get(TOPIC).partitions().stream()
+                .map(partition -> new TopicPartition(TOPIC, partition.partition()))
+                .collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest()));
+        return admin.listOffsets(partitions).all().get().entrySet().stream()
+                .filter(entry -> entry.getValue().offset() > 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().offset()));
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(KafkaIngestProperties.class)
+    @ImportAutoConfiguration({KafkaAutoConfiguration.class, ValidationAutoConfiguration.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}